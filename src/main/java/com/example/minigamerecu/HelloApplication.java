@@ -1,11 +1,18 @@
 package com.example.minigamerecu;
 
+import com.example.minigamerecu.analytics.GameHistoryWriter;
+import com.example.minigamerecu.controller.AssetViews;
+import com.example.minigamerecu.controller.FirstFrame;
+import com.example.minigamerecu.manager.GameManager;
+import com.example.minigamerecu.metrics.MetricsRegistry;
+import com.example.minigamerecu.startup.StartupMilestone;
+import com.example.minigamerecu.startup.StartupProbe;
 import javafx.application.Application;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 
 import java.io.IOException;
+import java.nio.file.Path;
 
 /**
  * Clase principal de la aplicación del juego de memoria.
@@ -21,12 +28,101 @@ public class HelloApplication extends Application {
      */
     @Override
     public void start(Stage stage) throws IOException {
-        FXMLLoader fxmlLoader = new FXMLLoader(HelloApplication.class.getResource("view/start.fxml"));
-        Scene scene = new Scene(fxmlLoader.load(), 400, 500);
+        StartupProbe.getInstance().mark(StartupMilestone.FX_START);
+        openCheckpoint();
+        Scene scene = new Scene(AssetViews.load("start.fxml").getRoot(), 400, 500);
         stage.setTitle("Memory Game - Inicio");
         stage.setScene(scene);
         stage.setResizable(false);
         stage.show();
+        FirstFrame.afterFirstFrame(scene, this::startDeferredServices);
+    }
+
+    /**
+     * Publica las métricas y abre el historial después del primer frame de la pantalla de inicio,
+     * ya que ninguno de los dos hace falta para mostrarla. El punto de control sí se abre antes,
+     * porque decide si la pantalla de inicio ofrece reanudar una partida.
+     */
+    private void startDeferredServices() {
+        startMetrics();
+        openHistory();
+    }
+
+    /**
+     * Publica las métricas de rendimiento por JMX y, si se indicó la propiedad
+     * {@code minigame.metrics.file}, escribe un snapshot periódico en ese archivo
+     * (cada {@code minigame.metrics.intervalSeconds} segundos, 10 por defecto).
+     */
+    private void startMetrics() {
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        metrics.registerMBean();
+        String snapshotFile = System.getProperty("minigame.metrics.file");
+        if (snapshotFile != null && !snapshotFile.isBlank()) {
+            long interval = Long.getLong("minigame.metrics.intervalSeconds", 10L);
+            metrics.startSnapshots(Path.of(snapshotFile), interval);
+        }
+    }
+
+    /**
+     * Abre el punto de control de la partida en curso. Si la ejecución anterior se cerró a mitad
+     * de una partida, la pantalla de inicio ofrece reanudarla. El archivo se indica con
+     * {@code minigame.checkpoint.file} (por defecto {@code ~/.minigamerecu/checkpoint.bin});
+     * un valor vacío desactiva los puntos de control.
+     */
+    private void openCheckpoint() {
+        String checkpointFile = System.getProperty("minigame.checkpoint.file",
+            Path.of(System.getProperty("user.home"), ".minigamerecu", "checkpoint.bin").toString());
+        if (checkpointFile.isBlank()) {
+            return;
+        }
+        try {
+            GameManager.getInstance().openCheckpoint(Path.of(checkpointFile));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Si se indicó la propiedad {@code minigame.history.file}, registra cada partida terminada
+     * en ese archivo para analizarla después con {@code HistoryAnalyzer}.
+     */
+    private void openHistory() {
+        String historyFile = System.getProperty("minigame.history.file");
+        if (historyFile == null || historyFile.isBlank()) {
+            return;
+        }
+        try {
+            GameHistoryWriter.getInstance().open(Path.of(historyFile));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Cierra el punto de control y el historial al salir. La partida en curso queda guardada
+     * para la próxima ejecución.
+     */
+    @Override
+    public void stop() {
+        GameManager.getInstance().closeCheckpoint();
+        GameHistoryWriter.getInstance().close();
+        writeStartupReport();
+    }
+
+    /**
+     * Si se indicó la propiedad {@code minigame.startup.report}, escribe en ese archivo los
+     * tiempos de arranque (primer frame e interactivo) medidos por {@link StartupProbe}.
+     */
+    private void writeStartupReport() {
+        String reportFile = System.getProperty("minigame.startup.report");
+        if (reportFile == null || reportFile.isBlank()) {
+            return;
+        }
+        try {
+            StartupProbe.getInstance().write(Path.of(reportFile));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
     }
 
     /**
@@ -35,6 +131,7 @@ public class HelloApplication extends Application {
      * @param args Argumentos de la línea de comandos (no utilizados)
      */
     public static void main(String[] args) {
+        StartupProbe.getInstance().mark(StartupMilestone.MAIN);
         launch();
     }
 }
\ No newline at end of file
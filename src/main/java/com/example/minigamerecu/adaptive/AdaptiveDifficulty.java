@@ -0,0 +1,77 @@
+package com.example.minigamerecu.adaptive;
+
+import com.example.minigamerecu.manager.GameManager;
+
+/**
+ * Regla del modo adaptativo: a partir de una {@link SkillEstimate} decide el tablero y el límite
+ * de movimientos de la siguiente partida.
+ * <p>
+ * El tablero sube a 6x6 tras una racha de victorias con pocos movimientos por pareja y poco uso
+ * de pistas, y vuelve a 4x4 tras una racha de derrotas o si en 6x6 necesita demasiados
+ * movimientos; entre ambos umbrales se queda donde está, para no alternar en cada partida.
+ * Aplicar la regla dos veces seguidas da la misma dificultad, así que la pantalla de inicio puede
+ * mostrar el tablero antes de que empiece la partida.
+ * <p>
+ * El límite es el número de pares por los movimientos por pareja estimados, con un margen que se
+ * reduce con cada victoria seguida y crece con las derrotas y el uso de pistas.
+ */
+public final class AdaptiveDifficulty {
+
+    /** Dificultad base del tablero pequeño. */
+    public static final GameManager.Difficulty SMALL = GameManager.Difficulty.MEDIUM;
+    /** Dificultad base del tablero grande. */
+    public static final GameManager.Difficulty LARGE = GameManager.Difficulty.HARD;
+
+    private static final int MIN_GAMES = 3;
+    private static final int PROMOTE_STREAK = 2;
+    private static final int DEMOTE_STREAK = -2;
+    private static final double PROMOTE_MOVES_PER_PAIR = 2.2;
+    private static final double DEMOTE_MOVES_PER_PAIR = 3.2;
+    private static final double PROMOTE_HINT_RELIANCE = 0.5;
+
+    private static final double BASE_SLACK = 1.25;
+    private static final double STREAK_SLACK = 0.05;
+    private static final int MAX_STREAK_STEPS = 4;
+    private static final double HINT_SLACK = 0.25;
+    private static final double MIN_MOVES_PER_PAIR = 1.5;
+    private static final int MAX_MOVES_PER_PAIR = 4;
+
+    private AdaptiveDifficulty() {
+    }
+
+    /**
+     * Decide la dificultad base de la siguiente partida.
+     *
+     * @param skill La habilidad estimada del jugador
+     * @param current La dificultad de la partida anterior
+     * @return {@link #SMALL} o {@link #LARGE}
+     */
+    public static GameManager.Difficulty nextDifficulty(SkillEstimate skill, GameManager.Difficulty current) {
+        if (current.getGridSize() == LARGE.getGridSize()) {
+            boolean struggling = skill.getStreak() <= DEMOTE_STREAK
+                || skill.getMovesPerPair(LARGE.getGridSize()) > DEMOTE_MOVES_PER_PAIR;
+            return struggling ? SMALL : LARGE;
+        }
+        boolean ready = skill.getGames() >= MIN_GAMES
+            && skill.getStreak() >= PROMOTE_STREAK
+            && skill.getMovesPerPair(SMALL.getGridSize()) <= PROMOTE_MOVES_PER_PAIR
+            && skill.getHintReliance() < PROMOTE_HINT_RELIANCE
+            && skill.getMovesPerPair(LARGE.getGridSize()) <= DEMOTE_MOVES_PER_PAIR;
+        return ready ? LARGE : SMALL;
+    }
+
+    /**
+     * Calcula el límite de movimientos de una partida.
+     *
+     * @param skill La habilidad estimada del jugador
+     * @param difficulty La dificultad base de la partida
+     * @return El límite de movimientos, entre 1.5 y 4 movimientos por par
+     */
+    public static int maxMoves(SkillEstimate skill, GameManager.Difficulty difficulty) {
+        int pairs = difficulty.getTotalPairs();
+        int streakSteps = Math.max(-MAX_STREAK_STEPS, Math.min(skill.getStreak(), MAX_STREAK_STEPS));
+        double slack = BASE_SLACK - STREAK_SLACK * streakSteps + HINT_SLACK * skill.getHintReliance();
+        int moves = (int) Math.ceil(pairs * skill.getMovesPerPair(difficulty.getGridSize()) * slack);
+        return Math.max((int) Math.ceil(pairs * MIN_MOVES_PER_PAIR), Math.min(moves, pairs * MAX_MOVES_PER_PAIR));
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.minigamerecu.adaptive;
+
+import com.example.minigamerecu.engine.HeadlessGame;
+import com.example.minigamerecu.engine.HeadlessGame.FlipResult;
+import com.example.minigamerecu.loadtest.LoadTestReport;
+import com.example.minigamerecu.manager.GameManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Simulación del modo adaptativo.
+ * Primero registra partidas sintéticas en {@code profiles} perfiles de un
+ * {@link SkillProfileStore} y mide el costo por actualización y la memoria por perfil. Después
+ * hace jugar {@code games} partidas adaptativas a {@code players} bots de memoria imperfecta
+ * (de 30 % a 100 % de probabilidad de recordar cada carta vista) y reporta, por tercio de
+ * memoria, la fracción de victorias y de partidas en 6x6 en la segunda mitad: los bots con mejor
+ * memoria deberían terminar en el tablero grande con límites más ajustados.
+ * <p>
+ * Uso: {@code java -cp target/classes com.example.minigamerecu.adaptive.AdaptiveSimulation
+ * profiles=1000000 updates=10000000 players=300 games=40 out=adaptive.json}.
+ */
+public class AdaptiveSimulation {
+
+    private static final int BUCKETS = 3;
+
+    /**
+     * Punto de entrada de la simulación.
+     * Los argumentos se indican como pares {@code clave=valor}.
+     *
+     * @param args Argumentos de la línea de comandos
+     * @throws IOException Si hay un error al escribir el informe
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = LoadTestReport.parseOptions(args);
+
+        int profiles = Integer.parseInt(options.getOrDefault("profiles", "1000000"));
+        long updates = Long.parseLong(options.getOrDefault("updates", "10000000"));
+        int players = Integer.parseInt(options.getOrDefault("players", "300"));
+        int games = Integer.parseInt(options.getOrDefault("games", "40"));
+        SplittableRandom random = new SplittableRandom(Long.parseLong(options.getOrDefault("seed", "1")));
+
+        SkillProfileStore store = new SkillProfileStore(profiles);
+        long start = System.nanoTime();
+        for (long i = 0; i < updates; i++) {
+            long player = random.nextInt(profiles);
+            if (random.nextInt(10) == 0) {
+                store.recordGame(player, random.nextBoolean(), random.nextInt(GameManager.getMaxHints() + 1));
+            } else {
+                store.recordMatch(player, random.nextBoolean() ? 4 : 6, 1 + random.nextInt(5));
+            }
+        }
+        double updateNanos = (double) (System.nanoTime() - start) / Math.max(1, updates);
+
+        SkillProfileStore botStore = new SkillProfileStore(players);
+        long[] won = new long[BUCKETS];
+        long[] large = new long[BUCKETS];
+        long[] counted = new long[BUCKETS];
+        for (int player = 0; player < players; player++) {
+            double memory = 0.3 + 0.7 * player / Math.max(1, players - 1);
+            int bucket = Math.min(BUCKETS - 1, player * BUCKETS / players);
+            GameManager.Difficulty difficulty = AdaptiveDifficulty.SMALL;
+            for (int g = 0; g < games; g++) {
+                SkillEstimate skill = botStore.get(player);
+                difficulty = AdaptiveDifficulty.nextDifficulty(skill, difficulty);
+                HeadlessGame game = new HeadlessGame(difficulty, random.nextLong(),
+                    AdaptiveDifficulty.maxMoves(skill, difficulty));
+                play(game, botStore, player, memory, random);
+                if (g >= games / 2) {
+                    counted[bucket]++;
+                    won[bucket] += game.isWon() ? 1 : 0;
+                    large[bucket] += difficulty == AdaptiveDifficulty.LARGE ? 1 : 0;
+                }
+            }
+        }
+
+        LoadTestReport report = new LoadTestReport()
+            .put("profiles", store.size())
+            .put("updates", updates)
+            .put("updateNanos", updateNanos)
+            .put("bytesPerProfile", (double) store.getBytes() / Math.max(1, store.size()))
+            .put("players", players)
+            .put("games", games);
+        for (int b = 0; b < BUCKETS; b++) {
+            report.put("memoryBucket" + b + ".winRate", (double) won[b] / Math.max(1, counted[b]))
+                .put("memoryBucket" + b + ".largeBoardRate", (double) large[b] / Math.max(1, counted[b]));
+        }
+        Path out = Path.of(options.getOrDefault("out", "target/adaptive/adaptive.json"));
+        report.publish(out);
+    }
+
+    /**
+     * Juega una partida con un bot que recuerda cada carta vista con la probabilidad indicada y
+     * registra sus parejas y su resultado en el perfil.
+     *
+     * @param game La partida
+     * @param store Los perfiles de los bots
+     * @param player El identificador del bot
+     * @param memory La probabilidad de recordar una carta vista
+     * @param random El generador del bot
+     */
+    private static void play(HeadlessGame game, SkillProfileStore store, long player, double memory,
+                             SplittableRandom random) {
+        int gridSize = game.getDifficulty().getGridSize();
+        int[] known = new int[game.getDifficulty().getTotalPairs()];
+        Arrays.fill(known, -1);
+        int lastMatch = 0;
+        while (!game.isFinished()) {
+            if (random.nextInt(30) == 0) {
+                game.useHint();
+            }
+            int first = pickHidden(game, random, -1);
+            game.flip(first);
+            int pairId = game.getPairId(first);
+            int second = known[pairId] >= 0 && known[pairId] != first && !game.isMatched(known[pairId])
+                ? known[pairId] : pickHidden(game, random, first);
+            if (game.flip(second) == FlipResult.MATCH) {
+                store.recordMatch(player, gridSize, game.getMoves() - lastMatch);
+                lastMatch = game.getMoves();
+                continue;
+            }
+            if (random.nextDouble() < memory) {
+                known[pairId] = first;
+            }
+            if (random.nextDouble() < memory) {
+                known[game.getPairId(second)] = second;
+            }
+        }
+        if (!game.isWon() && game.getMoves() > lastMatch) {
+            store.recordMatch(player, gridSize, game.getMoves() - lastMatch);
+        }
+        store.recordGame(player, game.isWon(), game.getHintsUsed());
+    }
+
+    private static int pickHidden(HeadlessGame game, SplittableRandom random, int exclude) {
+        int index;
+        do {
+            index = random.nextInt(game.getCardCount());
+        } while (index == exclude || game.isMatched(index));
+        return index;
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.minigamerecu.adaptive;
+
+import com.example.minigamerecu.manager.GameManager;
+
+/**
+ * Estimación de la habilidad de un jugador que se actualiza en O(1) y sin guardar historial.
+ * Lleva medias móviles exponenciales (EWMA, {@code m += alpha * (x - m)}) de los movimientos
+ * por pareja, por separado en tablero pequeño y grande porque en 6x6 cuesta más recordar las
+ * cartas, y del uso de pistas por partida, además de la racha con signo (positiva al ganar,
+ * negativa al perder) y el número de partidas jugadas.
+ * <p>
+ * Las medias parten de un valor inicial razonable (el límite de las dificultades Medio y Difícil)
+ * en lugar de cero, así que las primeras partidas no producen estimaciones extremas. El estado
+ * completo cabe en un {@code long} ({@link #pack()}), de modo que {@link SkillProfileStore} guarda
+ * millones de perfiles en arreglos primitivos.
+ * <p>
+ * No es thread-safe: cada estimación debe ser actualizada por un solo hilo a la vez.
+ */
+public class SkillEstimate {
+
+    /** Peso de cada pareja encontrada en la media de movimientos por pareja. */
+    public static final double MATCH_ALPHA = 0.1;
+    /** Peso de cada partida en la media de uso de pistas. */
+    public static final double GAME_ALPHA = 0.3;
+    /** Movimientos por pareja máximos que se registran; cabe en los 16 bits empaquetados. */
+    public static final int MAX_MOVES_PER_PAIR = 31;
+    /** Racha máxima, en valor absoluto, que se registra. */
+    public static final int MAX_STREAK = Byte.MAX_VALUE;
+
+    private static final int MAX_GAMES = 0xFF;
+    private static final double MOVES_SCALE = 2048.0;
+    private static final double HINT_SCALE = 0xFFFF;
+
+    private double smallMovesPerPair;
+    private double largeMovesPerPair;
+    private double hintReliance;
+    private int streak;
+    private int games;
+
+    /**
+     * Crea una estimación inicial para un jugador sin partidas.
+     */
+    public SkillEstimate() {
+        GameManager.Difficulty small = AdaptiveDifficulty.SMALL;
+        GameManager.Difficulty large = AdaptiveDifficulty.LARGE;
+        smallMovesPerPair = (double) small.getMaxMoves() / small.getTotalPairs();
+        largeMovesPerPair = (double) large.getMaxMoves() / large.getTotalPairs();
+    }
+
+    /**
+     * Registra una pareja encontrada.
+     *
+     * @param gridSize El tamaño del tablero
+     * @param movesForPair Los movimientos desde la pareja anterior (o desde el inicio de la partida)
+     */
+    public void recordMatch(int gridSize, int movesForPair) {
+        double x = Math.max(1, Math.min(movesForPair, MAX_MOVES_PER_PAIR));
+        if (isLarge(gridSize)) {
+            largeMovesPerPair += MATCH_ALPHA * (x - largeMovesPerPair);
+        } else {
+            smallMovesPerPair += MATCH_ALPHA * (x - smallMovesPerPair);
+        }
+    }
+
+    /**
+     * Registra el final de una partida.
+     *
+     * @param won true si la partida fue ganada
+     * @param hintsUsed Las pistas usadas en la partida
+     */
+    public void recordGame(boolean won, int hintsUsed) {
+        double x = Math.min(1.0, (double) hintsUsed / GameManager.getMaxHints());
+        hintReliance += GAME_ALPHA * (x - hintReliance);
+        if (won) {
+            streak = streak > 0 ? Math.min(streak + 1, MAX_STREAK) : 1;
+        } else {
+            streak = streak < 0 ? Math.max(streak - 1, -MAX_STREAK) : -1;
+        }
+        games = Math.min(games + 1, MAX_GAMES);
+    }
+
+    /**
+     * Obtiene la media de movimientos por pareja en un tamaño de tablero.
+     *
+     * @param gridSize El tamaño del tablero
+     * @return Los movimientos por pareja estimados
+     */
+    public double getMovesPerPair(int gridSize) {
+        return isLarge(gridSize) ? largeMovesPerPair : smallMovesPerPair;
+    }
+
+    /**
+     * Obtiene la media de la fracción de pistas usadas por partida.
+     *
+     * @return El uso de pistas, entre 0.0 y 1.0
+     */
+    public double getHintReliance() {
+        return hintReliance;
+    }
+
+    /**
+     * Obtiene la racha actual: partidas ganadas seguidas si es positiva, perdidas si es negativa.
+     *
+     * @return La racha con signo
+     */
+    public int getStreak() {
+        return streak;
+    }
+
+    /**
+     * Obtiene el número de partidas registradas (se satura en 255).
+     *
+     * @return Las partidas registradas
+     */
+    public int getGames() {
+        return games;
+    }
+
+    /**
+     * Empaqueta la estimación en un {@code long}: 16 bits por cada media (en punto fijo), 8 bits
+     * para la racha y 8 para las partidas. Se pierde menos de una milésima de movimiento.
+     *
+     * @return La estimación empaquetada
+     */
+    public long pack() {
+        return Math.round(smallMovesPerPair * MOVES_SCALE)
+            | Math.round(largeMovesPerPair * MOVES_SCALE) << 16
+            | Math.round(hintReliance * HINT_SCALE) << 32
+            | (long) (streak & 0xFF) << 48
+            | (long) games << 56;
+    }
+
+    /**
+     * Reemplaza la estimación por una empaquetada con {@link #pack()}.
+     *
+     * @param packed La estimación empaquetada
+     */
+    public void unpack(long packed) {
+        smallMovesPerPair = (packed & 0xFFFF) / MOVES_SCALE;
+        largeMovesPerPair = (packed >>> 16 & 0xFFFF) / MOVES_SCALE;
+        hintReliance = (packed >>> 32 & 0xFFFF) / HINT_SCALE;
+        streak = (byte) (packed >>> 48);
+        games = (int) (packed >>> 56);
+    }
+
+    /**
+     * Crea una copia independiente de la estimación.
+     *
+     * @return La copia
+     */
+    public SkillEstimate copy() {
+        SkillEstimate copy = new SkillEstimate();
+        copy.smallMovesPerPair = smallMovesPerPair;
+        copy.largeMovesPerPair = largeMovesPerPair;
+        copy.hintReliance = hintReliance;
+        copy.streak = streak;
+        copy.games = games;
+        return copy;
+    }
+
+    private static boolean isLarge(int gridSize) {
+        return gridSize > AdaptiveDifficulty.SMALL.getGridSize();
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.minigamerecu.adaptive;
+
+import java.util.Arrays;
+
+/**
+ * Perfiles de habilidad de muchos jugadores en memoria, para el servidor.
+ * Cada perfil es una {@link SkillEstimate} empaquetada en un {@code long}, guardada en una tabla
+ * de direccionamiento abierto con claves y valores en arreglos primitivos: unos 32 bytes por
+ * jugador con la tabla a media carga, sin un objeto por perfil. Registrar una pareja o una
+ * partida cuesta O(1) (una búsqueda, desempaquetar, actualizar y volver a empaquetar).
+ * <p>
+ * Los métodos son sincronizados; cada uno hace un trabajo constante, así que la espera es corta.
+ */
+public class SkillProfileStore {
+
+    private static final long FREE = Long.MIN_VALUE;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private long[] values;
+    private int size;
+    private final SkillEstimate scratch = new SkillEstimate();
+
+    /**
+     * Constructor de la clase SkillProfileStore.
+     *
+     * @param expectedProfiles Los jugadores esperados, para dimensionar la tabla de antemano
+     */
+    public SkillProfileStore(int expectedProfiles) {
+        int capacity = Integer.highestOneBit(Math.max(MIN_CAPACITY, expectedProfiles) * 2 - 1) << 1;
+        keys = new long[capacity];
+        values = new long[capacity];
+        Arrays.fill(keys, FREE);
+    }
+
+    /**
+     * Registra una pareja encontrada por un jugador.
+     *
+     * @param playerId El identificador del jugador (cualquiera salvo {@code Long.MIN_VALUE})
+     * @param gridSize El tamaño del tablero
+     * @param movesForPair Los movimientos desde la pareja anterior
+     */
+    public synchronized void recordMatch(long playerId, int gridSize, int movesForPair) {
+        int slot = slotFor(playerId);
+        scratch.unpack(values[slot]);
+        scratch.recordMatch(gridSize, movesForPair);
+        values[slot] = scratch.pack();
+    }
+
+    /**
+     * Registra el final de una partida de un jugador.
+     *
+     * @param playerId El identificador del jugador (cualquiera salvo {@code Long.MIN_VALUE})
+     * @param won true si la partida fue ganada
+     * @param hintsUsed Las pistas usadas en la partida
+     */
+    public synchronized void recordGame(long playerId, boolean won, int hintsUsed) {
+        int slot = slotFor(playerId);
+        scratch.unpack(values[slot]);
+        scratch.recordGame(won, hintsUsed);
+        values[slot] = scratch.pack();
+    }
+
+    /**
+     * Obtiene una copia de la habilidad estimada de un jugador.
+     *
+     * @param playerId El identificador del jugador
+     * @return La estimación, o la inicial si el jugador no tiene perfil
+     */
+    public synchronized SkillEstimate get(long playerId) {
+        SkillEstimate skill = new SkillEstimate();
+        int slot = find(playerId);
+        if (keys[slot] == playerId) {
+            skill.unpack(values[slot]);
+        }
+        return skill;
+    }
+
+    /**
+     * Obtiene el número de perfiles guardados.
+     *
+     * @return El número de perfiles
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Obtiene la memoria ocupada por las tablas.
+     *
+     * @return Los bytes de los arreglos de claves y valores
+     */
+    public synchronized long getBytes() {
+        return (long) keys.length * Long.BYTES * 2;
+    }
+
+    private int slotFor(long playerId) {
+        if (playerId == FREE) {
+            throw new IllegalArgumentException("Identificador de jugador reservado: " + playerId);
+        }
+        int slot = find(playerId);
+        if (keys[slot] != playerId) {
+            if ((size + 1) * 2 > keys.length) {
+                grow();
+                slot = find(playerId);
+            }
+            keys[slot] = playerId;
+            values[slot] = new SkillEstimate().pack();
+            size++;
+        }
+        return slot;
+    }
+
+    private int find(long playerId) {
+        int mask = keys.length - 1;
+        int slot = mix(playerId) & mask;
+        while (keys[slot] != FREE && keys[slot] != playerId) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new long[oldValues.length * 2];
+        Arrays.fill(keys, FREE);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int mix(long key) {
+        key = (key ^ (key >>> 33)) * 0xff51afd7ed558ccdL;
+        key = (key ^ (key >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return (int) (key ^ (key >>> 33));
+    }
+}
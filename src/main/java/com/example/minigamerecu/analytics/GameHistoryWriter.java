@@ -0,0 +1,100 @@
+package com.example.minigamerecu.analytics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Historial de partidas terminadas (Singleton).
+ * Agrega una línea {@link GameRecord} por partida al archivo indicado en {@link #open(Path)};
+ * mientras no se abra un archivo, {@link #record(GameRecord)} no hace nada.
+ */
+public class GameHistoryWriter {
+
+    private static volatile GameHistoryWriter instance;
+
+    private final StringBuilder line = new StringBuilder(64);
+    private BufferedWriter writer;
+
+    private GameHistoryWriter() {
+    }
+
+    /**
+     * Obtiene la instancia única del historial (patrón Singleton).
+     * Implementa doble verificación para garantizar thread-safety.
+     *
+     * @return La instancia única de GameHistoryWriter
+     */
+    public static GameHistoryWriter getInstance() {
+        if (instance == null) {
+            synchronized (GameHistoryWriter.class) {
+                if (instance == null) {
+                    instance = new GameHistoryWriter();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Abre el archivo de historial, agregando al final si ya existe.
+     *
+     * @param file La ruta del archivo de historial
+     * @throws IOException Si no se puede abrir el archivo
+     */
+    public synchronized void open(Path file) throws IOException {
+        close();
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        writer = Files.newBufferedWriter(file, StandardCharsets.US_ASCII,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Verifica si hay un archivo de historial abierto.
+     *
+     * @return true si las partidas se están registrando
+     */
+    public synchronized boolean isOpen() {
+        return writer != null;
+    }
+
+    /**
+     * Agrega una partida al historial y la escribe en disco.
+     *
+     * @param record La partida terminada
+     */
+    public synchronized void record(GameRecord record) {
+        if (writer == null) {
+            return;
+        }
+        line.setLength(0);
+        record.appendTo(line);
+        try {
+            writer.append(line);
+            writer.flush();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Cierra el archivo de historial.
+     */
+    public synchronized void close() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        writer = null;
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.minigamerecu.analytics;
+
+import com.example.minigamerecu.manager.GameManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Resultado de una partida terminada, tal como se guarda en el historial.
+ * <p>
+ * Cada partida ocupa una línea ASCII:
+ * {@code DIFICULTAD,ganada,movimientos,pistas,duracionMs,primeraParejaMs,m1;m2;...}
+ * donde {@code ganada} es 0 o 1, {@code primeraParejaMs} es -1 si no se encontró ninguna pareja
+ * y {@code m1;m2;...} son los números de movimiento en que se encontró cada pareja.
+ * <p>
+ * El lector reutiliza una sola instancia por bloque y la rellena con
+ * {@link #parse(byte[], int, int)} sin crear cadenas, por eso la clase es mutable.
+ */
+public class GameRecord {
+
+    private static final GameManager.Difficulty[] DIFFICULTIES = GameManager.Difficulty.values();
+    private static final byte[][] DIFFICULTY_NAMES = difficultyNames();
+
+    private GameManager.Difficulty difficulty;
+    private boolean won;
+    private int moves;
+    private int hintsUsed;
+    private long durationMillis;
+    private long firstMatchMillis;
+    private int[] matchMoves = new int[8];
+    private int matchCount;
+    private int cursor;
+
+    /**
+     * Crea un registro vacío, para rellenarlo con {@link #parse(byte[], int, int)}.
+     */
+    GameRecord() {
+    }
+
+    /**
+     * Crea el registro de una partida terminada.
+     *
+     * @param difficulty La dificultad de la partida
+     * @param won true si la partida se ganó
+     * @param moves Los movimientos realizados
+     * @param hintsUsed Las pistas usadas
+     * @param durationMillis El tiempo de juego en milisegundos
+     * @param firstMatchMillis El tiempo hasta la primera pareja en milisegundos, o -1 si no hubo
+     * @param matchMoves Los números de movimiento en que se encontró cada pareja
+     */
+    public GameRecord(GameManager.Difficulty difficulty, boolean won, int moves, int hintsUsed,
+                      long durationMillis, long firstMatchMillis, int[] matchMoves) {
+        this.difficulty = difficulty;
+        this.won = won;
+        this.moves = moves;
+        this.hintsUsed = hintsUsed;
+        this.durationMillis = durationMillis;
+        this.firstMatchMillis = firstMatchMillis;
+        this.matchMoves = matchMoves.clone();
+        this.matchCount = matchMoves.length;
+    }
+
+    /**
+     * Agrega la línea del registro, terminada en salto de línea.
+     *
+     * @param out El destino de la línea
+     * @return El mismo destino, para encadenar llamadas
+     */
+    public StringBuilder appendTo(StringBuilder out) {
+        out.append(difficulty.name()).append(',')
+            .append(won ? 1 : 0).append(',')
+            .append(moves).append(',')
+            .append(hintsUsed).append(',')
+            .append(durationMillis).append(',')
+            .append(firstMatchMillis).append(',');
+        for (int i = 0; i < matchCount; i++) {
+            if (i > 0) {
+                out.append(';');
+            }
+            out.append(matchMoves[i]);
+        }
+        return out.append('\n');
+    }
+
+    /**
+     * Rellena el registro a partir de una línea del historial, sin el salto de línea.
+     *
+     * @param line Los bytes que contienen la línea
+     * @param from La posición del primer byte de la línea
+     * @param to La posición siguiente al último byte de la línea
+     * @return true si la línea es válida; si no, el contenido del registro queda indefinido
+     */
+    boolean parse(byte[] line, int from, int to) {
+        cursor = from;
+        difficulty = parseDifficulty(line, to);
+        if (difficulty == null) {
+            return false;
+        }
+        long wonValue = parseNumber(line, to, ',');
+        moves = (int) parseNumber(line, to, ',');
+        hintsUsed = (int) parseNumber(line, to, ',');
+        durationMillis = parseNumber(line, to, ',');
+        firstMatchMillis = parseNumber(line, to, ',');
+        if (cursor < 0 || wonValue < 0 || wonValue > 1 || moves < 0 || hintsUsed < 0) {
+            return false;
+        }
+        won = wonValue == 1;
+        matchCount = 0;
+        while (cursor < to) {
+            long move = parseNumber(line, to, ';');
+            if (cursor < 0 || move < 0) {
+                return false;
+            }
+            if (matchCount == matchMoves.length) {
+                matchMoves = Arrays.copyOf(matchMoves, matchCount * 2);
+            }
+            matchMoves[matchCount++] = (int) move;
+        }
+        return true;
+    }
+
+    /**
+     * Obtiene la dificultad de la partida.
+     *
+     * @return La dificultad
+     */
+    public GameManager.Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Verifica si la partida se ganó.
+     *
+     * @return true si la partida se ganó
+     */
+    public boolean isWon() {
+        return won;
+    }
+
+    /**
+     * Obtiene los movimientos realizados.
+     *
+     * @return El número de movimientos
+     */
+    public int getMoves() {
+        return moves;
+    }
+
+    /**
+     * Obtiene las pistas usadas.
+     *
+     * @return El número de pistas usadas
+     */
+    public int getHintsUsed() {
+        return hintsUsed;
+    }
+
+    /**
+     * Obtiene el tiempo de juego.
+     *
+     * @return La duración en milisegundos
+     */
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * Obtiene el tiempo hasta la primera pareja.
+     *
+     * @return El tiempo en milisegundos, o -1 si no se encontró ninguna pareja
+     */
+    public long getFirstMatchMillis() {
+        return firstMatchMillis;
+    }
+
+    /**
+     * Obtiene el número de parejas con movimiento registrado.
+     *
+     * @return El número de parejas
+     */
+    public int getMatchCount() {
+        return matchCount;
+    }
+
+    /**
+     * Obtiene el movimiento en que se encontró una pareja.
+     *
+     * @param index El orden de la pareja (0 para la primera encontrada)
+     * @return El número de movimiento, contando desde 1
+     */
+    public int getMatchMove(int index) {
+        if (index < 0 || index >= matchCount) {
+            throw new IndexOutOfBoundsException("Pareja inexistente: " + index);
+        }
+        return matchMoves[index];
+    }
+
+    private GameManager.Difficulty parseDifficulty(byte[] line, int to) {
+        for (int d = 0; d < DIFFICULTY_NAMES.length; d++) {
+            byte[] name = DIFFICULTY_NAMES[d];
+            int end = cursor + name.length;
+            if (end < to && line[end] == ',' && Arrays.equals(line, cursor, end, name, 0, name.length)) {
+                cursor = end + 1;
+                return DIFFICULTIES[d];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Lee un entero hasta el separador o el final de la línea y avanza el cursor.
+     * Si el número no es válido deja el cursor en -1.
+     */
+    private long parseNumber(byte[] line, int to, char separator) {
+        if (cursor < 0) {
+            return -1;
+        }
+        int i = cursor;
+        boolean negative = i < to && line[i] == '-';
+        if (negative) {
+            i++;
+        }
+        int digitsStart = i;
+        long value = 0;
+        while (i < to && line[i] != separator) {
+            int digit = line[i] - '0';
+            if (digit < 0 || digit > 9) {
+                cursor = -1;
+                return -1;
+            }
+            value = value * 10 + digit;
+            i++;
+        }
+        if (i == digitsStart) {
+            cursor = -1;
+            return -1;
+        }
+        cursor = i < to ? i + 1 : to;
+        return negative ? -value : value;
+    }
+
+    private static byte[][] difficultyNames() {
+        byte[][] names = new byte[DIFFICULTIES.length][];
+        for (int i = 0; i < DIFFICULTIES.length; i++) {
+            names[i] = DIFFICULTIES[i].name().getBytes(StandardCharsets.US_ASCII);
+        }
+        return names;
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.minigamerecu.analytics;
+
+import com.example.minigamerecu.engine.HeadlessGame;
+import com.example.minigamerecu.engine.MemoryBot;
+import com.example.minigamerecu.loadtest.LoadTestReport;
+import com.example.minigamerecu.manager.GameManager;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+
+/**
+ * Análisis por lotes del historial de partidas.
+ * El archivo se divide en bloques de tamaño fijo que se procesan con un stream paralelo; cada
+ * bloque se lee por partes con un buffer propio y se resume en un {@link HistoryStats}, y los
+ * resúmenes se combinan al final. La memoria usada depende del número de hilos y del tamaño
+ * del buffer, no del tamaño del historial.
+ * <p>
+ * Uso: {@code java -cp target/classes com.example.minigamerecu.analytics.HistoryAnalyzer
+ * in=history.csv chunkMB=64 out=analytics.json}. Con {@code generate=N} se escribe antes un
+ * historial sintético de N partidas jugadas por un bot sobre el motor headless.
+ */
+public class HistoryAnalyzer {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path file;
+    private final long chunkBytes;
+
+    /**
+     * Constructor de la clase HistoryAnalyzer.
+     *
+     * @param file El archivo de historial
+     * @param chunkBytes El tamaño de cada bloque procesado en paralelo
+     */
+    public HistoryAnalyzer(Path file, long chunkBytes) {
+        if (chunkBytes <= 0) {
+            throw new IllegalArgumentException("El tamaño de bloque debe ser positivo: " + chunkBytes);
+        }
+        this.file = file;
+        this.chunkBytes = chunkBytes;
+    }
+
+    /**
+     * Procesa todo el historial en paralelo.
+     *
+     * @return El agregado de todas las partidas
+     * @throws IOException Si hay un error al leer el archivo
+     */
+    public HistoryStats analyze() throws IOException {
+        long size = Files.size(file);
+        long chunks = Math.max(1, (size + chunkBytes - 1) / chunkBytes);
+        try {
+            return LongStream.range(0, chunks)
+                .parallel()
+                .mapToObj(chunk -> readChunk(chunk * chunkBytes, Math.min(size, (chunk + 1) * chunkBytes)))
+                .reduce(HistoryStats::combine)
+                .orElseGet(HistoryStats::new);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Resume las líneas que empiezan dentro del rango indicado. Una línea que cruza el final
+     * del rango se lee completa; la que cruza el inicio pertenece al bloque anterior.
+     *
+     * @param start La posición de inicio del bloque
+     * @param end La posición de fin del bloque (exclusiva)
+     * @return El agregado del bloque
+     */
+    private HistoryStats readChunk(long start, long end) {
+        HistoryStats stats = new HistoryStats();
+        GameRecord record = new GameRecord();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        byte[] line = new byte[256];
+        int lineLength = 0;
+        boolean skipping = start > 0;
+        long position = skipping ? start - 1 : start;
+        if (position >= end) {
+            return stats;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            reading:
+            while (true) {
+                buffer.clear();
+                int read = channel.read(buffer, position);
+                if (read <= 0) {
+                    break;
+                }
+                byte[] bytes = buffer.array();
+                for (int i = 0; i < read; i++) {
+                    byte b = bytes[i];
+                    if (b != '\n') {
+                        if (!skipping) {
+                            if (lineLength == line.length) {
+                                line = Arrays.copyOf(line, lineLength * 2);
+                            }
+                            line[lineLength++] = b;
+                        }
+                        continue;
+                    }
+                    if (skipping) {
+                        skipping = false;
+                    } else {
+                        accept(stats, record, line, lineLength);
+                        lineLength = 0;
+                    }
+                    if (position + i + 1 >= end) {
+                        break reading;
+                    }
+                }
+                position += read;
+            }
+            if (!skipping && lineLength > 0) {
+                accept(stats, record, line, lineLength);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return stats;
+    }
+
+    private static void accept(HistoryStats stats, GameRecord record, byte[] line, int length) {
+        if (length > 0 && line[length - 1] == '\r') {
+            length--;
+        }
+        if (length == 0) {
+            return;
+        }
+        if (record.parse(line, 0, length)) {
+            stats.accept(record);
+        } else {
+            stats.rejectLine();
+        }
+    }
+
+    /**
+     * Escribe un historial sintético jugando partidas con un bot de memoria imperfecta.
+     * Sirve para probar el análisis con historiales de varios gigabytes.
+     *
+     * @param file El archivo de destino (se sobrescribe)
+     * @param games El número de partidas
+     * @param seed La semilla del generador
+     * @throws IOException Si hay un error al escribir el archivo
+     */
+    public static void generate(Path file, long games, long seed) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        GameManager.Difficulty[] difficulties = GameManager.Difficulty.values();
+        StringBuilder line = new StringBuilder(128);
+        MemoryBot bot = new MemoryBot(random);
+        int[] matchMoves = new int[HeadlessGame.getMaxPairs()];
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+            for (long g = 0; g < games; g++) {
+                HeadlessGame game = new HeadlessGame(difficulties[random.nextInt(difficulties.length)], random.nextLong());
+                bot.startGame(game, false);
+                long millis = 0;
+                long firstMatchMillis = -1;
+                int matches = 0;
+                int hints = 0;
+                while (!game.isFinished()) {
+                    if (bot.maybeUseHint()) {
+                        hints++;
+                    }
+                    int first = bot.chooseFirst();
+                    millis += bot.thinkMillis();
+                    game.flip(first);
+                    int second = bot.chooseSecond(first);
+                    millis += bot.thinkMillis();
+                    HeadlessGame.FlipResult result = game.flip(second);
+                    if (result == HeadlessGame.FlipResult.MATCH) {
+                        matchMoves[matches++] = game.getMoves();
+                        if (firstMatchMillis < 0) {
+                            firstMatchMillis = millis;
+                        }
+                    }
+                    bot.observe(first, second, result);
+                }
+                line.setLength(0);
+                new GameRecord(game.getDifficulty(), game.isWon(), game.getMoves(), hints, millis,
+                    firstMatchMillis, Arrays.copyOf(matchMoves, matches)).appendTo(line);
+                writer.append(line);
+            }
+        }
+    }
+
+    /**
+     * Punto de entrada del análisis.
+     * Los argumentos se indican como pares {@code clave=valor}.
+     *
+     * @param args Argumentos de la línea de comandos
+     * @throws IOException Si hay un error al leer el historial o escribir el informe
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = LoadTestReport.parseOptions(args);
+
+        Path in = Path.of(options.getOrDefault("in", "target/analytics/history.csv"));
+        if (options.containsKey("generate")) {
+            generate(in, Long.parseLong(options.get("generate")), Long.parseLong(options.getOrDefault("seed", "1")));
+        }
+        long chunkBytes = Long.parseLong(options.getOrDefault("chunkMB", "64")) * 1024 * 1024;
+
+        long start = System.nanoTime();
+        HistoryStats stats = new HistoryAnalyzer(in, chunkBytes).analyze();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long bytes = Files.size(in);
+
+        LoadTestReport report = new LoadTestReport()
+            .put("file", in.toString())
+            .put("bytes", bytes)
+            .put("seconds", seconds)
+            .put("megabytesPerSecond", bytes / 1e6 / seconds)
+            .put("threads", Runtime.getRuntime().availableProcessors());
+        stats.writeTo(report);
+        Path out = Path.of(options.getOrDefault("out", "target/analytics/analytics.json"));
+        report.publish(out);
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.minigamerecu.analytics;
+
+import com.example.minigamerecu.loadtest.LoadTestReport;
+import com.example.minigamerecu.manager.GameManager;
+import com.example.minigamerecu.metrics.LatencyHistogram;
+
+import java.util.Locale;
+
+/**
+ * Agregado combinable de un conjunto de partidas, separado por dificultad.
+ * Su tamaño es fijo (contadores e histogramas), no depende del número de partidas, y dos
+ * agregados calculados en paralelo se unen con {@link #combine(HistoryStats)}.
+ * <p>
+ * Por dificultad calcula la distribución de movimientos, la tasa de uso de pistas, el tiempo
+ * hasta la primera pareja y en qué parte de la partida (por décimas) se encuentran las parejas.
+ * No es thread-safe: cada hilo acumula en su propia instancia.
+ */
+public class HistoryStats {
+
+    /** Número de tramos (décimas de la partida) para la posición de las parejas. */
+    public static final int POSITION_BUCKETS = 10;
+
+    private static final int MOVE_BUCKETS = maxMoves() + 1;
+    private static final GameManager.Difficulty[] DIFFICULTIES = GameManager.Difficulty.values();
+
+    private final long[] games = new long[DIFFICULTIES.length];
+    private final long[] wins = new long[DIFFICULTIES.length];
+    private final long[] gamesWithHints = new long[DIFFICULTIES.length];
+    private final long[] hints = new long[DIFFICULTIES.length];
+    private final long[] totalMoves = new long[DIFFICULTIES.length];
+    private final long[][] moveCounts = new long[DIFFICULTIES.length][MOVE_BUCKETS];
+    private final long[][] matchPositions = new long[DIFFICULTIES.length][POSITION_BUCKETS];
+    private final LatencyHistogram[] firstMatchMillis = new LatencyHistogram[DIFFICULTIES.length];
+    private long records;
+    private long malformed;
+
+    /**
+     * Crea un agregado vacío.
+     */
+    public HistoryStats() {
+        for (int i = 0; i < firstMatchMillis.length; i++) {
+            firstMatchMillis[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Agrega una partida.
+     *
+     * @param record La partida a agregar
+     */
+    public void accept(GameRecord record) {
+        int d = record.getDifficulty().ordinal();
+        int moves = record.getMoves();
+        records++;
+        games[d]++;
+        if (record.isWon()) {
+            wins[d]++;
+        }
+        if (record.getHintsUsed() > 0) {
+            gamesWithHints[d]++;
+            hints[d] += record.getHintsUsed();
+        }
+        totalMoves[d] += moves;
+        moveCounts[d][Math.min(moves, MOVE_BUCKETS - 1)]++;
+        if (record.getFirstMatchMillis() >= 0) {
+            firstMatchMillis[d].record(record.getFirstMatchMillis());
+        }
+        if (moves > 0) {
+            for (int i = 0; i < record.getMatchCount(); i++) {
+                int position = (int) ((long) (record.getMatchMove(i) - 1) * POSITION_BUCKETS / moves);
+                matchPositions[d][Math.max(0, Math.min(POSITION_BUCKETS - 1, position))]++;
+            }
+        }
+    }
+
+    /**
+     * Cuenta una línea del historial que no se pudo interpretar.
+     */
+    public void rejectLine() {
+        malformed++;
+    }
+
+    /**
+     * Suma a este agregado los valores de otro.
+     *
+     * @param other El agregado a sumar
+     * @return Este agregado, para usarlo como reducción de un stream
+     */
+    public HistoryStats combine(HistoryStats other) {
+        for (int d = 0; d < DIFFICULTIES.length; d++) {
+            games[d] += other.games[d];
+            wins[d] += other.wins[d];
+            gamesWithHints[d] += other.gamesWithHints[d];
+            hints[d] += other.hints[d];
+            totalMoves[d] += other.totalMoves[d];
+            for (int i = 0; i < MOVE_BUCKETS; i++) {
+                moveCounts[d][i] += other.moveCounts[d][i];
+            }
+            for (int i = 0; i < POSITION_BUCKETS; i++) {
+                matchPositions[d][i] += other.matchPositions[d][i];
+            }
+            firstMatchMillis[d].add(other.firstMatchMillis[d]);
+        }
+        records += other.records;
+        malformed += other.malformed;
+        return this;
+    }
+
+    /**
+     * Obtiene el número de partidas agregadas.
+     *
+     * @return El número de partidas
+     */
+    public long getRecords() {
+        return records;
+    }
+
+    /**
+     * Obtiene el número de líneas descartadas por no ser válidas.
+     *
+     * @return El número de líneas descartadas
+     */
+    public long getMalformed() {
+        return malformed;
+    }
+
+    /**
+     * Obtiene el número de partidas de una dificultad.
+     *
+     * @param difficulty La dificultad
+     * @return El número de partidas
+     */
+    public long getGames(GameManager.Difficulty difficulty) {
+        return games[difficulty.ordinal()];
+    }
+
+    /**
+     * Obtiene cuántas partidas de una dificultad terminaron con un número de movimientos.
+     * Los valores por encima del máximo de movimientos se cuentan en el último tramo.
+     *
+     * @param difficulty La dificultad
+     * @param moves El número de movimientos
+     * @return El número de partidas
+     */
+    public long getMoveCount(GameManager.Difficulty difficulty, int moves) {
+        return moveCounts[difficulty.ordinal()][Math.min(moves, MOVE_BUCKETS - 1)];
+    }
+
+    /**
+     * Obtiene la fracción de partidas de una dificultad en las que se usó al menos una pista.
+     *
+     * @param difficulty La dificultad
+     * @return La tasa de uso de pistas entre 0.0 y 1.0
+     */
+    public double getHintUseRate(GameManager.Difficulty difficulty) {
+        int d = difficulty.ordinal();
+        return games[d] == 0 ? 0.0 : (double) gamesWithHints[d] / games[d];
+    }
+
+    /**
+     * Agrega los resultados al informe, con claves {@code dificultad.métrica}.
+     *
+     * @param report El informe de destino
+     * @return El mismo informe, para encadenar llamadas
+     */
+    public LoadTestReport writeTo(LoadTestReport report) {
+        report.put("records", records).put("malformedLines", malformed);
+        for (GameManager.Difficulty difficulty : DIFFICULTIES) {
+            int d = difficulty.ordinal();
+            if (games[d] == 0) {
+                continue;
+            }
+            String prefix = difficulty.name().toLowerCase(Locale.ROOT) + ".";
+            report.put(prefix + "games", games[d])
+                .put(prefix + "winRate", (double) wins[d] / games[d])
+                .put(prefix + "movesMean", (double) totalMoves[d] / games[d])
+                .put(prefix + "movesP50", movePercentile(d, 50.0))
+                .put(prefix + "movesP90", movePercentile(d, 90.0))
+                .put(prefix + "hintUseRate", getHintUseRate(difficulty))
+                .put(prefix + "hintsPerGame", (double) hints[d] / games[d])
+                .put(prefix + "firstMatchP50Millis", firstMatchMillis[d].getPercentile(50.0))
+                .put(prefix + "firstMatchP90Millis", firstMatchMillis[d].getPercentile(90.0));
+            for (int moves = 0; moves < MOVE_BUCKETS; moves++) {
+                if (moveCounts[d][moves] > 0) {
+                    report.put(prefix + "moves." + moves, moveCounts[d][moves]);
+                }
+            }
+            long matches = 0;
+            for (long count : matchPositions[d]) {
+                matches += count;
+            }
+            for (int i = 0; i < POSITION_BUCKETS && matches > 0; i++) {
+                report.put(prefix + "matchPosition." + (i * 100 / POSITION_BUCKETS) + "pct",
+                    (double) matchPositions[d][i] / matches);
+            }
+        }
+        return report;
+    }
+
+    private int movePercentile(int d, double percentile) {
+        long target = Math.max(1, (long) Math.ceil(games[d] * percentile / 100.0));
+        long seen = 0;
+        for (int moves = 0; moves < MOVE_BUCKETS; moves++) {
+            seen += moveCounts[d][moves];
+            if (seen >= target) {
+                return moves;
+            }
+        }
+        return MOVE_BUCKETS - 1;
+    }
+
+    private static int maxMoves() {
+        int max = 0;
+        for (GameManager.Difficulty difficulty : GameManager.Difficulty.values()) {
+            max = Math.max(max, difficulty.getMaxMoves());
+        }
+        return max;
+    }
+}
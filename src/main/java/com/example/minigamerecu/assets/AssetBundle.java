@@ -0,0 +1,184 @@
+package com.example.minigamerecu.assets;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Paquete de recursos en un solo archivo, mapeado en memoria.
+ * <p>
+ * Formato (big-endian): la cabecera {@link #MAGIC}, {@link #VERSION} y el número de entradas, el
+ * índice con cada entrada ordenada por nombre (longitud del nombre en un {@code short}, el nombre
+ * en UTF-8, la posición en un {@code long} y el tamaño en un {@code int}) y a continuación el
+ * contenido de las entradas, sin comprimir. Lo escribe {@link AssetBundleWriter}.
+ * <p>
+ * El archivo se abre y se mapea una sola vez: buscar una entrada es una búsqueda binaria en el
+ * índice y leerla es una vista ({@link ByteBuffer#slice(int, int)}) sobre las páginas mapeadas,
+ * sin copiar los bytes ni hacer llamadas al sistema; el sistema operativo solo lee del disco las
+ * páginas que se tocan. El mapeo se libera cuando el recolector descarta el paquete.
+ * <p>
+ * Es thread-safe: el índice no cambia y cada lectura usa su propia vista.
+ */
+public class AssetBundle {
+
+    /** Marca al comienzo del archivo ("MGAB"). */
+    public static final int MAGIC = 0x4D474142;
+    /** Versión del formato. */
+    public static final int VERSION = 1;
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final String[] names;
+    private final long[] offsets;
+    private final int[] lengths;
+
+    private AssetBundle(Path path, MappedByteBuffer buffer) throws IOException {
+        this.path = path;
+        this.buffer = buffer;
+        ByteBuffer header = buffer.duplicate();
+        try {
+            if (header.getInt() != MAGIC) {
+                throw new IOException("No es un paquete de recursos: " + path);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Versión de paquete no soportada " + version + ": " + path);
+            }
+            int count = header.getInt();
+            if (count < 0) {
+                throw new IOException("Índice dañado en " + path);
+            }
+            names = new String[count];
+            offsets = new long[count];
+            lengths = new int[count];
+            byte[] name = new byte[256];
+            for (int i = 0; i < count; i++) {
+                int nameLength = header.getShort() & 0xFFFF;
+                if (name.length < nameLength) {
+                    name = new byte[nameLength];
+                }
+                header.get(name, 0, nameLength);
+                names[i] = new String(name, 0, nameLength, StandardCharsets.UTF_8);
+                offsets[i] = header.getLong();
+                lengths[i] = header.getInt();
+                if (offsets[i] < 0 || lengths[i] < 0 || offsets[i] + lengths[i] > buffer.capacity()) {
+                    throw new IOException("La entrada " + names[i] + " sale del archivo " + path);
+                }
+                if (i > 0 && names[i - 1].compareTo(names[i]) >= 0) {
+                    throw new IOException("El índice de " + path + " no está ordenado en " + names[i]);
+                }
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Índice dañado en " + path, e);
+        }
+    }
+
+    /**
+     * Abre un paquete de recursos y lo mapea en memoria. Solo se lee el índice.
+     *
+     * @param path El archivo del paquete
+     * @return El paquete abierto
+     * @throws IOException Si no se puede mapear el archivo o no es un paquete válido
+     */
+    public static AssetBundle open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("El paquete supera los 2 GB: " + path);
+            }
+            return new AssetBundle(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    /**
+     * Obtiene el contenido de una entrada como una vista de solo lectura sobre el archivo mapeado.
+     *
+     * @param name El nombre de la entrada, con {@code /} como separador
+     * @return La vista del contenido (posición 0, límite en el tamaño), o null si no existe
+     */
+    public ByteBuffer get(String name) {
+        int index = Arrays.binarySearch(names, name);
+        if (index < 0) {
+            return null;
+        }
+        return buffer.slice((int) offsets[index], lengths[index]);
+    }
+
+    /**
+     * Abre una entrada como flujo de entrada, para los decodificadores que leen de un
+     * {@link InputStream}. El flujo lee directamente de la vista mapeada.
+     *
+     * @param name El nombre de la entrada
+     * @return El flujo del contenido
+     * @throws NoSuchFileException Si la entrada no existe
+     */
+    public InputStream open(String name) throws NoSuchFileException {
+        ByteBuffer content = get(name);
+        if (content == null) {
+            throw new NoSuchFileException(path + "!/" + name);
+        }
+        return new ByteBufferInputStream(content);
+    }
+
+    /**
+     * Verifica si existe una entrada.
+     *
+     * @param name El nombre de la entrada
+     * @return true si existe
+     */
+    public boolean contains(String name) {
+        return Arrays.binarySearch(names, name) >= 0;
+    }
+
+    /**
+     * Lista las entradas que empiezan con un prefijo, por ejemplo un directorio como
+     * {@code packs/animales/}.
+     *
+     * @param prefix El prefijo de los nombres
+     * @return Los nombres, en orden
+     */
+    public List<String> list(String prefix) {
+        int index = Arrays.binarySearch(names, prefix);
+        List<String> found = new ArrayList<>();
+        for (int i = index < 0 ? -index - 1 : index; i < names.length && names[i].startsWith(prefix); i++) {
+            found.add(names[i]);
+        }
+        return found;
+    }
+
+    /**
+     * Obtiene el número de entradas.
+     *
+     * @return El número de entradas
+     */
+    public int getEntryCount() {
+        return names.length;
+    }
+
+    /**
+     * Obtiene el tamaño del archivo.
+     *
+     * @return Los bytes del archivo
+     */
+    public long getSize() {
+        return buffer.capacity();
+    }
+
+    /**
+     * Obtiene la ruta del archivo.
+     *
+     * @return La ruta del paquete
+     */
+    public Path getPath() {
+        return path;
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.minigamerecu.assets;
+
+import com.example.minigamerecu.loadtest.LoadTestReport;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Arma un {@link AssetBundle} con todos los archivos de un directorio.
+ * Cada archivo se guarda con su ruta relativa al directorio y {@code /} como separador, así que
+ * al empaquetar {@code src/main/resources} los nombres coinciden con los de {@code getResource}
+ * (por ejemplo {@code com/example/minigamerecu/images/fondo.jpg}).
+ * <p>
+ * Uso: {@code java -cp target/classes com.example.minigamerecu.assets.AssetBundleWriter
+ * in=src/main/resources out=target/assets.mgab rounds=5}. Después de escribir el paquete compara
+ * el tiempo de leer todos los archivos sueltos con el de abrir el paquete mapeado y leerlos de él;
+ * de cada uno se reporta la mejor de {@code rounds} rondas, para no medir la carga de clases.
+ */
+public class AssetBundleWriter {
+
+    private static final int MAX_NAME_BYTES = 0xFFFF;
+
+    /**
+     * Escribe un paquete con todos los archivos de un directorio y sus subdirectorios.
+     *
+     * @param directory El directorio de origen
+     * @param out El archivo del paquete (se sobrescribe)
+     * @return Los nombres de las entradas escritas, en orden
+     * @throws IOException Si hay un error al leer los archivos o al escribir el paquete
+     */
+    public static List<String> write(Path directory, Path out) throws IOException {
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(directory)) {
+            files = walk.filter(Files::isRegularFile)
+                .sorted((a, b) -> nameOf(directory, a).compareTo(nameOf(directory, b)))
+                .collect(Collectors.toList());
+        }
+        List<String> names = files.stream().map(file -> nameOf(directory, file)).collect(Collectors.toList());
+
+        long offset = 3L * Integer.BYTES;
+        byte[][] encoded = new byte[names.size()][];
+        for (int i = 0; i < names.size(); i++) {
+            encoded[i] = names.get(i).getBytes(StandardCharsets.UTF_8);
+            if (encoded[i].length > MAX_NAME_BYTES) {
+                throw new IOException("Nombre demasiado largo: " + names.get(i));
+            }
+            offset += Short.BYTES + encoded[i].length + Long.BYTES + Integer.BYTES;
+        }
+        Path parent = out.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (DataOutputStream data = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(out)))) {
+            data.writeInt(AssetBundle.MAGIC);
+            data.writeInt(AssetBundle.VERSION);
+            data.writeInt(names.size());
+            for (int i = 0; i < files.size(); i++) {
+                long size = Files.size(files.get(i));
+                if (offset + size > Integer.MAX_VALUE) {
+                    throw new IOException("El paquete superaría los 2 GB en " + names.get(i));
+                }
+                data.writeShort(encoded[i].length);
+                data.write(encoded[i]);
+                data.writeLong(offset);
+                data.writeInt((int) size);
+                offset += size;
+            }
+            for (Path file : files) {
+                Files.copy(file, data);
+            }
+        }
+        return names;
+    }
+
+    private static String nameOf(Path directory, Path file) {
+        return directory.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+    }
+
+    /**
+     * Punto de entrada del empaquetador.
+     * Los argumentos se indican como pares {@code clave=valor}.
+     *
+     * @param args Argumentos de la línea de comandos
+     * @throws IOException Si hay un error al leer los archivos o al escribir el paquete o el informe
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = LoadTestReport.parseOptions(args);
+
+        Path in = Path.of(options.getOrDefault("in", "src/main/resources"));
+        Path bundlePath = Path.of(options.getOrDefault("out", "target/assets.mgab"));
+        long start = System.nanoTime();
+        List<String> names = write(in, bundlePath);
+        long writeNanos = System.nanoTime() - start;
+        int rounds = Integer.parseInt(options.getOrDefault("rounds", "5"));
+
+        long looseNanos = Long.MAX_VALUE;
+        long looseBytes = 0;
+        long openNanos = Long.MAX_VALUE;
+        long bundleNanos = Long.MAX_VALUE;
+        long bundleBytes = 0;
+        AssetBundle bundle = null;
+        byte[] sink = new byte[8192];
+        for (int round = 0; round < rounds; round++) {
+            start = System.nanoTime();
+            looseBytes = 0;
+            for (String name : names) {
+                try (InputStream stream = Files.newInputStream(in.resolve(name))) {
+                    looseBytes += stream.readAllBytes().length;
+                }
+            }
+            looseNanos = Math.min(looseNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            bundle = AssetBundle.open(bundlePath);
+            openNanos = Math.min(openNanos, System.nanoTime() - start);
+            bundleBytes = 0;
+            for (String name : names) {
+                ByteBuffer content = bundle.get(name);
+                while (content.hasRemaining()) {
+                    int count = Math.min(sink.length, content.remaining());
+                    content.get(sink, 0, count);
+                    bundleBytes += count;
+                }
+            }
+            bundleNanos = Math.min(bundleNanos, System.nanoTime() - start);
+        }
+        if (bundle == null) {
+            throw new IllegalArgumentException("Se necesita al menos una ronda: " + rounds);
+        }
+
+        LoadTestReport report = new LoadTestReport()
+            .put("in", in.toString())
+            .put("bundle", bundlePath.toString())
+            .put("entries", bundle.getEntryCount())
+            .put("bundleSize", bundle.getSize())
+            .put("rounds", rounds)
+            .put("writeMillis", writeNanos / 1e6)
+            .put("bundleOpenMicros", openNanos / 1e3)
+            .put("looseBytes", looseBytes)
+            .put("looseReadMicros", looseNanos / 1e3)
+            .put("bundleBytes", bundleBytes)
+            .put("bundleReadMicros", bundleNanos / 1e3);
+        Path out = Path.of(options.getOrDefault("report", "target/assets/assets.json"));
+        report.publish(out);
+    }
+}
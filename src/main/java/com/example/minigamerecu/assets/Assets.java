@@ -0,0 +1,83 @@
+package com.example.minigamerecu.assets;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+/**
+ * Recursos de la aplicación (pantallas FXML, imágenes de fondo, paquetes de cartas), servidos desde un
+ * {@link AssetBundle} si se indica uno con {@code -Dminigame.assets=<archivo>} y, si no, desde el
+ * classpath. Las entradas que falten en el paquete también se buscan en el classpath, así que un
+ * paquete viejo nunca deja a la aplicación sin un recurso.
+ */
+public final class Assets {
+
+    private static final String BUNDLE_PROPERTY = "minigame.assets";
+
+    private static volatile Assets instance;
+
+    private final AssetBundle bundle;
+
+    private Assets(AssetBundle bundle) {
+        this.bundle = bundle;
+    }
+
+    /**
+     * Obtiene la instancia única, abriendo el paquete indicado la primera vez.
+     * Implementa doble verificación para garantizar thread-safety.
+     *
+     * @return La instancia única de Assets
+     */
+    public static Assets getInstance() {
+        if (instance == null) {
+            synchronized (Assets.class) {
+                if (instance == null) {
+                    instance = new Assets(openBundle());
+                }
+            }
+        }
+        return instance;
+    }
+
+    private static AssetBundle openBundle() {
+        String path = System.getProperty(BUNDLE_PROPERTY, "");
+        if (path.isEmpty()) {
+            return null;
+        }
+        try {
+            return AssetBundle.open(Path.of(path));
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Abre un recurso.
+     *
+     * @param name El nombre del recurso como ruta del classpath sin {@code /} inicial, por ejemplo
+     *             {@code com/example/minigamerecu/images/fondo.jpg}
+     * @return El contenido del recurso; el llamador debe cerrarlo
+     * @throws IOException Si el recurso no existe
+     */
+    public InputStream open(String name) throws IOException {
+        if (bundle != null && bundle.contains(name)) {
+            return bundle.open(name);
+        }
+        InputStream stream = Assets.class.getResourceAsStream("/" + name);
+        if (stream == null) {
+            throw new NoSuchFileException(name);
+        }
+        return stream;
+    }
+
+    /**
+     * Obtiene el paquete de recursos abierto.
+     *
+     * @return El paquete, o null si los recursos se leen del classpath
+     */
+    public AssetBundle getBundle() {
+        return bundle;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.minigamerecu.assets;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Flujo de entrada que lee de un {@link ByteBuffer} sin copiarlo antes, por ejemplo una entrada
+ * de un {@link AssetBundle} mapeado en memoria. No es thread-safe.
+ */
+public class ByteBufferInputStream extends InputStream {
+
+    private final ByteBuffer buffer;
+
+    /**
+     * Constructor de la clase ByteBufferInputStream.
+     *
+     * @param buffer Los bytes a leer, desde su posición hasta su límite; el flujo avanza la posición
+     */
+    public ByteBufferInputStream(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+        return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) {
+        if (length == 0) {
+            return 0;
+        }
+        if (!buffer.hasRemaining()) {
+            return -1;
+        }
+        int count = Math.min(length, buffer.remaining());
+        buffer.get(bytes, offset, count);
+        return count;
+    }
+
+    @Override
+    public long skip(long count) {
+        int skipped = (int) Math.max(0, Math.min(count, buffer.remaining()));
+        buffer.position(buffer.position() + skipped);
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return buffer.remaining();
+    }
+}
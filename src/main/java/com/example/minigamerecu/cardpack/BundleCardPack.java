@@ -0,0 +1,78 @@
+package com.example.minigamerecu.cardpack;
+
+import com.example.minigamerecu.assets.AssetBundle;
+
+import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Paquete de cartas dentro de un {@link AssetBundle}: las imágenes cuyo nombre empieza con un
+ * prefijo, como {@code packs/animales/}. Abrirlo solo recorre el índice del paquete ya mapeado,
+ * sin leer del disco, así que cambiar de paquete de cartas no cuesta casi nada; cada imagen se
+ * lee directamente de las páginas mapeadas.
+ */
+class BundleCardPack implements CardPack {
+
+    private final AssetBundle bundle;
+    private final String prefix;
+    private final String[] faces;
+    private final String back;
+
+    /**
+     * Busca las imágenes de un paquete de cartas en el índice de un paquete de recursos.
+     *
+     * @param bundle El paquete de recursos
+     * @param prefix El prefijo de las imágenes, vacío para todo el paquete
+     */
+    BundleCardPack(AssetBundle bundle, String prefix) {
+        this.bundle = bundle;
+        this.prefix = prefix;
+        Map<Integer, String> found = new HashMap<>();
+        String backEntry = null;
+        for (String entry : bundle.list(prefix)) {
+            String name = entry.substring(entry.lastIndexOf('/') + 1);
+            int number = CardNames.faceNumber(name);
+            if (number > 0) {
+                found.put(number, entry);
+            } else if (CardNames.isBack(name)) {
+                backEntry = entry;
+            }
+        }
+        this.faces = CardNames.contiguous(found, new String[0]);
+        this.back = backEntry;
+    }
+
+    @Override
+    public String getName() {
+        return prefix.isEmpty() ? bundle.getPath().getFileName().toString() : prefix;
+    }
+
+    @Override
+    public int getFaceCount() {
+        return faces.length;
+    }
+
+    @Override
+    public boolean hasBack() {
+        return back != null;
+    }
+
+    @Override
+    public InputStream openFace(int face) throws NoSuchFileException {
+        return bundle.open(faces[face]);
+    }
+
+    @Override
+    public InputStream openBack() throws NoSuchFileException {
+        if (back == null) {
+            throw new NoSuchFileException(bundle.getPath() + "!/" + prefix + "card_back.png");
+        }
+        return bundle.open(back);
+    }
+
+    @Override
+    public void close() {
+    }
+}
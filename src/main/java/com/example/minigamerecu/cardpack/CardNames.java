@@ -0,0 +1,80 @@
+package com.example.minigamerecu.cardpack;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Nombres de archivo de un {@link CardPack}.
+ */
+final class CardNames {
+
+    private static final String FACE_PREFIX = "card";
+    private static final String BACK_NAME = "card_back";
+    private static final String[] EXTENSIONS = {".png", ".jpg", ".jpeg"};
+
+    private CardNames() {
+    }
+
+    /**
+     * Obtiene el número de cara de un nombre como {@code card12.png}.
+     *
+     * @param fileName El nombre del archivo, sin directorios
+     * @return El número de cara (desde 1), o -1 si no es una cara
+     */
+    static int faceNumber(String fileName) {
+        String base = stripExtension(fileName);
+        if (base == null || !base.startsWith(FACE_PREFIX) || base.length() == FACE_PREFIX.length()) {
+            return -1;
+        }
+        int number = 0;
+        for (int i = FACE_PREFIX.length(); i < base.length(); i++) {
+            char c = base.charAt(i);
+            if (c < '0' || c > '9' || number > 100_000) {
+                return -1;
+            }
+            number = number * 10 + (c - '0');
+        }
+        return number > 0 ? number : -1;
+    }
+
+    /**
+     * Verifica si un nombre es el del reverso, como {@code card_back.png}.
+     *
+     * @param fileName El nombre del archivo, sin directorios
+     * @return true si es el reverso
+     */
+    static boolean isBack(String fileName) {
+        return BACK_NAME.equals(stripExtension(fileName));
+    }
+
+    /**
+     * Ordena las caras encontradas y corta en la primera que falta.
+     *
+     * @param faces Las caras encontradas por número
+     * @param type El tipo del arreglo resultante
+     * @param <T> El tipo de referencia a cada imagen
+     * @return Las caras desde {@code card1} hasta la última sin huecos
+     */
+    static <T> T[] contiguous(Map<Integer, T> faces, T[] type) {
+        int count = 0;
+        while (faces.containsKey(count + 1)) {
+            count++;
+        }
+        T[] ordered = Arrays.copyOf(type, count);
+        for (int i = 0; i < count; i++) {
+            ordered[i] = faces.get(i + 1);
+        }
+        return ordered;
+    }
+
+    private static String stripExtension(String fileName) {
+        String lower = fileName.toLowerCase(Locale.ROOT);
+        for (String extension : EXTENSIONS) {
+            if (lower.endsWith(extension)) {
+                return lower.substring(0, lower.length() - extension.length());
+            }
+        }
+        return null;
+    }
+}
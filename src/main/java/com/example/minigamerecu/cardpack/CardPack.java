@@ -0,0 +1,91 @@
+package com.example.minigamerecu.cardpack;
+
+import com.example.minigamerecu.assets.AssetBundle;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Paquete de imágenes de cartas: un directorio, un archivo zip o un {@link AssetBundle} con
+ * {@code card1.png}, {@code card2.png}, ... (o {@code .jpg}) y, opcionalmente,
+ * {@code card_back.png} para el reverso.
+ * Las caras se numeran desde 1 sin huecos; la primera que falta termina el paquete.
+ * <p>
+ * Abrir un paquete solo lee la lista de archivos, sin leer ni decodificar ninguna imagen, así que
+ * un paquete con cientos de caras no ocupa memoria hasta que se piden sus imágenes.
+ */
+public interface CardPack extends Closeable {
+
+    /** Extensión de los paquetes de recursos de {@link AssetBundle}. */
+    String BUNDLE_EXTENSION = ".mgab";
+
+    /**
+     * Abre un paquete de cartas.
+     *
+     * @param path Un directorio, un archivo zip o un paquete de recursos ({@code .mgab})
+     * @return El paquete abierto
+     * @throws IOException Si no se puede leer el directorio o el archivo
+     */
+    static CardPack open(Path path) throws IOException {
+        if (Files.isDirectory(path)) {
+            return new DirectoryCardPack(path);
+        }
+        if (path.getFileName().toString().endsWith(BUNDLE_EXTENSION)) {
+            return new BundleCardPack(AssetBundle.open(path), "");
+        }
+        return new ZipCardPack(path);
+    }
+
+    /**
+     * Abre un paquete de cartas guardado dentro de un paquete de recursos ya abierto. Solo recorre
+     * el índice, sin leer del disco.
+     *
+     * @param bundle El paquete de recursos
+     * @param prefix El prefijo de las imágenes, como {@code packs/animales/}
+     * @return El paquete abierto
+     */
+    static CardPack open(AssetBundle bundle, String prefix) {
+        return new BundleCardPack(bundle, prefix);
+    }
+
+    /**
+     * Obtiene el nombre del paquete, para mostrarlo y en los informes.
+     *
+     * @return El nombre del paquete
+     */
+    String getName();
+
+    /**
+     * Obtiene el número de caras del paquete.
+     *
+     * @return El número de caras
+     */
+    int getFaceCount();
+
+    /**
+     * Verifica si el paquete incluye una imagen para el reverso.
+     *
+     * @return true si hay {@code card_back}
+     */
+    boolean hasBack();
+
+    /**
+     * Abre los bytes sin decodificar de una cara.
+     *
+     * @param face La cara, desde 0 ({@code card1})
+     * @return El contenido de la imagen; el llamador debe cerrarlo
+     * @throws IOException Si no se puede leer la imagen
+     */
+    InputStream openFace(int face) throws IOException;
+
+    /**
+     * Abre los bytes sin decodificar del reverso.
+     *
+     * @return El contenido de la imagen; el llamador debe cerrarlo
+     * @throws IOException Si no se puede leer la imagen o el paquete no tiene reverso
+     */
+    InputStream openBack() throws IOException;
+}
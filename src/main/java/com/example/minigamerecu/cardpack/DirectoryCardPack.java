@@ -0,0 +1,77 @@
+package com.example.minigamerecu.cardpack;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Paquete de cartas guardado como un directorio de imágenes.
+ */
+class DirectoryCardPack implements CardPack {
+
+    private final Path directory;
+    private final Path[] faces;
+    private final Path back;
+
+    /**
+     * Lee la lista de imágenes de un directorio.
+     *
+     * @param directory El directorio del paquete
+     * @throws IOException Si no se puede listar el directorio
+     */
+    DirectoryCardPack(Path directory) throws IOException {
+        this.directory = directory;
+        Map<Integer, Path> found = new HashMap<>();
+        Path backFile = null;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                int number = CardNames.faceNumber(name);
+                if (number > 0) {
+                    found.put(number, file);
+                } else if (CardNames.isBack(name)) {
+                    backFile = file;
+                }
+            }
+        }
+        this.faces = CardNames.contiguous(found, new Path[0]);
+        this.back = backFile;
+    }
+
+    @Override
+    public String getName() {
+        return directory.getFileName().toString();
+    }
+
+    @Override
+    public int getFaceCount() {
+        return faces.length;
+    }
+
+    @Override
+    public boolean hasBack() {
+        return back != null;
+    }
+
+    @Override
+    public InputStream openFace(int face) throws IOException {
+        return Files.newInputStream(faces[face]);
+    }
+
+    @Override
+    public InputStream openBack() throws IOException {
+        if (back == null) {
+            throw new NoSuchFileException(directory.resolve("card_back.png").toString());
+        }
+        return Files.newInputStream(back);
+    }
+
+    @Override
+    public void close() {
+    }
+}
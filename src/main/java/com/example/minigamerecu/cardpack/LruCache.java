@@ -0,0 +1,147 @@
+package com.example.minigamerecu.cardpack;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Caché LRU acotada por peso (por ejemplo, bytes de las imágenes decodificadas) en lugar de por
+ * número de entradas. Al superar el peso máximo descarta las entradas usadas hace más tiempo.
+ * Un valor que pesa más que el máximo no se guarda.
+ * <p>
+ * Es thread-safe: todos los métodos son sincronizados y hacen trabajo constante, salvo el
+ * descarte, que es proporcional a las entradas descartadas.
+ *
+ * @param <K> El tipo de las claves
+ * @param <V> El tipo de los valores
+ */
+public class LruCache<K, V> {
+
+    private final long maxWeight;
+    private final ToLongFunction<? super V> weigher;
+    private final LinkedHashMap<K, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Constructor de la clase LruCache.
+     *
+     * @param maxWeight El peso máximo de todas las entradas
+     * @param weigher La función que calcula el peso de un valor
+     */
+    public LruCache(long maxWeight, ToLongFunction<? super V> weigher) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("El peso máximo debe ser positivo: " + maxWeight);
+        }
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    /**
+     * Obtiene un valor y lo marca como el usado más recientemente.
+     *
+     * @param key La clave
+     * @return El valor, o null si no está en la caché
+     */
+    public synchronized V get(K key) {
+        V value = entries.get(key);
+        if (value == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return value;
+    }
+
+    /**
+     * Guarda un valor, reemplazando el anterior de la misma clave, y descarta las entradas más
+     * antiguas hasta volver a estar dentro del peso máximo.
+     *
+     * @param key La clave
+     * @param value El valor
+     */
+    public synchronized void put(K key, V value) {
+        long valueWeight = weigher.applyAsLong(value);
+        V previous = entries.remove(key);
+        if (previous != null) {
+            weight -= weigher.applyAsLong(previous);
+        }
+        if (valueWeight > maxWeight) {
+            return;
+        }
+        entries.put(key, value);
+        weight += valueWeight;
+        Iterator<Map.Entry<K, V>> eldest = entries.entrySet().iterator();
+        while (weight > maxWeight) {
+            Map.Entry<K, V> entry = eldest.next();
+            weight -= weigher.applyAsLong(entry.getValue());
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Descarta todas las entradas.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        weight = 0;
+    }
+
+    /**
+     * Obtiene el número de entradas.
+     *
+     * @return El número de entradas
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Obtiene el peso actual de todas las entradas.
+     *
+     * @return El peso actual
+     */
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    /**
+     * Obtiene el peso máximo.
+     *
+     * @return El peso máximo
+     */
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * Obtiene cuántas búsquedas encontraron su valor.
+     *
+     * @return Los aciertos
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Obtiene cuántas búsquedas no encontraron su valor.
+     *
+     * @return Los fallos
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Obtiene cuántas entradas se descartaron por falta de espacio.
+     *
+     * @return Los descartes
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+}
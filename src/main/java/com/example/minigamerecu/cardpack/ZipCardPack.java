@@ -0,0 +1,86 @@
+package com.example.minigamerecu.cardpack;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Paquete de cartas guardado como un archivo zip. Las imágenes pueden estar en la raíz o en un
+ * subdirectorio; solo cuenta el nombre del archivo. Abrir el paquete lee el directorio central
+ * del zip, no el contenido de las imágenes.
+ */
+class ZipCardPack implements CardPack {
+
+    private final Path file;
+    private final ZipFile zip;
+    private final ZipEntry[] faces;
+    private final ZipEntry back;
+
+    /**
+     * Abre un archivo zip y lee la lista de imágenes.
+     *
+     * @param file El archivo del paquete
+     * @throws IOException Si no se puede abrir el archivo o no es un zip válido
+     */
+    ZipCardPack(Path file) throws IOException {
+        this.file = file;
+        this.zip = new ZipFile(file.toFile());
+        Map<Integer, ZipEntry> found = new HashMap<>();
+        ZipEntry backEntry = null;
+        Enumeration<? extends ZipEntry> entries = zip.entries();
+        while (entries.hasMoreElements()) {
+            ZipEntry entry = entries.nextElement();
+            if (entry.isDirectory()) {
+                continue;
+            }
+            String name = entry.getName().substring(entry.getName().lastIndexOf('/') + 1);
+            int number = CardNames.faceNumber(name);
+            if (number > 0) {
+                found.put(number, entry);
+            } else if (CardNames.isBack(name)) {
+                backEntry = entry;
+            }
+        }
+        this.faces = CardNames.contiguous(found, new ZipEntry[0]);
+        this.back = backEntry;
+    }
+
+    @Override
+    public String getName() {
+        return file.getFileName().toString();
+    }
+
+    @Override
+    public int getFaceCount() {
+        return faces.length;
+    }
+
+    @Override
+    public boolean hasBack() {
+        return back != null;
+    }
+
+    @Override
+    public InputStream openFace(int face) throws IOException {
+        return zip.getInputStream(faces[face]);
+    }
+
+    @Override
+    public InputStream openBack() throws IOException {
+        if (back == null) {
+            throw new NoSuchFileException(file + "!/card_back.png");
+        }
+        return zip.getInputStream(back);
+    }
+
+    @Override
+    public void close() throws IOException {
+        zip.close();
+    }
+}
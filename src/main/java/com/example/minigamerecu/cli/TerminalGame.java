@@ -0,0 +1,280 @@
+package com.example.minigamerecu.cli;
+
+import com.example.minigamerecu.engine.HeadlessGame;
+import com.example.minigamerecu.engine.HeadlessGame.FlipResult;
+import com.example.minigamerecu.loadtest.LoadTestReport;
+import com.example.minigamerecu.manager.GameManager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Juego de memoria en la terminal, sin JavaFX.
+ * Usa {@link HeadlessGame}, así que aplica las mismas dificultades, pistas y límites de
+ * movimientos que la interfaz gráfica, y arranca sin cargar ningún toolkit gráfico. Lee los
+ * comandos de la entrada estándar, por lo que también sirve para partidas guionadas en CI o
+ * trabajos por lotes.
+ * <p>
+ * Comandos, uno o varios por línea: una casilla como {@code B3} (fila en letra, columna en
+ * número) o su posición numérica desde 0, {@code h} para una pista, {@code q} para salir y
+ * {@code ?} para la ayuda.
+ * <p>
+ * Uso: {@code java -jar MiniGameRecu-1.0-SNAPSHOT-core.jar difficulty=HARD seed=42 symbols=ascii quiet=false}.
+ * El código de salida es 0 si se ganó, 1 si se agotaron los movimientos y 2 si se abandonó la
+ * partida o terminó la entrada.
+ * <p>
+ * Los textos se arman con un {@code StringBuilder} reutilizado en lugar de concatenar con
+ * {@code +}: la concatenación compilada con {@code invokedynamic} genera decenas de clases en el
+ * primer uso y duplica el tiempo de arranque.
+ */
+public class TerminalGame {
+
+    /** Código de salida de una partida ganada. */
+    public static final int EXIT_WON = 0;
+    /** Código de salida de una partida perdida por límite de movimientos. */
+    public static final int EXIT_LOST = 1;
+    /** Código de salida de una partida abandonada o sin terminar. */
+    public static final int EXIT_QUIT = 2;
+
+    private static final String ASCII_SYMBOLS = "abcdefghijklmnopqrstuvwxyz";
+    private static final String HIDDEN = "?";
+
+    private final HeadlessGame game;
+    private final String[] symbols;
+    private final PrintStream out;
+    private final boolean quiet;
+    private final int gridSize;
+    private final StringBuilder text = new StringBuilder(256);
+
+    /**
+     * Constructor de la clase TerminalGame.
+     *
+     * @param game La partida a jugar
+     * @param symbols El símbolo de cada identificador de pareja
+     * @param out La salida donde se dibuja el tablero
+     * @param quiet true para escribir solo el resultado final
+     */
+    public TerminalGame(HeadlessGame game, String[] symbols, PrintStream out, boolean quiet) {
+        if (symbols.length < game.getDifficulty().getTotalPairs()) {
+            throw new IllegalArgumentException("Se necesitan al menos " + game.getDifficulty().getTotalPairs() + " símbolos");
+        }
+        this.game = game;
+        this.symbols = symbols.clone();
+        this.out = out;
+        this.quiet = quiet;
+        this.gridSize = game.getDifficulty().getGridSize();
+    }
+
+    /**
+     * Juega la partida leyendo comandos hasta que termine, se abandone o se acabe la entrada.
+     *
+     * @param in La entrada de comandos
+     * @return El código de salida ({@link #EXIT_WON}, {@link #EXIT_LOST} o {@link #EXIT_QUIT})
+     * @throws IOException Si hay un error al leer la entrada
+     */
+    public int play(BufferedReader in) throws IOException {
+        if (!quiet) {
+            out.println(line().append("Memory Game - ").append(game.getDifficulty().getDisplayName()).append(" (? para ayuda)"));
+            render();
+        }
+        String line;
+        while (!game.isFinished() && (line = in.readLine()) != null) {
+            for (String token : line.trim().split("\\s+")) {
+                if (token.isEmpty()) {
+                    continue;
+                }
+                if (!apply(token)) {
+                    return finish();
+                }
+                if (game.isFinished()) {
+                    break;
+                }
+            }
+        }
+        return finish();
+    }
+
+    /**
+     * Aplica un comando.
+     *
+     * @param token El comando
+     * @return false si el jugador abandona la partida
+     */
+    private boolean apply(String token) {
+        switch (token.toLowerCase(Locale.ROOT)) {
+            case "q":
+            case "quit":
+                return false;
+            case "?":
+            case "help":
+                message(appendCell(line().append("Casillas: A1.."), game.getCardCount() - 1)
+                    .append(" o posición 0..").append(game.getCardCount() - 1).append("  h: pista  q: salir"));
+                return true;
+            case "h":
+            case "hint":
+                useHint();
+                return true;
+            default:
+                break;
+        }
+        int index = parseCell(token);
+        if (index < 0) {
+            message(line().append("Comando no válido: ").append(token));
+            return true;
+        }
+        FlipResult result = game.flip(index);
+        if (result == FlipResult.IGNORED) {
+            message(appendCell(line().append("No se puede voltear "), index));
+            return true;
+        }
+        if (!quiet) {
+            render();
+            if (result == FlipResult.MATCH) {
+                out.println("¡Pareja!");
+            } else if (result == FlipResult.MISMATCH) {
+                out.println("No coinciden.");
+            }
+        }
+        return true;
+    }
+
+    private void useHint() {
+        int card = game.useHint();
+        if (card < 0) {
+            message("No quedan pistas.");
+            return;
+        }
+        int partner = card;
+        for (int i = 0; i < game.getCardCount(); i++) {
+            if (i != card && game.getPairId(i) == game.getPairId(card)) {
+                partner = i;
+                break;
+            }
+        }
+        message(appendCell(appendCell(line().append("Pista: "), card).append(" y "), partner)
+            .append(" son pareja (").append(GameManager.getMaxHints() - game.getHintsUsed()).append(" restantes)."));
+    }
+
+    /**
+     * Interpreta una casilla como {@code B3} o como posición numérica.
+     *
+     * @param token El texto de la casilla
+     * @return La posición de la carta, o -1 si no es válida
+     */
+    private int parseCell(String token) {
+        try {
+            char first = Character.toUpperCase(token.charAt(0));
+            int index;
+            if (first >= 'A' && first <= 'Z') {
+                int row = first - 'A';
+                int col = Integer.parseInt(token.substring(1)) - 1;
+                if (row >= gridSize || col < 0 || col >= gridSize) {
+                    return -1;
+                }
+                index = row * gridSize + col;
+            } else {
+                index = Integer.parseInt(token);
+            }
+            return index >= 0 && index < game.getCardCount() ? index : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private StringBuilder appendCell(StringBuilder out, int index) {
+        return out.append((char) ('A' + index / gridSize)).append(index % gridSize + 1);
+    }
+
+    private StringBuilder line() {
+        text.setLength(0);
+        return text;
+    }
+
+    private void render() {
+        StringBuilder text = line().append("   ");
+        for (int col = 1; col <= gridSize; col++) {
+            text.append(' ').append(col).append(' ');
+        }
+        text.append('\n');
+        for (int row = 0; row < gridSize; row++) {
+            text.append(' ').append((char) ('A' + row)).append(' ');
+            for (int col = 0; col < gridSize; col++) {
+                int id = game.getRevealedId(row * gridSize + col);
+                text.append(' ').append(id < 0 ? HIDDEN : symbols[id]).append(' ');
+            }
+            text.append('\n');
+        }
+        GameManager.Difficulty difficulty = game.getDifficulty();
+        text.append("Movimientos: ").append(game.getMoves()).append('/').append(difficulty.getMaxMoves())
+            .append("  Parejas: ").append(game.getMatchedPairsCount()).append('/').append(difficulty.getTotalPairs())
+            .append("  Pistas: ").append(GameManager.getMaxHints() - game.getHintsUsed());
+        out.println(text);
+    }
+
+    private void message(CharSequence message) {
+        if (!quiet) {
+            out.println(message);
+        }
+    }
+
+    private int finish() {
+        int code = game.isWon() ? EXIT_WON : game.isFinished() ? EXIT_LOST : EXIT_QUIT;
+        String result = code == EXIT_WON ? "ganada" : code == EXIT_LOST ? "perdida" : "abandonada";
+        out.println(line().append("Resultado: ").append(result).append(" en ").append(game.getMoves())
+            .append(" movimientos, ").append(game.getHintsUsed()).append(" pistas (semilla ")
+            .append(game.getSeed()).append(')'));
+        out.flush();
+        return code;
+    }
+
+    /**
+     * Obtiene los símbolos de las cartas: letras en modo {@code ascii} o los emojis del juego.
+     *
+     * @param mode {@code ascii} o {@code emoji}
+     * @return El símbolo de cada identificador de pareja
+     */
+    static String[] symbols(String mode) {
+        if (mode.equals("emoji")) {
+            String[] emoji = GameManager.getSymbols();
+            for (int i = 0; i < emoji.length; i++) {
+                emoji[i] = emoji[i].replaceAll("[\\uFE00-\\uFE0F]", "").trim();
+            }
+            return emoji;
+        }
+        if (!mode.equals("ascii")) {
+            throw new IllegalArgumentException("Modo de símbolos inválido, se esperaba ascii o emoji: " + mode);
+        }
+        String[] letters = new String[ASCII_SYMBOLS.length()];
+        for (int i = 0; i < letters.length; i++) {
+            letters[i] = String.valueOf(ASCII_SYMBOLS.charAt(i));
+        }
+        return letters;
+    }
+
+    /**
+     * Punto de entrada del modo terminal.
+     * Los argumentos se indican como pares {@code clave=valor}.
+     *
+     * @param args Argumentos de la línea de comandos
+     * @throws IOException Si hay un error al leer la entrada
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = LoadTestReport.parseOptions(args);
+
+        GameManager.Difficulty difficulty = GameManager.Difficulty.valueOf(
+            options.getOrDefault("difficulty", "EASY").toUpperCase(Locale.ROOT));
+        long seed = options.containsKey("seed")
+            ? Long.parseLong(options.get("seed")) : ThreadLocalRandom.current().nextLong();
+        PrintStream out = new PrintStream(System.out, false, StandardCharsets.UTF_8);
+        TerminalGame terminal = new TerminalGame(new HeadlessGame(difficulty, seed),
+            symbols(options.getOrDefault("symbols", "ascii")), out, Boolean.parseBoolean(options.get("quiet")));
+        BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        System.exit(terminal.play(in));
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.minigamerecu.controller;
+
+import javafx.animation.Animation;
+import javafx.animation.PauseTransition;
+import javafx.util.Duration;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Lleva el registro de las animaciones que reproduce una pantalla.
+ * JavaFX no ofrece una lista global de animaciones activas, así que los controladores
+ * reproducen sus animaciones a través de esta clase para poder contarlas, pausarlas
+ * y reanudarlas juntas. Los retrasos del juego también se programan aquí como
+ * {@link PauseTransition}, de modo que se pausan junto con las animaciones.
+ */
+class AnimationTracker {
+
+    private final List<Animation> animations = new ArrayList<>();
+    private final List<Animation> pausedByTracker = new ArrayList<>();
+    private boolean paused;
+
+    /**
+     * Registra y reproduce una animación.
+     *
+     * @param animation La animación a reproducir
+     */
+    void play(Animation animation) {
+        if (animations.size() >= 256) {
+            pruneStopped();
+        }
+        animations.add(animation);
+        if (paused) {
+            pausedByTracker.add(animation);
+        } else {
+            animation.play();
+        }
+    }
+
+    /**
+     * Programa una acción para que se ejecute en el hilo de JavaFX tras un retraso.
+     * A diferencia de {@code java.util.Timer}, no crea hilos y el retraso se detiene
+     * mientras las animaciones están pausadas.
+     *
+     * @param delay El retraso antes de ejecutar la acción
+     * @param action La acción a ejecutar
+     * @return La transición que implementa el retraso, para poder cancelarla con {@code stop()}
+     */
+    Animation schedule(Duration delay, Runnable action) {
+        PauseTransition pause = new PauseTransition(delay);
+        pause.setOnFinished(e -> action.run());
+        play(pause);
+        return pause;
+    }
+
+    /**
+     * Pausa todas las animaciones en curso, recordando cuáles se pausaron para reanudarlas después.
+     * Las animaciones que se reproduzcan mientras tanto quedan en espera hasta {@link #resumeAll()}.
+     */
+    void pauseAll() {
+        if (paused) {
+            return;
+        }
+        paused = true;
+        for (Animation animation : animations) {
+            if (animation.getStatus() == Animation.Status.RUNNING) {
+                animation.pause();
+                pausedByTracker.add(animation);
+            }
+        }
+    }
+
+    /**
+     * Reanuda exactamente las animaciones pausadas por {@link #pauseAll()}.
+     */
+    void resumeAll() {
+        if (!paused) {
+            return;
+        }
+        paused = false;
+        for (Animation animation : pausedByTracker) {
+            animation.play();
+        }
+        pausedByTracker.clear();
+    }
+
+    /**
+     * Detiene y olvida todas las animaciones, por ejemplo al salir de la pantalla.
+     */
+    void stopAll() {
+        for (Animation animation : animations) {
+            animation.stop();
+        }
+        animations.clear();
+        pausedByTracker.clear();
+        paused = false;
+    }
+
+    /**
+     * Verifica si las animaciones están pausadas.
+     *
+     * @return true si se llamó a {@link #pauseAll()} sin reanudar todavía
+     */
+    boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Cuenta las animaciones que se están reproduciendo (incluidas las que están en su retraso inicial).
+     * Aprovecha el recorrido para descartar las animaciones que ya terminaron.
+     *
+     * @return El número de animaciones en curso
+     */
+    int countRunning() {
+        pruneStopped();
+        int running = 0;
+        for (Animation animation : animations) {
+            if (animation.getStatus() == Animation.Status.RUNNING) {
+                running++;
+            }
+        }
+        return running;
+    }
+
+    private void pruneStopped() {
+        Iterator<Animation> iterator = animations.iterator();
+        while (iterator.hasNext()) {
+            Animation animation = iterator.next();
+            if (animation.getStatus() == Animation.Status.STOPPED && !pausedByTracker.contains(animation)) {
+                iterator.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.minigamerecu.controller;
+
+import com.example.minigamerecu.assets.Assets;
+import javafx.scene.image.Image;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Carga las imágenes de la interfaz a través de {@link Assets}, es decir, del paquete de recursos
+ * mapeado si hay uno y, si no, del classpath.
+ */
+final class AssetImages {
+
+    private static final String IMAGES = "com/example/minigamerecu/images/";
+
+    private AssetImages() {
+    }
+
+    /**
+     * Carga y decodifica una imagen de la carpeta de imágenes de la aplicación.
+     * Se puede llamar fuera del hilo de JavaFX.
+     *
+     * @param fileName El nombre del archivo, como {@code fondo.jpg}
+     * @return La imagen, o null si no se pudo leer
+     */
+    static Image load(String fileName) {
+        try (InputStream in = Assets.getInstance().open(IMAGES + fileName)) {
+            return new Image(in);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+}
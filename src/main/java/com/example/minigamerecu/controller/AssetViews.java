@@ -0,0 +1,36 @@
+package com.example.minigamerecu.controller;
+
+import com.example.minigamerecu.assets.Assets;
+import javafx.fxml.FXMLLoader;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Carga las pantallas FXML a través de {@link Assets}, es decir, del paquete de recursos mapeado
+ * si hay uno y, si no, del classpath. La ubicación del cargador sigue apuntando al classpath para
+ * resolver rutas relativas dentro del FXML.
+ */
+public final class AssetViews {
+
+    private static final String VIEWS = "com/example/minigamerecu/view/";
+
+    private AssetViews() {
+    }
+
+    /**
+     * Carga una pantalla de la carpeta de vistas de la aplicación.
+     * Se puede llamar fuera del hilo de JavaFX.
+     *
+     * @param fileName El nombre del archivo, como {@code start.fxml}
+     * @return El cargador ya usado, con la raíz y el controlador de la pantalla
+     * @throws IOException Si el archivo no existe o no se puede interpretar
+     */
+    public static FXMLLoader load(String fileName) throws IOException {
+        FXMLLoader loader = new FXMLLoader(AssetViews.class.getResource("/" + VIEWS + fileName));
+        try (InputStream in = Assets.getInstance().open(VIEWS + fileName)) {
+            loader.load(in);
+        }
+        return loader;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.minigamerecu.controller;
+
+/**
+ * Medidas del tablero según el espacio disponible en la ventana.
+ * La pantalla de inicio las usa para elegir el tamaño inicial de la ventana y el juego para
+ * recalcular las cartas cuando la ventana cambia de tamaño.
+ * <p>
+ * El lado de las cartas se redondea a múltiplos de {@link #CARD_STEP} píxeles: al arrastrar el
+ * borde de la ventana la mayoría de los pulsos no cambian el tamaño, y solo hay unos pocos tamaños
+ * de fuente e imagen distintos, que se reutilizan al achicar y agrandar.
+ */
+final class BoardLayout {
+
+    /** Separación entre cartas, igual que {@code hgap} y {@code vgap} del tablero. */
+    static final int GAP = 12;
+    /** Margen horizontal total alrededor del tablero. */
+    static final int PADDING = 56;
+    /** Alto reservado para la cabecera con el título y los contadores. */
+    static final int HEADER_HEIGHT = 200;
+    /** Alto reservado debajo del tablero. */
+    static final int FOOTER_HEIGHT = 50;
+    /** Paso de redondeo del lado de las cartas. */
+    static final int CARD_STEP = 4;
+    /** Lado mínimo de las cartas. */
+    static final int MIN_CARD_SIZE = 40;
+    /** Lado máximo de las cartas. */
+    static final int MAX_CARD_SIZE = 160;
+
+    private BoardLayout() {
+    }
+
+    /**
+     * Obtiene el lado de las cartas con el que se abre la ventana de un tablero.
+     *
+     * @param gridSize El tamaño del tablero
+     * @return El lado en píxeles (80 para tablero 4x4, 60 para 6x6)
+     */
+    static int defaultCardSize(int gridSize) {
+        return gridSize == 4 ? 80 : 60;
+    }
+
+    /**
+     * Calcula el lado de las cartas que entran en el espacio de la escena.
+     *
+     * @param gridSize El tamaño del tablero
+     * @param width El ancho de la escena
+     * @param height El alto de la escena
+     * @return El lado en píxeles, múltiplo de {@link #CARD_STEP} y dentro de los límites
+     */
+    static int cardSize(int gridSize, double width, double height) {
+        double byWidth = (width - PADDING + GAP) / gridSize - GAP;
+        double byHeight = (height - HEADER_HEIGHT - FOOTER_HEIGHT + GAP) / gridSize - GAP;
+        int size = (int) Math.min(byWidth, byHeight) / CARD_STEP * CARD_STEP;
+        return Math.max(MIN_CARD_SIZE, Math.min(MAX_CARD_SIZE, size));
+    }
+
+    /**
+     * Calcula el tamaño de fuente de los emojis para un lado de carta.
+     *
+     * @param cardSize El lado de las cartas
+     * @return El tamaño de fuente en píxeles (36 para cartas de 80, 28 para cartas de 60)
+     */
+    static int fontSize(int cardSize) {
+        return cardSize * 2 / 5 + 4;
+    }
+
+    /**
+     * Calcula el lado de las imágenes de un paquete de cartas, dejando lugar para el borde.
+     *
+     * @param cardSize El lado de las cartas
+     * @return El lado en píxeles de las imágenes
+     */
+    static int imageSize(int cardSize) {
+        return cardSize * 4 / 5;
+    }
+
+    /**
+     * Calcula el ancho de escena que muestra las cartas con un lado dado.
+     *
+     * @param gridSize El tamaño del tablero
+     * @param cardSize El lado de las cartas
+     * @return El ancho en píxeles
+     */
+    static int sceneWidth(int gridSize, int cardSize) {
+        return (cardSize + GAP) * gridSize - GAP + PADDING;
+    }
+
+    /**
+     * Calcula el alto de escena que muestra las cartas con un lado dado.
+     *
+     * @param gridSize El tamaño del tablero
+     * @param cardSize El lado de las cartas
+     * @return El alto en píxeles
+     */
+    static int sceneHeight(int gridSize, int cardSize) {
+        return (cardSize + GAP) * gridSize - GAP + HEADER_HEIGHT + FOOTER_HEIGHT;
+    }
+}
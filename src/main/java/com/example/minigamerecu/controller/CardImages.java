@@ -0,0 +1,235 @@
+package com.example.minigamerecu.controller;
+
+import com.example.minigamerecu.assets.AssetBundle;
+import com.example.minigamerecu.assets.Assets;
+import com.example.minigamerecu.cardpack.CardPack;
+import com.example.minigamerecu.cardpack.LruCache;
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Imágenes de las cartas cargadas desde un {@link CardPack}.
+ * El paquete se indica con {@code -Dminigame.cardPack=<directorio, zip o .mgab>}, o con
+ * {@code bundle:<prefijo>} para uno guardado en el paquete de recursos de {@link Assets}; sin él,
+ * o si no tiene caras suficientes para el tablero, las cartas muestran emojis.
+ * <p>
+ * Cada cara se decodifica la primera vez que se pide, ya al tamaño de la carta, en un hilo de
+ * fondo, y queda en una {@link LruCache} acotada por bytes decodificados
+ * ({@code -Dminigame.cardPack.cacheMb}, 32 MB por defecto), así que un paquete con cientos de
+ * caras nunca está completo en memoria. El reverso es una sola imagen compartida por todas las
+ * cartas y no ocupa lugar en la caché.
+ * <p>
+ * Los pedidos y las respuestas se hacen en el hilo de JavaFX.
+ */
+final class CardImages {
+
+    private static final String PACK_PROPERTY = "minigame.cardPack";
+    private static final String CACHE_PROPERTY = "minigame.cardPack.cacheMb";
+    private static final int DEFAULT_CACHE_MB = 32;
+    private static final String BUNDLE_SCHEME = "bundle:";
+    private static final int BACK = -1;
+
+    private static volatile CardImages instance;
+
+    private static final ExecutorService DECODER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "card-decode");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final CardPack pack;
+    private final LruCache<Long, Image> faces;
+    private final Map<Long, List<Consumer<Image>>> pending = new HashMap<>();
+    private Image back;
+
+    private CardImages(CardPack pack, long cacheBytes) {
+        this.pack = pack;
+        this.faces = new LruCache<>(cacheBytes, CardImages::weigh);
+    }
+
+    /**
+     * Obtiene la instancia única, abriendo el paquete indicado la primera vez.
+     * Implementa doble verificación para garantizar thread-safety.
+     *
+     * @return La instancia única de CardImages
+     */
+    static CardImages getInstance() {
+        if (instance == null) {
+            synchronized (CardImages.class) {
+                if (instance == null) {
+                    instance = new CardImages(openPack(),
+                        Long.getLong(CACHE_PROPERTY, DEFAULT_CACHE_MB) * 1024 * 1024);
+                }
+            }
+        }
+        return instance;
+    }
+
+    private static CardPack openPack() {
+        String path = System.getProperty(PACK_PROPERTY, "");
+        if (path.isEmpty()) {
+            return null;
+        }
+        if (path.startsWith(BUNDLE_SCHEME)) {
+            AssetBundle bundle = Assets.getInstance().getBundle();
+            if (bundle == null) {
+                System.err.println("No hay paquete de recursos para el paquete de cartas " + path);
+                return null;
+            }
+            return CardPack.open(bundle, path.substring(BUNDLE_SCHEME.length()));
+        }
+        try {
+            return CardPack.open(Path.of(path));
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Verifica si hay un paquete de cartas abierto.
+     *
+     * @return true si hay un paquete
+     */
+    boolean isEnabled() {
+        return pack != null;
+    }
+
+    /**
+     * Verifica si el paquete tiene caras suficientes para un tablero.
+     *
+     * @param totalPairs Los pares del tablero
+     * @return true si cada par puede tener su propia cara
+     */
+    boolean covers(int totalPairs) {
+        return pack != null && pack.getFaceCount() >= totalPairs;
+    }
+
+    /**
+     * Verifica si el paquete incluye una imagen para el reverso.
+     *
+     * @return true si hay reverso
+     */
+    boolean hasBack() {
+        return pack != null && pack.hasBack();
+    }
+
+    /**
+     * Elige la cara de un par. Con más caras que pares, la semilla del tablero decide desde qué
+     * cara se empieza, de modo que las partidas recorren todo el paquete.
+     *
+     * @param pairId El identificador del par
+     * @param boardSeed La semilla del tablero
+     * @return La cara del paquete, desde 0
+     */
+    int faceFor(int pairId, long boardSeed) {
+        return (Math.floorMod(boardSeed, pack.getFaceCount()) + pairId) % pack.getFaceCount();
+    }
+
+    /**
+     * Pide una cara al tamaño indicado. Si ya está decodificada responde en el momento; si no,
+     * la decodifica en segundo plano (una sola vez aunque se pida varias) y responde al terminar.
+     * Si la imagen no se puede leer, no responde y la carta sigue mostrando su emoji.
+     *
+     * @param face La cara, desde 0
+     * @param size El lado en píxeles
+     * @param onReady La acción que recibe la imagen
+     */
+    void requestFace(int face, int size, Consumer<Image> onReady) {
+        Image cached = faces.get(key(face, size));
+        if (cached != null) {
+            onReady.accept(cached);
+        } else {
+            decode(face, size, onReady);
+        }
+    }
+
+    /**
+     * Pide la imagen del reverso al tamaño indicado. Solo se guarda el reverso del último tamaño.
+     *
+     * @param size El lado en píxeles
+     * @param onReady La acción que recibe la imagen
+     */
+    void requestBack(int size, Consumer<Image> onReady) {
+        if (back != null && back.getRequestedWidth() == size) {
+            onReady.accept(back);
+        } else {
+            decode(BACK, size, onReady);
+        }
+    }
+
+    /**
+     * Empieza a decodificar una cara que probablemente se va a mostrar pronto.
+     *
+     * @param face La cara, desde 0
+     * @param size El lado en píxeles
+     */
+    void prefetch(int face, int size) {
+        requestFace(face, size, image -> {
+        });
+    }
+
+    private void decode(int face, int size, Consumer<Image> onReady) {
+        long key = key(face, size);
+        List<Consumer<Image>> waiting = pending.get(key);
+        if (waiting != null) {
+            waiting.add(onReady);
+            return;
+        }
+        waiting = new ArrayList<>();
+        waiting.add(onReady);
+        pending.put(key, waiting);
+        CompletableFuture.supplyAsync(() -> read(face, size), DECODER)
+            .whenComplete((image, error) -> Platform.runLater(() -> deliver(face, key, image, error)));
+    }
+
+    private Image read(int face, int size) {
+        try (InputStream in = face == BACK ? pack.openBack() : pack.openFace(face)) {
+            Image image = new Image(in, size, size, true, true);
+            if (image.isError()) {
+                throw new IOException("No se pudo decodificar la carta " + face + " de " + pack.getName(),
+                    image.getException());
+            }
+            return image;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void deliver(int face, long key, Image image, Throwable error) {
+        List<Consumer<Image>> waiting = pending.remove(key);
+        if (error != null) {
+            error.printStackTrace();
+            return;
+        }
+        if (face == BACK) {
+            back = image;
+        } else {
+            faces.put(key, image);
+        }
+        for (Consumer<Image> onReady : waiting) {
+            onReady.accept(image);
+        }
+    }
+
+    private static long key(int face, int size) {
+        return (long) face << 32 | size;
+    }
+
+    private static long weigh(Image image) {
+        return (long) image.getWidth() * (long) image.getHeight() * 4;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.minigamerecu.controller;
+
+import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+
+/**
+ * Ejecuta trabajo no esencial después del primer frame de una escena.
+ * La acción se encola con {@link Platform#runLater(Runnable)} desde el primer pulso de la escena,
+ * así que corre cuando ese pulso ya entregó el frame para pintarse.
+ */
+public final class FirstFrame {
+
+    private FirstFrame() {
+    }
+
+    /**
+     * Ejecuta una acción después del primer frame de la escena que muestre el nodo. Si el nodo
+     * todavía no pertenece a una escena, espera a que se agregue a una.
+     *
+     * @param node El nodo de la escena
+     * @param action La acción a ejecutar en el hilo de JavaFX
+     */
+    public static void afterFirstFrame(Node node, Runnable action) {
+        if (node.getScene() != null) {
+            afterFirstFrame(node.getScene(), action);
+            return;
+        }
+        node.sceneProperty().addListener(new ChangeListener<Scene>() {
+            @Override
+            public void changed(ObservableValue<? extends Scene> obs, Scene oldScene, Scene newScene) {
+                if (newScene != null) {
+                    obs.removeListener(this);
+                    afterFirstFrame(newScene, action);
+                }
+            }
+        });
+    }
+
+    /**
+     * Ejecuta una acción después del primer frame de una escena.
+     *
+     * @param scene La escena
+     * @param action La acción a ejecutar en el hilo de JavaFX
+     */
+    public static void afterFirstFrame(Scene scene, Runnable action) {
+        scene.addPostLayoutPulseListener(new Runnable() {
+            private boolean scheduled;
+
+            @Override
+            public void run() {
+                if (scheduled) {
+                    return;
+                }
+                scheduled = true;
+                Runnable listener = this;
+                Platform.runLater(() -> {
+                    scene.removePostLayoutPulseListener(listener);
+                    action.run();
+                });
+            }
+        });
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.minigamerecu.controller;
+
+/**
+ * Receptor de los frames medidos por el {@link FrameTimeMonitor}.
+ * Permite que varios componentes compartan un único {@code AnimationTimer}.
+ */
+interface FrameListener {
+
+    /**
+     * Se invoca una vez por frame en el hilo de JavaFX.
+     *
+     * @param now El instante del frame, en nanosegundos (misma base que {@link System#nanoTime()})
+     * @param frameNanos La duración del último frame
+     * @param pulseNanos La duración del último pulso
+     */
+    void onFrame(long now, long frameNanos, long pulseNanos);
+}
@@ -0,0 +1,132 @@
+package com.example.minigamerecu.controller;
+
+import com.example.minigamerecu.metrics.CounterMetric;
+import com.example.minigamerecu.metrics.LatencyMetric;
+import com.example.minigamerecu.metrics.MetricsRegistry;
+import javafx.animation.AnimationTimer;
+import javafx.scene.Scene;
+
+import java.util.Arrays;
+
+/**
+ * Mide la duración de los frames y de los pulsos de JavaFX de una escena.
+ * El tiempo entre frames se obtiene de un {@link AnimationTimer}; la duración del pulso
+ * (CSS y layout) con los listeners de pre y post layout de la escena. Los listeners se crean
+ * una sola vez, así que medir cada frame no reserva memoria.
+ */
+class FrameTimeMonitor {
+
+    private final MetricsRegistry metrics = MetricsRegistry.getInstance();
+    private final Runnable preLayoutListener = this::onPreLayout;
+    private final Runnable postLayoutListener = this::onPostLayout;
+    private final AnimationTimer frameTimer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            onFrame(now);
+        }
+    };
+
+    private Scene scene;
+    private FrameListener[] frameListeners = new FrameListener[0];
+    private long lastFrameNanos;
+    private long pulseStartNanos;
+    private long lastFrameDurationNanos;
+    private long lastPulseDurationNanos;
+
+    /**
+     * Agrega un receptor que se notifica en cada frame medido.
+     *
+     * @param listener El receptor a agregar
+     */
+    void addFrameListener(FrameListener listener) {
+        FrameListener[] listeners = Arrays.copyOf(frameListeners, frameListeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+        frameListeners = listeners;
+    }
+
+    /**
+     * Empieza a medir la escena indicada, dejando de medir la anterior si la había.
+     *
+     * @param newScene La escena a medir
+     */
+    void attach(Scene newScene) {
+        detach();
+        scene = newScene;
+        scene.addPreLayoutPulseListener(preLayoutListener);
+        scene.addPostLayoutPulseListener(postLayoutListener);
+        lastFrameNanos = 0;
+        frameTimer.start();
+    }
+
+    /**
+     * Detiene temporalmente el {@link AnimationTimer}, para que JavaFX deje de generar pulsos
+     * continuos mientras la ventana está en segundo plano.
+     */
+    void pause() {
+        frameTimer.stop();
+    }
+
+    /**
+     * Reanuda la medición tras {@link #pause()}. El primer frame no se mide, para no contar
+     * el tiempo en pausa como un frame lento.
+     */
+    void resume() {
+        if (scene != null) {
+            lastFrameNanos = 0;
+            frameTimer.start();
+        }
+    }
+
+    /**
+     * Deja de medir la escena actual.
+     */
+    void detach() {
+        frameTimer.stop();
+        if (scene != null) {
+            scene.removePreLayoutPulseListener(preLayoutListener);
+            scene.removePostLayoutPulseListener(postLayoutListener);
+            scene = null;
+        }
+    }
+
+    private void onFrame(long now) {
+        if (lastFrameNanos != 0) {
+            lastFrameDurationNanos = now - lastFrameNanos;
+            metrics.record(LatencyMetric.FRAME_TIME, lastFrameDurationNanos);
+        }
+        lastFrameNanos = now;
+        metrics.increment(CounterMetric.FRAMES);
+        for (FrameListener listener : frameListeners) {
+            listener.onFrame(now, lastFrameDurationNanos, lastPulseDurationNanos);
+        }
+    }
+
+    private void onPreLayout() {
+        pulseStartNanos = System.nanoTime();
+    }
+
+    private void onPostLayout() {
+        if (pulseStartNanos != 0) {
+            lastPulseDurationNanos = System.nanoTime() - pulseStartNanos;
+            metrics.record(LatencyMetric.FX_PULSE, lastPulseDurationNanos);
+        }
+    }
+
+    /**
+     * Obtiene la duración del último frame medido.
+     *
+     * @return La duración en nanosegundos
+     */
+    long getLastFrameDurationNanos() {
+        return lastFrameDurationNanos;
+    }
+
+    /**
+     * Obtiene la duración del último pulso medido.
+     *
+     * @return La duración en nanosegundos
+     */
+    long getLastPulseDurationNanos() {
+        return lastPulseDurationNanos;
+    }
+}
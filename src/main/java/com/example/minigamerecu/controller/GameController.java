@@ -2,14 +2,17 @@ package com.example.minigamerecu.controller;
 
 import javafx.animation.*;
 import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
-import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
-import javafx.scene.control.ButtonType;
 import javafx.scene.control.Label;
+import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.VBox;
@@ -20,8 +23,27 @@ import javafx.scene.text.Text;
 import javafx.scene.text.TextAlignment;
 import javafx.stage.Stage;
 import javafx.util.Duration;
+import com.example.minigamerecu.analytics.GameHistoryWriter;
+import com.example.minigamerecu.analytics.GameRecord;
+import com.example.minigamerecu.engine.HeadlessGame;
+import com.example.minigamerecu.jfr.BoardBuildEvent;
+import com.example.minigamerecu.jfr.CardFlipEvent;
+import com.example.minigamerecu.jfr.GameEndEvent;
+import com.example.minigamerecu.jfr.GameStartEvent;
+import com.example.minigamerecu.jfr.HintEvent;
+import com.example.minigamerecu.jfr.MatchCheckEvent;
+import com.example.minigamerecu.jfr.SceneNavigationEvent;
 import com.example.minigamerecu.model.Card;
+import com.example.minigamerecu.manager.GameCheckpoint;
+import com.example.minigamerecu.manager.GameClock;
 import com.example.minigamerecu.manager.GameManager;
+import com.example.minigamerecu.manager.GameStateListener;
+import com.example.minigamerecu.metrics.CellMetric;
+import com.example.minigamerecu.metrics.CounterMetric;
+import com.example.minigamerecu.metrics.LatencyMetric;
+import com.example.minigamerecu.metrics.MetricsRegistry;
+import com.example.minigamerecu.spectator.GameBroadcaster;
+import com.example.minigamerecu.spectator.SpectatorHub;
 
 import java.io.IOException;
 import java.util.*;
@@ -33,7 +55,23 @@ import java.util.*;
  */
 public class GameController {
 
+    /** Espera desde el último cambio de tamaño de las cartas hasta volver a decodificar sus imágenes. */
+    private static final Duration IMAGE_RELOAD_DELAY = Duration.millis(250);
+
     private final GameManager gameManager = GameManager.getInstance();
+    private final MetricsRegistry metrics = MetricsRegistry.getInstance();
+    private final FrameTimeMonitor frameTimeMonitor = new FrameTimeMonitor();
+    private final AnimationTracker animations = new AnimationTracker();
+    private final javafx.event.EventHandler<KeyEvent> overlayToggleHandler = this::onOverlayToggleKey;
+    private PerformanceOverlay performanceOverlay;
+    private final HeatmapOverlay heatmapOverlay = new HeatmapOverlay(metrics.getHeatmap());
+    private final GameBroadcaster broadcaster = SpectatorHub.getInstance().open(SpectatorHub.LOCAL_GAME);
+    private final FrameListener clockListener = this::onClockFrame;
+    private final ChangeListener<Boolean> windowActivityListener = (obs, oldValue, newValue) -> updateIdleMode();
+    private final ChangeListener<javafx.stage.Window> windowListener = this::onWindowChanged;
+    private final boolean pauseOnFocusLoss =
+        Boolean.parseBoolean(System.getProperty("minigame.pauseOnFocusLoss", "true"));
+    private Stage stage;
 
     @FXML
     private GridPane board;
@@ -44,6 +82,12 @@ public class GameController {
     @FXML
     private Label pairsLabel;
 
+    @FXML
+    private VBox timeBox;
+
+    @FXML
+    private Label timeLabel;
+
     @FXML
     private VBox victoryContainer;
 
@@ -80,42 +124,115 @@ public class GameController {
     @FXML
     private ImageView backgroundImage;
 
+    @FXML
+    private Label performanceLabel;
+
+    @FXML
+    private javafx.scene.layout.StackPane dialogOverlay;
+
+    @FXML
+    private Label dialogTitle;
+
+    @FXML
+    private Label dialogHeader;
+
+    @FXML
+    private Label dialogContent;
+
+    @FXML
+    private Button dialogRestartButton;
+
+    @FXML
+    private Button dialogMenuButton;
+
+    @FXML
+    private Button dialogCloseButton;
+
     private List<Card> cards = new ArrayList<>();
     private Map<Button, Card> cardMap = new HashMap<>();
     private Map<Button, Integer> buttonIndexMap = new HashMap<>();
     private Map<Button, Text> buttonTextMap = new HashMap<>();
     private Map<Button, javafx.scene.layout.StackPane> buttonPaneMap = new HashMap<>();
+    private Map<Button, ImageView> buttonImageMap = new HashMap<>();
     private List<Button> flippedButtons = new ArrayList<>();
+    private List<Button> buttonsByIndex = new ArrayList<>();
+    private final ArrayDeque<Integer> inputQueue = new ArrayDeque<>();
+    private Animation pendingCheck;
+    private Animation pendingFlipBack;
+    private Animation pendingHintEnd;
+    private Runnable flipBackAction;
+    private boolean drainingInput;
     private Set<Integer> matchedIndices = new HashSet<>();
     private List<Circle> stars = new ArrayList<>();
+    private long gameStartNanos;
+    private final StringBuilder dialogText = new StringBuilder(256);
+    private final StringBuilder dialogHeaderText = new StringBuilder(64);
+    private final GameStateListener stateListener = manager -> requestStateRefresh();
+    private final Runnable stateRefresh = this::refreshState;
+    private boolean stateDirty = true;
+    private final InvalidationListener sceneSizeListener = obs -> requestLayoutRefresh();
+    private boolean layoutDirty;
+    private int cardSize;
+    private Animation imageReload;
+    private int shownMoves = -1;
+    private int shownPairs = -1;
+    private int shownTotalPairs = -1;
+    private int shownHintsRemaining = -1;
+    private int shownHintState = -1;
+    private long shownTimeTenths = -1;
+    private String instructionsText;
+    private GameManager.Difficulty instructionsDifficulty;
+    private GameManager.Difficulty preparedDifficulty;
+    private long preparedSeed;
+    private final Map<Integer, Font> emojiFonts = new HashMap<>();
+    private boolean decorated;
+    private final CardImages cardImages = CardImages.getInstance();
+    private boolean imageCards;
+    private int imageSize;
+    private Image backImage;
 
     /**
-     * Calcula el tamaño de las cartas según la dificultad actual.
+     * Calcula el tamaño de las cartas que entran en la ventana del juego. Antes de que el tablero
+     * se muestre en una escena, usa el tamaño con el que se abre la ventana.
      * 
-     * @return El tamaño en píxeles de las cartas (80 para tablero 4x4, 60 para 6x6)
+     * @param gridSize El tamaño del tablero
+     * @return El tamaño en píxeles de las cartas
      */
-    private int getCardSize() {
-        int gridSize = gameManager.getGridSize();
-        return gridSize == 4 ? 80 : 60;
+    private int computeCardSize(int gridSize) {
+        Scene scene = board.getScene();
+        if (scene == null || scene.getWidth() <= 0 || scene.getHeight() <= 0) {
+            return BoardLayout.defaultCardSize(gridSize);
+        }
+        return BoardLayout.cardSize(gridSize, scene.getWidth(), scene.getHeight());
     }
     
     /**
-     * Calcula el tamaño de fuente para los emojis según la dificultad actual.
+     * Obtiene el tamaño de fuente para los emojis según el tamaño actual de las cartas.
      * 
-     * @return El tamaño de fuente en píxeles (36 para tablero 4x4, 28 para 6x6)
+     * @return El tamaño de fuente en píxeles
      */
     private int getFontSize() {
-        int gridSize = gameManager.getGridSize();
-        return gridSize == 4 ? 36 : 28;
+        return BoardLayout.fontSize(cardSize);
     }
     
     /**
-     * Obtiene una fuente compatible con emojis, probando múltiples fuentes disponibles.
+     * Obtiene una fuente compatible con emojis. La fuente se resuelve una sola vez por tamaño y
+     * se guarda, así que volver a un tamaño de carta ya usado al redimensionar no crea fuentes.
      * 
      * @param size El tamaño de la fuente
      * @return Una fuente compatible con emojis o la fuente del sistema por defecto
      */
-    private Font getEmojiFont(double size) {
+    private Font getEmojiFont(int size) {
+        return emojiFonts.computeIfAbsent(size, GameController::resolveEmojiFont);
+    }
+
+    /**
+     * Busca una fuente compatible con emojis, probando múltiples fuentes disponibles.
+     * 
+     * @param size El tamaño de la fuente
+     * @return Una fuente compatible con emojis o la fuente del sistema por defecto
+     */
+    private static Font resolveEmojiFont(double size) {
         String[] emojiFonts = {
             "Segoe UI Emoji",
             "Apple Color Emoji",
@@ -139,22 +256,90 @@ public class GameController {
 
     /**
      * Inicializa el controlador y configura todos los componentes de la interfaz.
-     * Se ejecuta automáticamente cuando se carga el FXML.
+     * Se ejecuta automáticamente cuando se carga el FXML, que puede ocurrir en segundo plano
+     * mientras se muestra la pantalla de inicio; por eso solo crea nodos y deja las animaciones
+     * en espera. La partida empieza con {@link #start()}.
      */
     @FXML
     public void initialize() {
+        animations.pauseAll();
         setupBackgroundImage();
+        setupPerformanceOverlay();
+        setupFrameTimeMonitor();
+    }
+
+    /**
+     * Empieza la partida y las animaciones de la pantalla. Se llama en el hilo de JavaFX justo
+     * antes de mostrar la escena.
+     */
+    void start() {
+        gameManager.addStateListener(stateListener);
+        animations.resumeAll();
+        initializeGame();
+        FirstFrame.afterFirstFrame(board, this::decorate);
+    }
+
+    /**
+     * Agrega lo que no hace falta para jugar: estrellas, animación del título y efectos al pasar
+     * el mouse sobre las cartas. Se ejecuta después del primer frame de la pantalla de juego para
+     * no retrasarlo.
+     */
+    private void decorate() {
+        if (decorated) {
+            return;
+        }
+        decorated = true;
         createStars();
         animateTitle();
-        initializeGame();
-        updateHintButton();
+        for (int i = 0; i < buttonsByIndex.size(); i++) {
+            installHover(buttonsByIndex.get(i), i);
+        }
+    }
+
+    /**
+     * Resalta una carta boca abajo mientras el mouse está sobre ella.
+     * 
+     * @param btn El botón de la carta
+     * @param cardIndex La posición de la carta
+     */
+    private void installHover(Button btn, int cardIndex) {
+        btn.setOnMouseEntered(e -> {
+            if (!matchedIndices.contains(cardIndex) && !flippedButtons.contains(btn) && !gameManager.isProcessing()) {
+                btn.setStyle(getCardStyle(cardIndex, false, false, true));
+            }
+        });
+        
+        btn.setOnMouseExited(e -> {
+            if (!matchedIndices.contains(cardIndex) && !flippedButtons.contains(btn) && !gameManager.isProcessing()) {
+                btn.setStyle(getCardStyle(cardIndex, false, false, false));
+            }
+        });
+    }
+
+    /**
+     * Baraja y dibuja de antemano el tablero de una dificultad. Puede llamarse desde un hilo en
+     * segundo plano mientras la escena todavía no se muestra; si al llamar a {@link #start()} la
+     * dificultad sigue siendo la misma, la partida usa este tablero y sus nodos.
+     * 
+     * @param difficulty La dificultad del tablero
+     * @param seed La semilla con la que se baraja el tablero
+     */
+    void prepareBoard(GameManager.Difficulty difficulty, long seed) {
+        cards.clear();
+        cards.addAll(dealCards(difficulty, seed));
+        if (buttonsByIndex.size() != cards.size()) {
+            drawBoard(difficulty.getGridSize());
+        }
+        preparedDifficulty = difficulty;
+        preparedSeed = seed;
     }
 
     /**
-     * Configura la imagen de fondo para que se ajuste al tamaño de la ventana.
+     * Carga la imagen de fondo con {@link AssetImages} y la ajusta al tamaño de la ventana.
      */
     private void setupBackgroundImage() {
         if (backgroundImage != null) {
+            backgroundImage.setImage(AssetImages.load("fondo.jpg"));
             Scene scene = backgroundImage.getScene();
             if (scene != null) {
                 backgroundImage.fitWidthProperty().bind(scene.widthProperty());
@@ -170,6 +355,167 @@ public class GameController {
         }
     }
 
+    /**
+     * Prepara el panel de rendimiento. Se muestra y oculta con F3, o se muestra desde el inicio
+     * con la propiedad del sistema {@code minigame.overlay=true}.
+     */
+    private void setupPerformanceOverlay() {
+        if (performanceLabel == null) {
+            return;
+        }
+        performanceOverlay = new PerformanceOverlay(performanceLabel, animations);
+        performanceOverlay.setVisible(Boolean.getBoolean("minigame.overlay"));
+        frameTimeMonitor.addFrameListener(performanceOverlay);
+    }
+
+    /**
+     * Empieza a medir los frames y pulsos de la escena del juego en cuanto el tablero se agrega a ella.
+     */
+    private void setupFrameTimeMonitor() {
+        frameTimeMonitor.addFrameListener(clockListener);
+        if (board.getScene() != null) {
+            attachToScene(board.getScene());
+        }
+        board.sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (oldScene != null) {
+                oldScene.removeEventFilter(KeyEvent.KEY_PRESSED, overlayToggleHandler);
+                oldScene.removePreLayoutPulseListener(stateRefresh);
+                oldScene.widthProperty().removeListener(sceneSizeListener);
+                oldScene.heightProperty().removeListener(sceneSizeListener);
+                oldScene.windowProperty().removeListener(windowListener);
+                onWindowChanged(null, stage, null);
+            }
+            if (newScene != null) {
+                attachToScene(newScene);
+            } else {
+                frameTimeMonitor.detach();
+            }
+        });
+    }
+
+    /**
+     * Conecta el monitor de frames y el atajo del panel de rendimiento a la escena.
+     * 
+     * @param scene La escena del juego
+     */
+    private void attachToScene(Scene scene) {
+        frameTimeMonitor.attach(scene);
+        scene.addEventFilter(KeyEvent.KEY_PRESSED, overlayToggleHandler);
+        scene.addPreLayoutPulseListener(stateRefresh);
+        scene.widthProperty().addListener(sceneSizeListener);
+        scene.heightProperty().addListener(sceneSizeListener);
+        requestLayoutRefresh();
+        scene.windowProperty().addListener(windowListener);
+        onWindowChanged(null, null, scene.getWindow());
+    }
+
+    /**
+     * Escucha la ventana que muestra la escena para entrar en modo inactivo cuando se minimiza
+     * o pierde el foco.
+     * 
+     * @param obs La propiedad observada
+     * @param oldWindow La ventana anterior
+     * @param newWindow La ventana nueva
+     */
+    private void onWindowChanged(ObservableValue<? extends javafx.stage.Window> obs,
+                                 javafx.stage.Window oldWindow, javafx.stage.Window newWindow) {
+        if (stage != null) {
+            stage.iconifiedProperty().removeListener(windowActivityListener);
+            stage.focusedProperty().removeListener(windowActivityListener);
+            stage = null;
+        }
+        if (newWindow instanceof Stage) {
+            stage = (Stage) newWindow;
+            stage.iconifiedProperty().addListener(windowActivityListener);
+            stage.focusedProperty().addListener(windowActivityListener);
+        }
+        updateIdleMode();
+    }
+
+    /**
+     * Pausa todas las animaciones, los retrasos del juego, el reloj de la partida y el monitor de
+     * frames mientras la ventana está minimizada o sin foco, y los reanuda al volver. La pausa por
+     * pérdida de foco se puede desactivar con {@code -Dminigame.pauseOnFocusLoss=false}.
+     */
+    private void updateIdleMode() {
+        boolean idle = stage != null && (stage.isIconified() || (pauseOnFocusLoss && !stage.isFocused()));
+        if (idle && !animations.isPaused()) {
+            animations.pauseAll();
+            gameManager.getClock().pause(System.nanoTime());
+            frameTimeMonitor.pause();
+        } else if (!idle && animations.isPaused()) {
+            animations.resumeAll();
+            gameManager.getClock().resume(System.nanoTime());
+            frameTimeMonitor.resume();
+        }
+    }
+
+    /**
+     * Actualiza la cuenta regresiva del modo contrarreloj en cada frame.
+     * El texto solo cambia cuando cambian las décimas mostradas, y al llegar a cero
+     * la partida termina por tiempo.
+     * 
+     * @param now El instante del frame
+     * @param frameNanos La duración del último frame
+     * @param pulseNanos La duración del último pulso
+     */
+    private void onClockFrame(long now, long frameNanos, long pulseNanos) {
+        if (!gameManager.isTimeAttack() || timeLabel == null) {
+            return;
+        }
+        long remaining = gameManager.getClock().getRemainingNanos(now);
+        long tenths = (remaining + 99_999_999L) / 100_000_000L;
+        if (tenths != shownTimeTenths) {
+            shownTimeTenths = tenths;
+            timeLabel.setText(tenths / 10 + "." + tenths % 10);
+        }
+        if (remaining == 0 && !gameManager.isGameOver()) {
+            onTimeExpired();
+        }
+    }
+
+    /**
+     * Termina la partida cuando se agota el tiempo del modo contrarreloj.
+     * Descarta el movimiento en curso y programa el panel de derrota.
+     */
+    private void onTimeExpired() {
+        gameManager.expireTime();
+        gameManager.saveCheckpoint();
+        cancelPendingMove();
+        gameManager.setProcessing(false);
+        recordGameEnd(false);
+        animations.schedule(Duration.millis(500), this::showTimeUpAlert);
+    }
+
+    /**
+     * Muestra u oculta el panel de rendimiento al presionar F3 y cambia el mapa de calor del
+     * tablero al presionar F4.
+     * 
+     * @param event El evento de teclado
+     */
+    private void onOverlayToggleKey(KeyEvent event) {
+        if (event.getCode() == KeyCode.F3 && performanceOverlay != null) {
+            performanceOverlay.toggle();
+            event.consume();
+        } else if (event.getCode() == KeyCode.F4) {
+            heatmapOverlay.cycle(getCardPanes(), gameManager.getGridSize());
+            event.consume();
+        }
+    }
+
+    /**
+     * Obtiene el panel de cada carta en orden de casilla, para el mapa de calor.
+     * 
+     * @return Los paneles de las cartas
+     */
+    private List<javafx.scene.layout.StackPane> getCardPanes() {
+        List<javafx.scene.layout.StackPane> panes = new ArrayList<>(buttonsByIndex.size());
+        for (Button btn : buttonsByIndex) {
+            panes.add(buttonPaneMap.get(btn));
+        }
+        return panes;
+    }
+
     /**
      * Crea y anima las estrellas decorativas en el fondo.
      */
@@ -194,7 +540,7 @@ public class GameController {
             ft.setAutoReverse(true);
             ft.setCycleCount(Animation.INDEFINITE);
             ft.setDelay(Duration.seconds(random.nextDouble() * 3));
-            ft.play();
+            animations.play(ft);
         }
     }
 
@@ -208,36 +554,86 @@ public class GameController {
             ft.setToValue(1.0);
             ft.setAutoReverse(true);
             ft.setCycleCount(Animation.INDEFINITE);
-            ft.play();
+            animations.play(ft);
         }
     }
 
     /**
      * Inicializa una nueva partida del juego.
-     * Genera las cartas, las baraja y dibuja el tablero.
+     * Genera las cartas, las baraja y dibuja el tablero. Si el tablero ya tiene el mismo número
+     * de cartas (al reiniciar), reutiliza sus nodos en lugar de reconstruirlos.
      * 
      * @throws IllegalStateException Si no hay suficientes símbolos para el número de pares requeridos
      */
     private void initializeGame() {
-        gameManager.startNewGame();
+        long buildStart = System.nanoTime();
+        GameStartEvent startEvent = new GameStartEvent();
+        startEvent.begin();
+        BoardBuildEvent buildEvent = new BoardBuildEvent();
+        buildEvent.begin();
+        GameCheckpoint.Snapshot resumed = gameManager.takeResumeRequest();
+        if (resumed != null) {
+            gameManager.resumeGame(resumed);
+        } else if (preparedDifficulty == gameManager.getCurrentDifficulty()) {
+            gameManager.startNewGame(preparedSeed);
+        } else {
+            gameManager.startNewGame();
+        }
+        preparedDifficulty = null;
+        metrics.increment(CounterMetric.GAMES_STARTED);
         
-        board.getChildren().clear();
         cards.clear();
-        cardMap.clear();
-        buttonIndexMap.clear();
-        buttonTextMap.clear();
-        buttonPaneMap.clear();
         flippedButtons.clear();
         matchedIndices.clear();
+        cancelPendingMove();
         victoryContainer.setVisible(false);
         victoryContainer.setManaged(false);
         particlesContainer.getChildren().clear();
+        boolean timeAttack = gameManager.isTimeAttack();
+        timeBox.setVisible(timeAttack);
+        timeBox.setManaged(timeAttack);
+        shownTimeTenths = -1;
         
-        updateLabels();
-        updateHintButton();
+        cards.addAll(dealCards(gameManager.getCurrentDifficulty(), gameManager.getBoardSeed()));
+        gameManager.initializeCards(cards);
+        broadcaster.newGame(gameManager.getGridSize());
+
+        if (buttonsByIndex.size() == cards.size()) {
+            rebindBoard();
+        } else {
+            drawBoard(gameManager.getGridSize());
+        }
+        loadCardImages();
+        if (resumed != null) {
+            restoreMatchedCards(resumed.getMatchedBits());
+        }
+        gameManager.saveCheckpoint();
+        metrics.recordSince(LatencyMetric.BOARD_BUILD, buildStart);
+        if (buildEvent.shouldCommit()) {
+            buildEvent.difficulty = gameManager.getCurrentDifficulty().name();
+            buildEvent.boardSize = cards.size();
+            buildEvent.commit();
+        }
+
+        gameStartNanos = System.nanoTime();
+        if (startEvent.shouldCommit()) {
+            startEvent.difficulty = gameManager.getCurrentDifficulty().name();
+            startEvent.boardSize = cards.size();
+            startEvent.commit();
+        }
+    }
 
+    /**
+     * Genera las cartas de un tablero barajado con la semilla indicada.
+     * 
+     * @param difficulty La dificultad que define el número de pares
+     * @param seed La semilla del barajado
+     * @return Las cartas en orden de posición
+     * @throws IllegalStateException Si no hay suficientes símbolos para el número de pares requeridos
+     */
+    private static List<Card> dealCards(GameManager.Difficulty difficulty, long seed) {
         String[] ALL_SYMBOLS = GameManager.getSymbols();
-        int totalPairs = gameManager.getTotalPairs();
+        int totalPairs = difficulty.getTotalPairs();
         
         if (totalPairs > ALL_SYMBOLS.length) {
             throw new IllegalStateException("No hay suficientes símbolos para " + totalPairs + " pares. Se necesitan al menos " + totalPairs + " símbolos únicos.");
@@ -253,34 +649,75 @@ public class GameController {
             SYMBOLS[i] = symbol;
         }
         
-        List<Map.Entry<String, Integer>> values = new ArrayList<>();
-        for (int i = 0; i < SYMBOLS.length; i++) {
-            String symbol = SYMBOLS[i];
-            values.add(new AbstractMap.SimpleEntry<>(symbol, i));
-            values.add(new AbstractMap.SimpleEntry<>(symbol, i));
+        int[] layout = HeadlessGame.deal(difficulty, seed);
+        List<Card> dealt = new ArrayList<>(layout.length);
+        for (int pairId : layout) {
+            dealt.add(new Card(pairId, SYMBOLS[pairId]));
         }
+        return dealt;
+    }
 
-        Collections.shuffle(values);
-
-        for (Map.Entry<String, Integer> entry : values) {
-            cards.add(new Card(entry.getValue(), entry.getKey()));
+    /**
+     * Muestra como emparejadas las cartas de una partida reanudada.
+     * 
+     * @param matchedBits Bitmap de las posiciones emparejadas (bit i = carta i)
+     */
+    private void restoreMatchedCards(long matchedBits) {
+        for (int index = 0; index < buttonsByIndex.size(); index++) {
+            if ((matchedBits & (1L << index)) == 0) {
+                continue;
+            }
+            Button btn = buttonsByIndex.get(index);
+            Card card = cardMap.get(btn);
+            card.setFlipped(true);
+            card.setMatched(true);
+            matchedIndices.add(index);
+            broadcaster.cellMatched(index, card.getId());
+            showCardFace(btn, card);
+            btn.setStyle(getCardStyle(index, true, true, false));
         }
-        
-        gameManager.initializeCards(cards);
+    }
 
-        drawBoard();
+    /**
+     * Prepara los nodos existentes del tablero para una partida nueva del mismo tamaño.
+     * Asocia cada botón a su nueva carta y lo deja boca abajo; los botones, paneles, textos y
+     * manejadores de eventos se conservan, porque solo dependen de la posición de la carta.
+     */
+    private void rebindBoard() {
+        String style = getCardStyle(0, false, false, false);
+        for (int index = 0; index < buttonsByIndex.size(); index++) {
+            Button btn = buttonsByIndex.get(index);
+            cardMap.put(btn, cards.get(index));
+            showCardBack(btn);
+            btn.setStyle(style);
+            btn.setMouseTransparent(false);
+            btn.setScaleX(1.0);
+            btn.setScaleY(1.0);
+            btn.setRotate(0);
+        }
     }
 
     /**
      * Dibuja el tablero de juego con todas las cartas.
-     * Crea los botones de las cartas y configura sus eventos.
+     * Descarta los nodos anteriores, crea los botones de las cartas y configura sus eventos.
+     * Solo se usa la primera vez y cuando cambia el tamaño del tablero.
+     * 
+     * @param gridSize El tamaño del tablero (gridSize x gridSize)
      */
-    private void drawBoard() {
+    private void drawBoard(int gridSize) {
+        board.getChildren().clear();
+        cardMap.clear();
+        buttonIndexMap.clear();
+        buttonTextMap.clear();
+        buttonPaneMap.clear();
+        buttonImageMap.clear();
+        buttonsByIndex.clear();
         int index = 0;
-        int GRID_SIZE = gameManager.getGridSize();
+        int GRID_SIZE = gridSize;
         
-        int cardSize = getCardSize();
+        cardSize = computeCardSize(gridSize);
         int fontSize = getFontSize();
+        int imageSide = BoardLayout.imageSize(cardSize);
 
         for (int row = 0; row < GRID_SIZE; row++) {
             for (int col = 0; col < GRID_SIZE; col++) {
@@ -303,6 +740,15 @@ public class GameController {
                 textPane.setPrefSize(cardSize, cardSize);
                 textPane.getChildren().add(contentText);
                 textPane.setAlignment(javafx.geometry.Pos.CENTER);
+                if (cardImages.isEnabled()) {
+                    ImageView imageView = new ImageView();
+                    imageView.setFitWidth(imageSide);
+                    imageView.setFitHeight(imageSide);
+                    imageView.setPreserveRatio(true);
+                    imageView.setVisible(false);
+                    textPane.getChildren().add(imageView);
+                    buttonImageMap.put(btn, imageView);
+                }
                 
                 btn.setGraphic(textPane);
                 btn.setContentDisplay(javafx.scene.control.ContentDisplay.CENTER);
@@ -312,21 +758,13 @@ public class GameController {
                 btn.setMinSize(cardSize, cardSize);
                 btn.setMaxSize(cardSize, cardSize);
                 
-                btn.setOnMouseEntered(e -> {
-                    if (!matchedIndices.contains(cardIndex) && !flippedButtons.contains(btn) && !gameManager.isProcessing()) {
-                        btn.setStyle(getCardStyle(cardIndex, false, false, true));
-                    }
-                });
-                
-                btn.setOnMouseExited(e -> {
-                    if (!matchedIndices.contains(cardIndex) && !flippedButtons.contains(btn) && !gameManager.isProcessing()) {
-                        btn.setStyle(getCardStyle(cardIndex, false, false, false));
-                    }
-                });
-                
+                if (decorated) {
+                    installHover(btn, cardIndex);
+                }
                 btn.setOnAction(e -> handleCardClick(btn, cardIndex));
 
                 board.add(btn, col, row);
+                buttonsByIndex.add(btn);
                 cardMap.put(btn, card);
                 buttonIndexMap.put(btn, cardIndex);
                 buttonTextMap.put(btn, contentText);
@@ -340,20 +778,39 @@ public class GameController {
     /**
      * Maneja el evento de clic en una carta.
      * Voltea la carta y verifica si hay coincidencia cuando se han volteado dos cartas.
+     * Si la dificultad usa cola de entrada, un clic mientras el movimiento anterior espera su
+     * comprobación o su volteo de vuelta lo completa de inmediato, y un clic durante otro
+     * procesamiento (por ejemplo una pista) se encola y se aplica al terminar.
      * 
      * @param btn El botón de la carta que fue clickeada
      * @param index El índice de la carta en la lista
      */
     private void handleCardClick(Button btn, int index) {
+        if (gameManager.getCurrentDifficulty().isInputQueueEnabled() &&
+            !matchedIndices.contains(index) &&
+            !gameManager.isGameOver()) {
+            if (pendingCheck != null || flipBackAction != null) {
+                completePendingMove();
+            } else if (gameManager.isProcessing()) {
+                if (inputQueue.size() < buttonsByIndex.size()) {
+                    inputQueue.add(index);
+                }
+                return;
+            }
+        }
+
         if (gameManager.isProcessing() || 
             flippedButtons.contains(btn) || 
             matchedIndices.contains(index) ||
             flippedButtons.size() >= 2 ||
-            gameManager.isGameWon() ||
-            gameManager.isMaxMovesReached()) {
+            gameManager.isGameOver()) {
             return;
         }
 
+        long clickStart = System.nanoTime();
+        gameManager.getClock().start(clickStart);
+        CardFlipEvent flipEvent = new CardFlipEvent();
+        flipEvent.begin();
         flippedButtons.add(btn);
         Card card = cardMap.get(btn);
         card.setFlipped(true);
@@ -365,41 +822,122 @@ public class GameController {
         st.setToY(1.2);
         st.setAutoReverse(true);
         st.setCycleCount(2);
-        st.play();
+        animations.play(st);
 
-        Text contentText = buttonTextMap.get(btn);
-        if (contentText != null) {
-            int fontSize = getFontSize();
-            contentText.setText(card.getSymbol());
-            contentText.setFont(getEmojiFont(fontSize));
-        }
+        showCardFace(btn, card);
         btn.setStyle(getCardStyle(index, true, false, false));
+        broadcaster.cellFlipped(index, card.getId());
+        int gridSize = gameManager.getGridSize();
+        metrics.recordCell(CellMetric.CLICKS, gridSize, index);
+        if (flippedButtons.size() == 1) {
+            metrics.recordCell(CellMetric.FIRST_CLICKS, gridSize, index);
+        }
+        if (heatmapOverlay.isVisible()) {
+            requestStateRefresh();
+        }
+        metrics.increment(CounterMetric.CARD_FLIPS);
+        metrics.recordSince(LatencyMetric.CLICK_TO_FLIP, clickStart);
+        if (flipEvent.shouldCommit()) {
+            flipEvent.cardIndex = index;
+            flipEvent.boardSize = cards.size();
+            flipEvent.commit();
+        }
 
         if (flippedButtons.size() == 2) {
             gameManager.incrementMoves();
-            updateLabels();
-            updateHintButton();
             gameManager.setProcessing(true);
 
-            Timer timer = new Timer();
-            timer.schedule(new TimerTask() {
-                @Override
-                public void run() {
-                    Platform.runLater(() -> {
-                        checkMatch();
-                        if (gameManager.isMaxMovesReached() && !gameManager.isGameWon()) {
-                            Timer loseTimer = new Timer();
-                            loseTimer.schedule(new TimerTask() {
-                                @Override
-                                public void run() {
-                                    Platform.runLater(() -> showLoseAlert());
-                                }
-                            }, 500);
-                        }
-                    });
+            pendingCheck = animations.schedule(Duration.millis(500), this::completeMove);
+        }
+    }
+
+    /**
+     * Comprueba el movimiento de dos cartas y, si se agotaron los movimientos, programa el panel de derrota.
+     */
+    private void completeMove() {
+        pendingCheck = null;
+        checkMatch();
+        if (gameManager.isMaxMovesReached() && !gameManager.isGameWon()) {
+            gameManager.getClock().stop(System.nanoTime());
+            gameManager.setGameWon(false);
+            recordGameEnd(false);
+            animations.schedule(Duration.millis(500), this::showLoseAlert);
+        }
+    }
+
+    /**
+     * Completa de inmediato el movimiento pendiente: adelanta la comprobación de las dos cartas
+     * y, si no coinciden, las voltea de vuelta sin esperar el retraso.
+     */
+    private void completePendingMove() {
+        if (pendingCheck != null) {
+            pendingCheck.stop();
+            completeMove();
+        }
+        runFlipBack();
+    }
+
+    /**
+     * Voltea hacia abajo la última pareja fallida, si todavía está visible, y aplica los clics encolados.
+     */
+    private void runFlipBack() {
+        if (flipBackAction == null) {
+            return;
+        }
+        Runnable action = flipBackAction;
+        flipBackAction = null;
+        if (pendingFlipBack != null) {
+            pendingFlipBack.stop();
+            pendingFlipBack = null;
+        }
+        action.run();
+        drainInputQueue();
+    }
+
+    /**
+     * Aplica en orden los clics encolados mientras el juego procesaba.
+     * Se detiene si otro procesamiento que no se puede adelantar (una pista) vuelve a empezar.
+     */
+    private void drainInputQueue() {
+        if (drainingInput) {
+            return;
+        }
+        drainingInput = true;
+        try {
+            while (!inputQueue.isEmpty()) {
+                if (gameManager.isProcessing() && pendingCheck == null && flipBackAction == null) {
+                    return;
+                }
+                int index = inputQueue.poll();
+                if (index < buttonsByIndex.size()) {
+                    handleCardClick(buttonsByIndex.get(index), index);
                 }
-            }, 500);
+            }
+        } finally {
+            drainingInput = false;
+        }
+    }
+
+    /**
+     * Cancela el movimiento pendiente, el final de una pista en curso y los clics encolados,
+     * por ejemplo al reiniciar. Así ninguna acción de la partida anterior toca los nodos
+     * reutilizados por la nueva.
+     */
+    private void cancelPendingMove() {
+        if (pendingHintEnd != null) {
+            pendingHintEnd.stop();
+            pendingHintEnd = null;
+        }
+        if (pendingCheck != null) {
+            pendingCheck.stop();
+            pendingCheck = null;
         }
+        if (pendingFlipBack != null) {
+            pendingFlipBack.stop();
+            pendingFlipBack = null;
+        }
+        flipBackAction = null;
+        inputQueue.clear();
     }
 
     /**
@@ -412,6 +950,9 @@ public class GameController {
             return;
         }
 
+        long checkStart = System.nanoTime();
+        MatchCheckEvent matchEvent = new MatchCheckEvent();
+        matchEvent.begin();
         Button firstBtn = flippedButtons.get(0);
         Button secondBtn = flippedButtons.get(1);
         
@@ -423,13 +964,15 @@ public class GameController {
 
         if (firstCard.getId() == secondCard.getId() && 
             firstCard.getSymbol().equals(secondCard.getSymbol())) {
+            metrics.increment(CounterMetric.MATCHES);
             firstCard.setMatched(true);
             secondCard.setMatched(true);
             matchedIndices.add(firstIndex);
             matchedIndices.add(secondIndex);
+            broadcaster.cellMatched(firstIndex, firstCard.getId());
+            broadcaster.cellMatched(secondIndex, secondCard.getId());
+            gameManager.getClock().split(checkStart);
             gameManager.incrementMatchedPairs();
-            updateLabels();
-            updateHintButton();
 
             animateMatchFound(firstBtn);
             animateMatchFound(secondBtn);
@@ -439,36 +982,69 @@ public class GameController {
 
             flippedButtons.clear();
             gameManager.setProcessing(false);
+            drainInputQueue();
 
             if (gameManager.getMatchedPairsCount() == gameManager.getTotalPairs()) {
                 gameManager.setGameWon(true);
+                recordGameEnd(true);
                 createParticles();
                 showVictoryMessage();
-                Timer timer = new Timer();
-                timer.schedule(new TimerTask() {
-                    @Override
-                    public void run() {
-                        Platform.runLater(() -> showWinAlert());
-                    }
-                }, 2000);
+                animations.schedule(Duration.millis(2000), this::showWinAlert);
             }
         } else {
-            Timer timer = new Timer();
-            timer.schedule(new TimerTask() {
-                @Override
-                public void run() {
-                    Platform.runLater(() -> {
-                        resetButton(firstBtn, firstIndex);
-                        resetButton(secondBtn, secondIndex);
-                        
-                        firstCard.setFlipped(false);
-                        secondCard.setFlipped(false);
-                        
-                        flippedButtons.clear();
-                        gameManager.setProcessing(false);
-                    });
-                }
-            }, 1000);
+            metrics.increment(CounterMetric.MISMATCHES);
+            int gridSize = gameManager.getGridSize();
+            metrics.recordCell(CellMetric.MISMATCHES, gridSize, firstIndex);
+            metrics.recordCell(CellMetric.MISMATCHES, gridSize, secondIndex);
+            flipBackAction = () -> {
+                resetButton(firstBtn, firstIndex);
+                resetButton(secondBtn, secondIndex);
+                
+                firstCard.setFlipped(false);
+                secondCard.setFlipped(false);
+                
+                flippedButtons.clear();
+                gameManager.setProcessing(false);
+            };
+            pendingFlipBack = animations.schedule(Duration.millis(1000), this::runFlipBack);
+        }
+        gameManager.saveCheckpoint();
+        metrics.recordSince(LatencyMetric.CHECK_MATCH, checkStart);
+        if (matchEvent.shouldCommit()) {
+            matchEvent.matched = matchedIndices.contains(firstIndex);
+            matchEvent.moves = gameManager.getMoves();
+            matchEvent.boardSize = cards.size();
+            matchEvent.commit();
+        }
+    }
+
+    /**
+     * Emite el evento JFR de fin de partida y, si el historial está activo, agrega la partida a él.
+     * 
+     * @param won true si el jugador ganó la partida
+     */
+    private void recordGameEnd(boolean won) {
+        GameHistoryWriter history = GameHistoryWriter.getInstance();
+        if (history.isOpen()) {
+            long now = System.nanoTime();
+            GameClock clock = gameManager.getClock();
+            int[] matchMoves = new int[gameManager.getMatchMoveCount()];
+            for (int i = 0; i < matchMoves.length; i++) {
+                matchMoves[i] = gameManager.getMatchMove(i);
+            }
+            long firstMatchMillis = clock.getSplitCount() > 0 ? clock.getSplitNanos(0) / 1_000_000L : -1;
+            history.record(new GameRecord(gameManager.getCurrentDifficulty(), won, gameManager.getMoves(),
+                gameManager.getHintsUsed(), clock.getElapsedNanos(now) / 1_000_000L, firstMatchMillis, matchMoves));
+        }
+        GameEndEvent endEvent = new GameEndEvent();
+        if (endEvent.shouldCommit()) {
+            endEvent.won = won;
+            endEvent.difficulty = gameManager.getCurrentDifficulty().name();
+            endEvent.boardSize = cards.size();
+            endEvent.moves = gameManager.getMoves();
+            endEvent.hintsUsed = gameManager.getHintsUsed();
+            endEvent.gameDuration = System.nanoTime() - gameStartNanos;
+            endEvent.commit();
         }
     }
 
@@ -491,7 +1067,7 @@ public class GameController {
         st.setCycleCount(2);
         
         ParallelTransition pt = new ParallelTransition(rt, st);
-        pt.play();
+        animations.play(pt);
     }
 
     /**
@@ -501,13 +1077,104 @@ public class GameController {
      * @param index El índice de la carta
      */
     private void resetButton(Button btn, int index) {
+        broadcaster.cellHidden(index);
+        showCardBack(btn);
+        btn.setStyle(getCardStyle(index, false, false, false));
+    }
+
+    /**
+     * Prepara las imágenes del paquete de cartas para la partida nueva: pide el reverso, que se
+     * aplica a las cartas boca abajo cuando llega, y empieza a decodificar las caras del tablero.
+     * Si no hay paquete o no tiene caras suficientes, las cartas usan emojis.
+     */
+    private void loadCardImages() {
+        imageCards = cardImages.covers(gameManager.getTotalPairs());
+        int size = BoardLayout.imageSize(cardSize);
+        if (size != imageSize) {
+            imageSize = size;
+            backImage = null;
+        }
+        if (!imageCards) {
+            return;
+        }
+        if (cardImages.hasBack()) {
+            cardImages.requestBack(imageSize, this::applyBackImage);
+        }
+        long seed = gameManager.getBoardSeed();
+        for (int pairId = 0; pairId < gameManager.getTotalPairs(); pairId++) {
+            cardImages.prefetch(cardImages.faceFor(pairId, seed), imageSize);
+        }
+    }
+
+    /**
+     * Aplica la imagen del reverso, compartida por todas las cartas, a las que están boca abajo.
+     * 
+     * @param image La imagen del reverso
+     */
+    private void applyBackImage(Image image) {
+        if (image.getRequestedWidth() != imageSize) {
+            return;
+        }
+        backImage = image;
+        for (Button btn : buttonsByIndex) {
+            Card card = cardMap.get(btn);
+            if (card != null && !card.isFlipped()) {
+                showCardBack(btn);
+            }
+        }
+    }
+
+    /**
+     * Muestra la cara de una carta. Con un paquete de cartas, muestra el emoji mientras la imagen
+     * se decodifica y la cambia por la imagen si la carta sigue boca arriba cuando esta llega.
+     * 
+     * @param btn El botón de la carta
+     * @param card La carta
+     */
+    private void showCardFace(Button btn, Card card) {
         Text contentText = buttonTextMap.get(btn);
-        if (contentText != null) {
-            int fontSize = getFontSize();
-            contentText.setText("?");
-            contentText.setFont(getEmojiFont(fontSize));
+        if (contentText == null) {
+            return;
         }
-        btn.setStyle(getCardStyle(index, false, false, false));
+        contentText.setText(card.getSymbol());
+        contentText.setFont(getEmojiFont(getFontSize()));
+        contentText.setVisible(true);
+        ImageView imageView = buttonImageMap.get(btn);
+        if (imageView == null) {
+            return;
+        }
+        imageView.setVisible(false);
+        if (imageCards) {
+            int face = cardImages.faceFor(card.getId(), gameManager.getBoardSeed());
+            cardImages.requestFace(face, imageSize, image -> {
+                if (cardMap.get(btn) == card && card.isFlipped() && image.getRequestedWidth() == imageSize) {
+                    imageView.setImage(image);
+                    imageView.setVisible(true);
+                    contentText.setVisible(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Muestra el reverso de una carta: la imagen del paquete si la hay y ya se decodificó, o "?".
+     * 
+     * @param btn El botón de la carta
+     */
+    private void showCardBack(Button btn) {
+        Text contentText = buttonTextMap.get(btn);
+        if (contentText == null) {
+            return;
+        }
+        ImageView imageView = buttonImageMap.get(btn);
+        boolean useImage = imageCards && backImage != null && imageView != null;
+        if (imageView != null) {
+            imageView.setImage(useImage ? backImage : null);
+            imageView.setVisible(useImage);
+        }
+        contentText.setText("?");
+        contentText.setFont(getEmojiFont(getFontSize()));
+        contentText.setVisible(!useImage);
     }
 
     /**
@@ -569,12 +1236,137 @@ public class GameController {
         return getCardStyle(index, flipped, matched, false);
     }
 
+    /**
+     * Marca el estado mostrado como desactualizado y pide un pulso a JavaFX.
+     * Varias notificaciones del {@link GameManager} en el mismo evento se agrupan en un solo redibujado.
+     */
+    private void requestStateRefresh() {
+        if (!stateDirty) {
+            stateDirty = true;
+            Platform.requestNextPulse();
+        }
+    }
+
+    /**
+     * Marca el tamaño de las cartas como desactualizado cuando cambia el tamaño de la escena y pide
+     * un pulso a JavaFX. Todos los cambios de ancho y alto de un mismo pulso, como los que produce
+     * arrastrar el borde de la ventana, se agrupan en un solo recálculo.
+     */
+    private void requestLayoutRefresh() {
+        if (!layoutDirty) {
+            layoutDirty = true;
+            Platform.requestNextPulse();
+        }
+    }
+
+    /**
+     * Ajusta las cartas al espacio disponible en la escena. Solo toca los nodos si el tamaño
+     * redondeado de las cartas cambió; en ese caso cambia los tamaños de los botones, las fuentes
+     * (ya guardadas por tamaño) y el tamaño con que se muestran las imágenes, que se escalan hasta
+     * que la ventana deja de cambiar y se vuelven a decodificar al tamaño nuevo.
+     */
+    private void relayoutBoard() {
+        if (buttonsByIndex.isEmpty()) {
+            return;
+        }
+        int size = computeCardSize(gameManager.getGridSize());
+        if (size == cardSize) {
+            return;
+        }
+        cardSize = size;
+        Font font = getEmojiFont(getFontSize());
+        int imageSide = BoardLayout.imageSize(cardSize);
+        for (Button btn : buttonsByIndex) {
+            btn.setPrefSize(cardSize, cardSize);
+            btn.setMinSize(cardSize, cardSize);
+            btn.setMaxSize(cardSize, cardSize);
+            buttonPaneMap.get(btn).setPrefSize(cardSize, cardSize);
+            buttonTextMap.get(btn).setFont(font);
+            ImageView imageView = buttonImageMap.get(btn);
+            if (imageView != null) {
+                imageView.setFitWidth(imageSide);
+                imageView.setFitHeight(imageSide);
+            }
+        }
+        if (imageCards) {
+            if (imageReload != null) {
+                imageReload.stop();
+            }
+            imageReload = animations.schedule(IMAGE_RELOAD_DELAY, this::reloadCardImages);
+        }
+    }
+
+    /**
+     * Vuelve a decodificar las imágenes de las cartas al tamaño actual después de redimensionar.
+     * Las cartas boca arriba siguen mostrando la imagen escalada hasta que llega la nueva.
+     */
+    private void reloadCardImages() {
+        imageReload = null;
+        int size = BoardLayout.imageSize(cardSize);
+        if (!imageCards || size == imageSize) {
+            return;
+        }
+        imageSize = size;
+        if (cardImages.hasBack()) {
+            cardImages.requestBack(imageSize, this::applyBackImage);
+        }
+        for (Button btn : buttonsByIndex) {
+            Card card = cardMap.get(btn);
+            ImageView imageView = buttonImageMap.get(btn);
+            if (card == null || imageView == null || !card.isFlipped()) {
+                continue;
+            }
+            int face = cardImages.faceFor(card.getId(), gameManager.getBoardSeed());
+            cardImages.requestFace(face, imageSize, image -> {
+                if (cardMap.get(btn) == card && card.isFlipped() && image.getRequestedWidth() == imageSize) {
+                    imageView.setImage(image);
+                    imageView.setVisible(true);
+                    buttonTextMap.get(btn).setVisible(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Redibuja las etiquetas, el botón de pistas y el mapa de calor si está visible, como máximo
+     * una vez por pulso, y publica para los espectadores los cambios del pulso en un solo lote.
+     * Antes ajusta el tamaño de las cartas si la escena cambió de tamaño.
+     * Se ejecuta antes del layout de cada pulso de la escena.
+     */
+    private void refreshState() {
+        if (layoutDirty) {
+            layoutDirty = false;
+            relayoutBoard();
+        }
+        if (stateDirty) {
+            stateDirty = false;
+            updateLabels();
+            updateHintButton();
+            if (heatmapOverlay.isVisible()) {
+                heatmapOverlay.refresh(getCardPanes(), gameManager.getGridSize());
+            }
+        }
+        broadcaster.counters(gameManager.getMoves(), gameManager.getMatchedPairsCount(), gameManager.getHintsUsed());
+        broadcaster.flush();
+    }
+
     /**
      * Actualiza las etiquetas de movimientos y parejas encontradas en la interfaz.
+     * Solo cambia el texto de las etiquetas cuyos valores cambiaron.
      */
     private void updateLabels() {
-        movesLabel.setText(String.valueOf(gameManager.getMoves()));
-        pairsLabel.setText(gameManager.getMatchedPairsCount() + "/" + gameManager.getTotalPairs());
+        int moves = gameManager.getMoves();
+        if (moves != shownMoves) {
+            shownMoves = moves;
+            movesLabel.setText(String.valueOf(moves));
+        }
+        int pairs = gameManager.getMatchedPairsCount();
+        int totalPairs = gameManager.getTotalPairs();
+        if (pairs != shownPairs || totalPairs != shownTotalPairs) {
+            shownPairs = pairs;
+            shownTotalPairs = totalPairs;
+            pairsLabel.setText(pairs + "/" + totalPairs);
+        }
     }
 
     /**
@@ -615,7 +1407,7 @@ public class GameController {
             ParallelTransition pt = new ParallelTransition(tt, st, ft);
             pt.setDelay(Duration.millis(random.nextInt(2000)));
             pt.setOnFinished(e -> particlesContainer.getChildren().remove(particle));
-            pt.play();
+            animations.play(pt);
         }
     }
 
@@ -633,14 +1425,14 @@ public class GameController {
         st.setFromY(0.8);
         st.setToX(1.0);
         st.setToY(1.0);
-        st.play();
+        animations.play(st);
         
         if (victoryEmoji1 != null) {
             animateWiggle(victoryEmoji1);
         }
         if (victoryEmoji2 != null) {
             Timeline delay = new Timeline(new KeyFrame(Duration.millis(200), e -> animateWiggle(victoryEmoji2)));
-            delay.play();
+            animations.play(delay);
         }
     }
 
@@ -655,78 +1447,150 @@ public class GameController {
         rt.setToAngle(-10);
         rt.setAutoReverse(true);
         rt.setCycleCount(Animation.INDEFINITE);
-        rt.play();
+        animations.play(rt);
     }
 
     /**
-     * Muestra un diálogo de alerta cuando el jugador gana el juego.
-     * Incluye estadísticas y opciones para reiniciar o volver al menú.
+     * Muestra el panel de victoria con estadísticas y opciones para reiniciar o volver al menú.
      */
     private void showWinAlert() {
-        Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
-        alert.setTitle("¡Felicidades!");
-        alert.setHeaderText("¡Has ganado!");
+        dialogText.setLength(0);
+        dialogText.append("Has encontrado todas las parejas en ").append(gameManager.getMoves()).append(" movimientos.");
         
-        int moves = gameManager.getMoves();
-        int bestScore = gameManager.getBestScore();
         int totalGames = gameManager.getTotalGamesPlayed();
-        double winRate = gameManager.getWinRate();
-        
-        String statsText = "";
         if (totalGames > 1) {
-            statsText = String.format(
-                "\n📊 Estadísticas:\n" +
-                "• Mejor puntuación: %d movimientos\n" +
-                "• Partidas jugadas: %d\n" +
-                "• Tasa de victoria: %.1f%%\n",
-                bestScore, totalGames, winRate
-            );
+            dialogText.append("\n\n📊 Estadísticas:\n")
+                .append("• Mejor puntuación: ").append(gameManager.getBestScore()).append(" movimientos\n")
+                .append("• Partidas jugadas: ").append(totalGames).append('\n')
+                .append("• Tasa de victoria: ");
+            appendTenths(Math.round(gameManager.getWinRate() * 10));
+            dialogText.append('%');
         }
-        
-        alert.setContentText("Has encontrado todas las parejas en " + moves + " movimientos." + statsText + "\n¿Qué deseas hacer?");
-        
-        ButtonType restartButton = new ButtonType("Reiniciar");
-        ButtonType menuButton = new ButtonType("Menú Principal");
-        
-        alert.getButtonTypes().setAll(restartButton, menuButton);
-        
-        Optional<ButtonType> result = alert.showAndWait();
-        
-        if (result.isPresent()) {
-            if (result.get() == restartButton) {
-                restartGame();
-            } else if (result.get() == menuButton) {
-                goToStartMenu();
-            }
+        if (gameManager.isTimeAttack()) {
+            dialogText.append("\n\n⏱ Tiempo: ");
+            appendSeconds(gameManager.getClock().getElapsedNanos(System.nanoTime()) / 1_000_000L);
+            dialogText.append(" (mejor: ");
+            appendSeconds(gameManager.getBestTimeMillis(gameManager.getCurrentDifficulty()));
+            dialogText.append(')');
         }
+        dialogText.append("\n\n¿Qué deseas hacer?");
+        
+        showDialog("¡Felicidades!", "¡Has ganado!", dialogText, true);
     }
     
     /**
-     * Muestra un diálogo de alerta cuando el jugador pierde el juego.
-     * Ofrece opciones para reiniciar o volver al menú.
+     * Agrega un tiempo en segundos con una décima al texto del diálogo.
+     * 
+     * @param millis El tiempo en milisegundos
+     */
+    private void appendSeconds(long millis) {
+        appendTenths(millis / 100);
+        dialogText.append(" s");
+    }
+
+    /**
+     * Agrega al texto del diálogo un número en décimas con un decimal, sin pasar por {@code double}.
+     * 
+     * @param tenths El número en décimas
+     */
+    private void appendTenths(long tenths) {
+        dialogText.append(tenths / 10).append('.').append(tenths % 10);
+    }
+
+    /**
+     * Muestra el panel de derrota por tiempo agotado en el modo contrarreloj.
+     */
+    private void showTimeUpAlert() {
+        dialogHeaderText.setLength(0);
+        dialogHeaderText.append("Se acabaron los ").append(gameManager.getCurrentDifficulty().getTimeLimitSeconds())
+            .append(" segundos");
+        dialogText.setLength(0);
+        dialogText.append("Encontraste ").append(gameManager.getMatchedPairsCount()).append(" de ")
+            .append(gameManager.getTotalPairs()).append(" parejas.\n\n¿Qué deseas hacer?");
+        showDialog("¡Se acabó el tiempo!", dialogHeaderText, dialogText, true);
+    }
+
+    /**
+     * Muestra el panel de derrota con opciones para reiniciar o volver al menú.
      */
     private void showLoseAlert() {
-        Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
-        alert.setTitle("¡Se acabaron los movimientos!");
-        alert.setHeaderText("Has alcanzado el límite de 20 movimientos");
-        alert.setContentText("No lograste encontrar todas las parejas en el tiempo límite.\n\n¿Qué deseas hacer?");
-        
-        ButtonType restartButton = new ButtonType("Reiniciar");
-        ButtonType menuButton = new ButtonType("Menú Principal");
-        
-        alert.getButtonTypes().setAll(restartButton, menuButton);
-        
-        Optional<ButtonType> result = alert.showAndWait();
-        
-        if (result.isPresent()) {
-            if (result.get() == restartButton) {
-                restartGame();
-            } else if (result.get() == menuButton) {
-                goToStartMenu();
-            }
+        dialogHeaderText.setLength(0);
+        dialogHeaderText.append("Has alcanzado el límite de ").append(gameManager.getMaxMoves()).append(" movimientos");
+        showDialog("¡Se acabaron los movimientos!", dialogHeaderText,
+            "No lograste encontrar todas las parejas en el tiempo límite.\n\n¿Qué deseas hacer?", true);
+    }
+
+    /**
+     * Muestra el panel de diálogo superpuesto al juego.
+     * El panel está definido en game.fxml y se reutiliza, así que abrirlo solo cambia textos y visibilidad.
+     * Los textos armados en los buffers del diálogo solo se convierten en {@code String} si difieren
+     * de lo que ya muestra la etiqueta, así que reabrir un panel con el mismo contenido no reserva memoria.
+     * 
+     * @param title El título del panel
+     * @param header El encabezado del panel
+     * @param content El texto principal
+     * @param endOfGame true para mostrar las opciones de reiniciar y menú, false para mostrar solo "Cerrar"
+     */
+    private void showDialog(String title, CharSequence header, CharSequence content, boolean endOfGame) {
+        setTextIfChanged(dialogTitle, title);
+        setTextIfChanged(dialogHeader, header);
+        setTextIfChanged(dialogContent, content);
+        dialogRestartButton.setVisible(endOfGame);
+        dialogRestartButton.setManaged(endOfGame);
+        dialogMenuButton.setVisible(endOfGame);
+        dialogMenuButton.setManaged(endOfGame);
+        dialogCloseButton.setVisible(!endOfGame);
+        dialogCloseButton.setManaged(!endOfGame);
+        dialogOverlay.setVisible(true);
+        (endOfGame ? dialogRestartButton : dialogCloseButton).requestFocus();
+    }
+
+    /**
+     * Cambia el texto de una etiqueta solo si el contenido es distinto del que muestra.
+     * 
+     * @param label La etiqueta
+     * @param text El texto nuevo
+     */
+    private static void setTextIfChanged(Label label, CharSequence text) {
+        String current = label.getText();
+        if (current == null || !current.contentEquals(text)) {
+            label.setText(text.toString());
         }
     }
 
+    /**
+     * Oculta el panel de diálogo.
+     */
+    private void hideDialog() {
+        dialogOverlay.setVisible(false);
+    }
+
+    /**
+     * Maneja el botón "Reiniciar" del panel de diálogo.
+     */
+    @FXML
+    private void onDialogRestart() {
+        hideDialog();
+        restartGame();
+    }
+
+    /**
+     * Maneja el botón "Menú Principal" del panel de diálogo.
+     */
+    @FXML
+    private void onDialogMenu() {
+        hideDialog();
+        goToStartMenu();
+    }
+
+    /**
+     * Maneja el botón "Cerrar" del panel de diálogo.
+     */
+    @FXML
+    private void onDialogClose() {
+        hideDialog();
+    }
+
     /**
      * Reinicia el juego actual.
      */
@@ -741,47 +1605,53 @@ public class GameController {
      */
     private void goToStartMenu() {
         try {
+            SceneNavigationEvent navigationEvent = new SceneNavigationEvent();
+            navigationEvent.begin();
+            frameTimeMonitor.detach();
+            animations.stopAll();
+            gameManager.removeStateListener(stateListener);
             Stage stage = (Stage) board.getScene().getWindow();
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/minigamerecu/view/start.fxml"));
-            Scene scene = new Scene(loader.load(), 400, 500);
+            Scene scene = new Scene(AssetViews.load("start.fxml").getRoot(), 400, 500);
             stage.setScene(scene);
             stage.setTitle("Memory Game - Inicio");
             stage.centerOnScreen();
+            if (navigationEvent.shouldCommit()) {
+                navigationEvent.target = "start";
+                navigationEvent.boardSize = cards.size();
+                navigationEvent.commit();
+            }
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
     /**
-     * Muestra un diálogo con las instrucciones del juego.
+     * Muestra el panel con las instrucciones del juego.
+     * El texto se genera una sola vez por dificultad.
      */
     @FXML
     private void showInstructions() {
-        Alert alert = new Alert(Alert.AlertType.INFORMATION);
-        alert.setTitle("Instrucciones del Juego");
-        alert.setHeaderText("🎯 Cómo Jugar");
-        alert.setContentText(
-            "OBJETIVO:\n" +
-            "Encuentra todas las parejas de cartas iguales.\n\n" +
-            "CÓMO JUGAR:\n" +
-            "1. Haz clic en una carta para voltearla.\n" +
-            "2. Haz clic en otra carta para encontrar su pareja.\n" +
-            "3. Si las cartas coinciden, se quedarán visibles.\n" +
-            "4. Si no coinciden, se voltearán de nuevo.\n" +
-            "5. Encuentra todas las parejas para ganar.\n\n" +
-            "CONSEJOS:\n" +
-            "• Memoriza la posición de las cartas.\n" +
-            "• Tienes " + gameManager.getMaxMoves() + " movimientos para completar el juego.\n" +
-            "• Dificultad: " + gameManager.getCurrentDifficulty().getDisplayName() + "\n" +
-            "• Tablero: " + gameManager.getGridSize() + "x" + gameManager.getGridSize() + "\n" +
-            "• Parejas: " + gameManager.getTotalPairs() + "\n" +
-            "• ¡Buena suerte!"
-        );
-        alert.getDialogPane().setStyle(
-            "-fx-background-color: white; " +
-            "-fx-text-fill: black;"
-        );
-        alert.showAndWait();
+        GameManager.Difficulty difficulty = gameManager.getCurrentDifficulty();
+        if (instructionsText == null || instructionsDifficulty != difficulty) {
+            instructionsDifficulty = difficulty;
+            instructionsText =
+                "OBJETIVO:\n" +
+                "Encuentra todas las parejas de cartas iguales.\n\n" +
+                "CÓMO JUGAR:\n" +
+                "1. Haz clic en una carta para voltearla.\n" +
+                "2. Haz clic en otra carta para encontrar su pareja.\n" +
+                "3. Si las cartas coinciden, se quedarán visibles.\n" +
+                "4. Si no coinciden, se voltearán de nuevo.\n" +
+                "5. Encuentra todas las parejas para ganar.\n\n" +
+                "CONSEJOS:\n" +
+                "• Memoriza la posición de las cartas.\n" +
+                "• Tienes " + gameManager.getMaxMoves() + " movimientos para completar el juego.\n" +
+                "• Dificultad: " + difficulty.getDisplayName() + "\n" +
+                "• Tablero: " + gameManager.getGridSize() + "x" + gameManager.getGridSize() + "\n" +
+                "• Parejas: " + gameManager.getTotalPairs() + "\n" +
+                "• ¡Buena suerte!";
+        }
+        showDialog("Instrucciones del Juego", "🎯 Cómo Jugar", instructionsText, false);
     }
 
     /**
@@ -813,6 +1683,8 @@ public class GameController {
         if (!gameManager.canUseHint() || gameManager.isProcessing()) {
             return;
         }
+        HintEvent hintEvent = new HintEvent();
+        hintEvent.begin();
 
         List<Integer> unmatchedIndices = new ArrayList<>();
         for (int i = 0; i < cards.size(); i++) {
@@ -850,6 +1722,8 @@ public class GameController {
         }
 
         gameManager.useHint();
+        gameManager.saveCheckpoint();
+        metrics.increment(CounterMetric.HINTS_USED);
 
         Button firstBtn = null;
         Button secondBtn = null;
@@ -868,13 +1742,13 @@ public class GameController {
         }
 
         gameManager.setProcessing(true);
-        
-        if (hintButton != null) {
-            hintButton.setMouseTransparent(true);
-        }
 
         showHintCards(firstBtn, firstIndex, secondBtn, secondIndex);
-        updateHintButton();
+        if (hintEvent.shouldCommit()) {
+            hintEvent.hintsUsed = gameManager.getHintsUsed();
+            hintEvent.boardSize = cards.size();
+            hintEvent.commit();
+        }
     }
 
     /**
@@ -892,21 +1766,22 @@ public class GameController {
         boolean firstWasFlipped = firstCard.isFlipped();
         boolean secondWasFlipped = secondCard.isFlipped();
 
-        for (Button btn : cardMap.keySet()) {
-            btn.setMouseTransparent(true);
+        if (!gameManager.getCurrentDifficulty().isInputQueueEnabled()) {
+            for (Button btn : cardMap.keySet()) {
+                btn.setMouseTransparent(true);
+            }
         }
 
         firstCard.setFlipped(true);
         secondCard.setFlipped(true);
 
-        Text firstText = buttonTextMap.get(firstBtn);
-        Text secondText = buttonTextMap.get(secondBtn);
-
-        if (firstText != null) {
-            firstText.setText(firstCard.getSymbol());
+        showCardFace(firstBtn, firstCard);
+        showCardFace(secondBtn, secondCard);
+        if (!firstWasFlipped) {
+            broadcaster.cellFlipped(firstIndex, firstCard.getId());
         }
-        if (secondText != null) {
-            secondText.setText(secondCard.getSymbol());
+        if (!secondWasFlipped) {
+            broadcaster.cellFlipped(secondIndex, secondCard.getId());
         }
 
         String hintStyle = "-fx-background-color: linear-gradient(to bottom right, #FFD700, #FFA500); " +
@@ -939,42 +1814,35 @@ public class GameController {
         st2.setCycleCount(2);
 
         ParallelTransition pt = new ParallelTransition(st1, st2);
-        pt.play();
-
-        Timer timer = new Timer();
-        timer.schedule(new TimerTask() {
-            @Override
-            public void run() {
-                Platform.runLater(() -> {
-                    if (!firstWasFlipped) {
-                        firstCard.setFlipped(false);
-                        resetButton(firstBtn, firstIndex);
-                    } else {
-                        firstBtn.setStyle(getCardStyle(firstIndex, true, false, false));
-                    }
+        animations.play(pt);
 
-                    if (!secondWasFlipped) {
-                        secondCard.setFlipped(false);
-                        resetButton(secondBtn, secondIndex);
-                    } else {
-                        secondBtn.setStyle(getCardStyle(secondIndex, true, false, false));
-                    }
+        pendingHintEnd = animations.schedule(Duration.millis(2000), () -> {
+            pendingHintEnd = null;
+            if (!firstWasFlipped) {
+                firstCard.setFlipped(false);
+                resetButton(firstBtn, firstIndex);
+            } else {
+                firstBtn.setStyle(getCardStyle(firstIndex, true, false, false));
+            }
 
-                    for (Button btn : cardMap.keySet()) {
-                        int btnIndex = buttonIndexMap.get(btn);
-                        if (!matchedIndices.contains(btnIndex) && 
-                            !gameManager.isGameWon() && 
-                            !gameManager.isMaxMovesReached()) {
-                            btn.setMouseTransparent(false);
-                        }
-                    }
+            if (!secondWasFlipped) {
+                secondCard.setFlipped(false);
+                resetButton(secondBtn, secondIndex);
+            } else {
+                secondBtn.setStyle(getCardStyle(secondIndex, true, false, false));
+            }
 
-                    gameManager.setProcessing(false);
-                    
-                    updateHintButton();
-                });
+            for (Button btn : cardMap.keySet()) {
+                int btnIndex = buttonIndexMap.get(btn);
+                if (!matchedIndices.contains(btnIndex) && 
+                    !gameManager.isGameOver()) {
+                    btn.setMouseTransparent(false);
+                }
             }
-        }, 2000);
+
+            gameManager.setProcessing(false);
+            drainInputQueue();
+        });
     }
 
     /**
@@ -988,18 +1856,23 @@ public class GameController {
 
         int hintsRemaining = gameManager.getHintsRemaining();
         boolean canUse = gameManager.canUseHint();
+        hintButton.setMouseTransparent(gameManager.isProcessing());
 
-        if (hintLabel != null) {
+        if (hintLabel != null && hintsRemaining != shownHintsRemaining) {
+            shownHintsRemaining = hintsRemaining;
             hintLabel.setText("💡 " + hintsRemaining);
         }
 
+        int hintState = canUse ? 1 : 0;
+        if (hintState == shownHintState) {
+            return;
+        }
+        shownHintState = hintState;
         if (!canUse) {
             hintButton.setDisable(true);
-            hintButton.setMouseTransparent(false);
             hintButton.setStyle("-fx-background-color: rgba(100, 100, 100, 0.6); -fx-text-fill: rgba(255,255,255,0.5); -fx-font-size: 20; -fx-font-weight: bold; -fx-pref-width: 60; -fx-pref-height: 60; -fx-background-radius: 30; -fx-border-color: rgba(150, 150, 150, 0.5); -fx-border-width: 2; -fx-border-radius: 30; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.3), 8, 0, 0, 0);");
         } else {
             hintButton.setDisable(false);
-            hintButton.setMouseTransparent(false);
             hintButton.setStyle("-fx-background-color: rgba(255, 165, 0, 0.85); -fx-text-fill: white; -fx-font-size: 20; -fx-font-weight: bold; -fx-pref-width: 60; -fx-pref-height: 60; -fx-background-radius: 30; -fx-border-color: rgba(255, 215, 0, 0.9); -fx-border-width: 2; -fx-border-radius: 30; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.5), 10, 0, 0, 0);");
         }
     }
@@ -0,0 +1,137 @@
+package com.example.minigamerecu.controller;
+
+import com.example.minigamerecu.manager.GameManager;
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Prepara la pantalla de juego en segundo plano mientras se muestra la pantalla de inicio.
+ * Carga el FXML (con sus imágenes y fuentes) y baraja y dibuja el tablero de la dificultad
+ * resaltada, de modo que al pulsar Iniciar solo queda cambiar la escena. Los nodos todavía no
+ * pertenecen a ninguna escena, así que pueden crearse fuera del hilo de JavaFX.
+ * <p>
+ * Todo el trabajo corre en un único hilo, en el orden en que se pidió: al cambiar de dificultad
+ * solo se vuelve a preparar el tablero, y {@link #take()} espera al último pedido.
+ */
+class GameScenePreloader {
+
+    private static final String GAME_FXML = "game.fxml";
+
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "game-preload");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Pantalla de juego cargada y su controlador.
+     */
+    static final class Prepared {
+
+        private final Parent root;
+        private final GameController controller;
+
+        /**
+         * Constructor de la clase Prepared.
+         *
+         * @param root El nodo raíz de la pantalla
+         * @param controller El controlador de la pantalla
+         */
+        Prepared(Parent root, GameController controller) {
+            this.root = root;
+            this.controller = controller;
+        }
+
+        /**
+         * Obtiene el nodo raíz de la pantalla.
+         *
+         * @return El nodo raíz
+         */
+        Parent getRoot() {
+            return root;
+        }
+
+        /**
+         * Obtiene el controlador de la pantalla.
+         *
+         * @return El controlador
+         */
+        GameController getController() {
+            return controller;
+        }
+    }
+
+    private CompletableFuture<Prepared> pending;
+
+    /**
+     * Pide preparar la pantalla con un tablero de la dificultad indicada.
+     * La primera llamada carga el FXML; las siguientes solo vuelven a barajar el tablero.
+     *
+     * @param difficulty La dificultad resaltada en la pantalla de inicio
+     */
+    void prepare(GameManager.Difficulty difficulty) {
+        long seed = ThreadLocalRandom.current().nextLong();
+        CompletableFuture<Prepared> loaded = pending == null
+            ? CompletableFuture.supplyAsync(GameScenePreloader::load, EXECUTOR)
+            : pending;
+        pending = loaded.thenApplyAsync(prepared -> {
+            prepared.getController().prepareBoard(difficulty, seed);
+            return prepared;
+        }, EXECUTOR);
+    }
+
+    /**
+     * Ejecuta una acción en el hilo de JavaFX cuando termine el último pedido, haya fallado o no.
+     * No hace nada si no hay ningún pedido pendiente.
+     *
+     * @param action La acción a ejecutar
+     */
+    void whenReady(Runnable action) {
+        if (pending != null) {
+            pending.whenComplete((prepared, error) -> Platform.runLater(action));
+        }
+    }
+
+    /**
+     * Obtiene la pantalla preparada, esperando a que termine el último pedido.
+     * Si la preparación falló, carga la pantalla en el momento.
+     *
+     * @return La pantalla de juego
+     * @throws IOException Si hay un error al cargar el archivo FXML del juego
+     */
+    Prepared take() throws IOException {
+        CompletableFuture<Prepared> current = pending;
+        pending = null;
+        if (current != null) {
+            try {
+                return current.join();
+            } catch (CompletionException e) {
+                e.printStackTrace();
+            }
+        }
+        try {
+            return load();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static Prepared load() {
+        try {
+            FXMLLoader loader = AssetViews.load(GAME_FXML);
+            Parent root = loader.getRoot();
+            return new Prepared(root, loader.getController());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.minigamerecu.controller;
+
+import com.example.minigamerecu.metrics.CellHeatmap;
+import com.example.minigamerecu.metrics.CellMetric;
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.layout.StackPane;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Mapa de calor superpuesto al tablero.
+ * Agrega a cada carta una pequeña etiqueta con el contador de su casilla, con un fondo rojo más
+ * intenso cuanto mayor es el valor respecto al máximo del tablero. Cada llamada a
+ * {@link #cycle(List, int)} pasa al siguiente contador (clics, primeros clics, fallos) y después
+ * lo oculta. Mientras está oculto no lee los contadores ni toca la escena.
+ */
+class HeatmapOverlay {
+
+    private static final CellMetric[] METRICS = CellMetric.values();
+    private static final String[] PREFIXES = {"👆", "①", "✗"};
+
+    private final CellHeatmap heatmap;
+    private final List<Label> labels = new ArrayList<>();
+    private final List<StackPane> panes = new ArrayList<>();
+    private CellMetric metric;
+    private long[] counts = new long[0];
+
+    /**
+     * Constructor de la clase HeatmapOverlay.
+     *
+     * @param heatmap El mapa de calor con los contadores
+     */
+    HeatmapOverlay(CellHeatmap heatmap) {
+        this.heatmap = heatmap;
+    }
+
+    /**
+     * Verifica si el mapa está visible.
+     *
+     * @return true si se muestra algún contador
+     */
+    boolean isVisible() {
+        return metric != null;
+    }
+
+    /**
+     * Pasa al siguiente contador, u oculta el mapa después del último.
+     *
+     * @param cardPanes El panel de cada carta, en orden de casilla
+     * @param gridSize El tamaño del tablero
+     */
+    void cycle(List<StackPane> cardPanes, int gridSize) {
+        int next = metric == null ? 0 : metric.ordinal() + 1;
+        metric = next < METRICS.length ? METRICS[next] : null;
+        if (metric == null) {
+            detach();
+        } else {
+            refresh(cardPanes, gridSize);
+        }
+    }
+
+    /**
+     * Vuelve a leer los contadores y actualiza las etiquetas. No hace nada si el mapa está oculto.
+     * Si el tablero cambió, mueve las etiquetas a los paneles nuevos.
+     *
+     * @param cardPanes El panel de cada carta, en orden de casilla
+     * @param gridSize El tamaño del tablero
+     */
+    void refresh(List<StackPane> cardPanes, int gridSize) {
+        if (metric == null) {
+            return;
+        }
+        if (!panes.equals(cardPanes)) {
+            attach(cardPanes);
+        }
+        int cells = gridSize * gridSize;
+        if (counts.length < cells) {
+            counts = new long[cells];
+        }
+        heatmap.copyTo(metric, gridSize, counts);
+        long max = 1;
+        for (int i = 0; i < cells; i++) {
+            max = Math.max(max, counts[i]);
+        }
+        String prefix = PREFIXES[metric.ordinal()];
+        for (int i = 0; i < labels.size() && i < cells; i++) {
+            Label label = labels.get(i);
+            label.setText(prefix + counts[i]);
+            label.setStyle(String.format(Locale.ROOT,
+                "-fx-background-color: rgba(220, 20, 60, %.2f); -fx-text-fill: white; "
+                    + "-fx-background-radius: 6; -fx-padding: 0 3 0 3;",
+                0.25 + 0.7 * counts[i] / max));
+        }
+    }
+
+    private void attach(List<StackPane> cardPanes) {
+        detach();
+        panes.addAll(cardPanes);
+        while (labels.size() < panes.size()) {
+            Label label = new Label();
+            label.setFont(Font.font("System", FontWeight.BOLD, 10));
+            label.setMouseTransparent(true);
+            StackPane.setAlignment(label, Pos.TOP_RIGHT);
+            labels.add(label);
+        }
+        for (int i = 0; i < panes.size(); i++) {
+            panes.get(i).getChildren().add(labels.get(i));
+        }
+    }
+
+    private void detach() {
+        for (int i = 0; i < panes.size(); i++) {
+            panes.get(i).getChildren().remove(labels.get(i));
+        }
+        panes.clear();
+    }
+}
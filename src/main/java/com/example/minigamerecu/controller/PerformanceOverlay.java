@@ -0,0 +1,115 @@
+package com.example.minigamerecu.controller;
+
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.control.Label;
+
+import java.util.Locale;
+
+/**
+ * Panel de rendimiento superpuesto a la escena del juego.
+ * Muestra FPS, duración del pulso, número de nodos, animaciones en curso y memoria usada.
+ * Recibe cada frame desde el {@link FrameTimeMonitor}, así que no agrega otro
+ * {@code AnimationTimer}, y solo actualiza el texto unas pocas veces por segundo.
+ */
+class PerformanceOverlay implements FrameListener {
+
+    private static final long REFRESH_INTERVAL_NANOS = 250_000_000L;
+
+    private final Label label;
+    private final AnimationTracker animations;
+
+    private long windowStartNanos;
+    private int framesInWindow;
+    private long maxFrameNanos;
+    private long maxPulseNanos;
+
+    /**
+     * Constructor de la clase PerformanceOverlay.
+     *
+     * @param label La etiqueta donde se muestran los valores
+     * @param animations El registro de animaciones de la pantalla
+     */
+    PerformanceOverlay(Label label, AnimationTracker animations) {
+        this.label = label;
+        this.animations = animations;
+    }
+
+    /**
+     * Muestra u oculta el panel.
+     */
+    void toggle() {
+        setVisible(!label.isVisible());
+    }
+
+    /**
+     * Establece la visibilidad del panel.
+     *
+     * @param visible true para mostrar el panel
+     */
+    void setVisible(boolean visible) {
+        label.setVisible(visible);
+        windowStartNanos = 0;
+    }
+
+    /**
+     * Procesa un frame. Solo hace trabajo si el panel está visible.
+     *
+     * @param now El instante del frame, en nanosegundos
+     * @param frameNanos La duración del último frame
+     * @param pulseNanos La duración del último pulso
+     */
+    @Override
+    public void onFrame(long now, long frameNanos, long pulseNanos) {
+        if (!label.isVisible()) {
+            return;
+        }
+        if (windowStartNanos == 0) {
+            windowStartNanos = now;
+            framesInWindow = 0;
+            maxFrameNanos = 0;
+            maxPulseNanos = 0;
+            return;
+        }
+        framesInWindow++;
+        maxFrameNanos = Math.max(maxFrameNanos, frameNanos);
+        maxPulseNanos = Math.max(maxPulseNanos, pulseNanos);
+
+        long elapsed = now - windowStartNanos;
+        if (elapsed < REFRESH_INTERVAL_NANOS) {
+            return;
+        }
+
+        Runtime runtime = Runtime.getRuntime();
+        long usedHeapMb = (runtime.totalMemory() - runtime.freeMemory()) >> 20;
+        long maxHeapMb = runtime.maxMemory() >> 20;
+        label.setText(String.format(Locale.ROOT,
+            "FPS: %.1f (peor frame %.1f ms)%nPulso: %.2f ms (máx %.2f ms)%nNodos: %d%nAnimaciones: %d%nMemoria: %d / %d MB",
+            framesInWindow * 1e9 / elapsed,
+            maxFrameNanos / 1e6,
+            pulseNanos / 1e6,
+            maxPulseNanos / 1e6,
+            countNodes(label.getScene() != null ? label.getScene().getRoot() : null),
+            animations.countRunning(),
+            usedHeapMb,
+            maxHeapMb));
+
+        windowStartNanos = now;
+        framesInWindow = 0;
+        maxFrameNanos = 0;
+        maxPulseNanos = 0;
+    }
+
+    private static int countNodes(Node node) {
+        if (node == null) {
+            return 0;
+        }
+        int count = 1;
+        if (node instanceof Parent) {
+            for (Node child : ((Parent) node).getChildrenUnmodifiable()) {
+                count += countNodes(child);
+            }
+        }
+        return count;
+    }
+}
@@ -1,7 +1,7 @@
 package com.example.minigamerecu.controller;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
@@ -9,7 +9,13 @@ import javafx.scene.image.ImageView;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.shape.Rectangle;
 import javafx.stage.Stage;
+import com.example.minigamerecu.jfr.SceneNavigationEvent;
+import com.example.minigamerecu.manager.GameCheckpoint;
 import com.example.minigamerecu.manager.GameManager;
+import com.example.minigamerecu.metrics.LatencyMetric;
+import com.example.minigamerecu.metrics.MetricsRegistry;
+import com.example.minigamerecu.startup.StartupMilestone;
+import com.example.minigamerecu.startup.StartupProbe;
 
 import java.io.IOException;
 
@@ -25,6 +31,9 @@ public class StartController {
     @FXML
     private Button exitButton;
 
+    @FXML
+    private Button resumeButton;
+
     @FXML
     private Button easyButton;
 
@@ -40,6 +49,12 @@ public class StartController {
     @FXML
     private Label difficultyInfoLabel;
 
+    @FXML
+    private Button timeAttackButton;
+
+    @FXML
+    private Button adaptiveButton;
+
     @FXML
     private ImageView backgroundImageView;
 
@@ -48,14 +63,19 @@ public class StartController {
 
     private GameManager.Difficulty selectedDifficulty = GameManager.Difficulty.MEDIUM;
     private final GameManager gameManager = GameManager.getInstance();
+    private final GameScenePreloader preloader = new GameScenePreloader();
+    private boolean firstFramePainted;
 
     /**
      * Inicializa el controlador y configura los componentes de la interfaz.
-     * Ajusta el tamaño de la imagen de fondo y establece la dificultad por defecto.
+     * Carga la imagen de fondo con {@link AssetImages}, ajusta su tamaño y establece la dificultad
+     * por defecto. La precarga de la pantalla de juego espera al primer frame para no competir
+     * con él.
      */
     @FXML
     public void initialize() {
         if (backgroundImageView != null) {
+            backgroundImageView.setImage(AssetImages.load("portada.jpg"));
             Scene scene = backgroundImageView.getScene();
             if (scene != null) {
                 backgroundImageView.fitWidthProperty().bind(scene.widthProperty());
@@ -78,40 +98,119 @@ public class StartController {
             }
         }
         
+        if (gameManager.isAdaptive()) {
+            selectedDifficulty = gameManager.getAdaptiveDifficulty();
+        }
         gameManager.setDifficulty(selectedDifficulty);
         updateDifficultyInfo();
+        updateTimeAttackButton();
+        updateAdaptiveButton();
         highlightSelectedDifficulty();
+        updateResumeButton();
+        FirstFrame.afterFirstFrame(startButton, this::onFirstFrame);
+    }
+
+    /**
+     * Registra el primer frame de la pantalla de inicio y empieza a precargar la pantalla de juego.
+     * Cuando termina la precarga la aplicación queda interactiva: Iniciar solo cambia la escena.
+     */
+    private void onFirstFrame() {
+        StartupProbe.getInstance().mark(StartupMilestone.FIRST_FRAME);
+        firstFramePainted = true;
+        preloader.prepare(selectedDifficulty);
+        preloader.whenReady(this::onInteractive);
+    }
+
+    /**
+     * Registra el arranque como interactivo. Con {@code -Dminigame.startup.exit=true} la
+     * aplicación se cierra en ese momento, como en las ejecuciones de entrenamiento de CDS y en
+     * {@code StartupBenchmark}.
+     */
+    private void onInteractive() {
+        if (StartupProbe.getInstance().mark(StartupMilestone.INTERACTIVE) && Boolean.getBoolean("minigame.startup.exit")) {
+            Platform.exit();
+        }
+    }
+
+    /**
+     * Muestra el botón para reanudar si quedó una partida sin terminar de una ejecución anterior.
+     */
+    private void updateResumeButton() {
+        if (resumeButton == null) {
+            return;
+        }
+        GameCheckpoint.Snapshot saved = gameManager.getResumableGame();
+        resumeButton.setVisible(saved != null);
+        resumeButton.setManaged(saved != null);
+        if (saved != null) {
+            resumeButton.setText("▶ Reanudar partida (" + saved.getDifficulty().getDisplayName()
+                + ", " + saved.getMoves() + " mov.)");
+        }
+    }
+
+    /**
+     * Maneja el evento de clic en el botón de reanudar.
+     * Selecciona la dificultad de la partida guardada y la continúa en la pantalla de juego.
+     * 
+     * @throws IOException Si hay un error al cargar el archivo FXML del juego
+     */
+    @FXML
+    private void onResumeButtonClick() throws IOException {
+        GameCheckpoint.Snapshot saved = gameManager.getResumableGame();
+        if (saved == null) {
+            updateResumeButton();
+            return;
+        }
+        selectedDifficulty = saved.getDifficulty();
+        gameManager.requestResume();
+        openGameScene();
     }
 
     /**
      * Maneja el evento de clic en el botón de inicio.
-     * Establece la dificultad seleccionada, calcula el tamaño de ventana y navega a la pantalla de juego.
+     * Descarta la partida guardada, si la hay, y empieza una partida nueva.
      * 
      * @throws IOException Si hay un error al cargar el archivo FXML del juego
      */
     @FXML
     private void onStartButtonClick() throws IOException {
+        gameManager.discardResumableGame();
+        openGameScene();
+    }
+
+    /**
+     * Establece la dificultad seleccionada, calcula el tamaño de ventana y navega a la pantalla de juego.
+     * La pantalla ya suele estar cargada en segundo plano, así que solo se cambia la escena.
+     * 
+     * @throws IOException Si hay un error al cargar el archivo FXML del juego
+     */
+    private void openGameScene() throws IOException {
+        long loadStart = System.nanoTime();
+        SceneNavigationEvent navigationEvent = new SceneNavigationEvent();
+        navigationEvent.begin();
         gameManager.setDifficulty(selectedDifficulty);
         
         int gridSize = selectedDifficulty.getGridSize();
-        int cardSize = gridSize == 4 ? 80 : 60;
-        int gap = 12;
-        int padding = 56;
-        int headerHeight = 200;
-        int footerHeight = 50;
-        
-        int boardWidth = (cardSize + gap) * gridSize - gap + padding;
-        int boardHeight = (cardSize + gap) * gridSize - gap + headerHeight + footerHeight;
+        int cardSize = BoardLayout.defaultCardSize(gridSize);
+        int boardWidth = BoardLayout.sceneWidth(gridSize, cardSize);
+        int boardHeight = BoardLayout.sceneHeight(gridSize, cardSize);
         
         Stage stage = (Stage) startButton.getScene().getWindow();
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/minigamerecu/view/game.fxml"));
-        Scene scene = new Scene(loader.load(), boardWidth, boardHeight);
+        GameScenePreloader.Prepared prepared = preloader.take();
+        prepared.getController().start();
+        Scene scene = new Scene(prepared.getRoot(), boardWidth, boardHeight);
         stage.setScene(scene);
         stage.setTitle("Memory Game - " + selectedDifficulty.getDisplayName());
         stage.setResizable(true);
         stage.setMinWidth(boardWidth - 50);
         stage.setMinHeight(boardHeight - 80);
         stage.centerOnScreen();
+        MetricsRegistry.getInstance().recordSince(LatencyMetric.SCENE_LOAD, loadStart);
+        if (navigationEvent.shouldCommit()) {
+            navigationEvent.target = "game";
+            navigationEvent.boardSize = gridSize * gridSize;
+            navigationEvent.commit();
+        }
     }
 
     /**
@@ -135,21 +234,79 @@ public class StartController {
         }
         
         gameManager.setDifficulty(selectedDifficulty);
+        gameManager.setAdaptive(false);
+        updateAdaptiveButton();
         updateDifficultyInfo();
         highlightSelectedDifficulty();
+        if (firstFramePainted) {
+            preloader.prepare(selectedDifficulty);
+        }
+    }
+
+    /**
+     * Activa o desactiva el modo contrarreloj para las siguientes partidas.
+     */
+    @FXML
+    private void onTimeAttackToggle() {
+        gameManager.setTimeAttack(!gameManager.isTimeAttack());
+        updateDifficultyInfo();
+        updateTimeAttackButton();
+    }
+
+    /**
+     * Activa o desactiva el modo adaptativo. Al activarlo se selecciona el tablero que corresponde
+     * a la habilidad estimada del jugador; elegir después una dificultad lo desactiva.
+     */
+    @FXML
+    private void onAdaptiveToggle() {
+        gameManager.setAdaptive(!gameManager.isAdaptive());
+        if (gameManager.isAdaptive()) {
+            selectedDifficulty = gameManager.getAdaptiveDifficulty();
+            gameManager.setDifficulty(selectedDifficulty);
+            highlightSelectedDifficulty();
+            if (firstFramePainted) {
+                preloader.prepare(selectedDifficulty);
+            }
+        }
+        updateDifficultyInfo();
+        updateAdaptiveButton();
+    }
+
+    /**
+     * Actualiza el texto del botón del modo adaptativo.
+     */
+    private void updateAdaptiveButton() {
+        if (adaptiveButton != null) {
+            adaptiveButton.setText(gameManager.isAdaptive() ? "🧠 Adaptativo: Sí" : "🧠 Adaptativo: No");
+        }
+    }
+
+    /**
+     * Actualiza el texto del botón del modo contrarreloj.
+     */
+    private void updateTimeAttackButton() {
+        if (timeAttackButton != null) {
+            timeAttackButton.setText(gameManager.isTimeAttack() ? "⏱ Contrarreloj: Sí" : "⏱ Contrarreloj: No");
+        }
     }
 
     /**
      * Actualiza la etiqueta de información de dificultad con los detalles de la dificultad seleccionada.
+     * En modo contrarreloj incluye el tiempo límite, y en modo adaptativo, el límite de movimientos
+     * calculado para el jugador.
      */
     private void updateDifficultyInfo() {
         if (difficultyInfoLabel != null) {
+            boolean adaptive = gameManager.isAdaptive();
             String info = String.format("%s: %dx%d, %d pares, %d movimientos",
-                selectedDifficulty.getDisplayName(),
+                adaptive ? "Adaptativo" : selectedDifficulty.getDisplayName(),
                 selectedDifficulty.getGridSize(),
                 selectedDifficulty.getGridSize(),
                 selectedDifficulty.getTotalPairs(),
-                selectedDifficulty.getMaxMoves());
+                adaptive ? gameManager.getAdaptiveMaxMoves(selectedDifficulty) : selectedDifficulty.getMaxMoves());
+            if (gameManager.isTimeAttack()) {
+                info += String.format(", %d s", selectedDifficulty.getTimeLimitSeconds());
+            }
             difficultyInfoLabel.setText(info);
         }
     }
@@ -0,0 +1,285 @@
+package com.example.minigamerecu.engine;
+
+import com.example.minigamerecu.manager.GameManager;
+
+import java.util.SplittableRandom;
+
+/**
+ * Partida de memoria sin interfaz gráfica.
+ * Aplica las mismas reglas que {@code GameController} (dos cartas por movimiento,
+ * límite de movimientos y de pistas) sobre arreglos primitivos, de modo que se pueden
+ * ejecutar miles de partidas simultáneas sin JavaFX.
+ * <p>
+ * A diferencia del {@link GameManager}, cada instancia representa una sesión independiente
+ * y no es thread-safe: cada partida debe ser usada por un solo hilo a la vez.
+ */
+public class HeadlessGame {
+
+    /**
+     * Resultado de voltear una carta.
+     */
+    public enum FlipResult {
+        /** El clic fue ignorado (carta emparejada, ya volteada o partida terminada). */
+        IGNORED,
+        /** Se volteó la primera carta del movimiento. */
+        FIRST,
+        /** La segunda carta formó pareja con la primera. */
+        MATCH,
+        /** La segunda carta no coincide; ambas quedan visibles hasta el siguiente clic. */
+        MISMATCH
+    }
+
+    private static final int NONE = -1;
+
+    private final GameManager.Difficulty difficulty;
+    private final long seed;
+    private final int maxMoves;
+    private final int[] layout;
+    private final boolean[] matched;
+
+    private int firstIndex = NONE;
+    private int secondIndex = NONE;
+    private boolean pendingMismatch;
+    private int moves;
+    private int matchedPairsCount;
+    private int hintsUsed;
+
+    /**
+     * Crea una partida nueva barajada con la semilla indicada.
+     *
+     * @param difficulty La dificultad de la partida
+     * @param seed La semilla usada para barajar el tablero
+     */
+    public HeadlessGame(GameManager.Difficulty difficulty, long seed) {
+        this(difficulty, seed, difficulty.getMaxMoves());
+    }
+
+    /**
+     * Crea una partida nueva con un límite de movimientos distinto al de la dificultad,
+     * como el que calcula el modo adaptativo.
+     *
+     * @param difficulty La dificultad de la partida
+     * @param seed La semilla usada para barajar el tablero
+     * @param maxMoves El límite de movimientos
+     */
+    public HeadlessGame(GameManager.Difficulty difficulty, long seed, int maxMoves) {
+        if (maxMoves <= 0) {
+            throw new IllegalArgumentException("El límite de movimientos debe ser positivo: " + maxMoves);
+        }
+        this.difficulty = difficulty;
+        this.seed = seed;
+        this.maxMoves = maxMoves;
+        this.layout = deal(difficulty, seed);
+        this.matched = new boolean[layout.length];
+    }
+
+    /**
+     * Genera la disposición del tablero para una dificultad y semilla.
+     * Cada posición contiene el identificador de pareja de la carta; la misma semilla
+     * produce siempre el mismo tablero, tanto en la interfaz como en modo headless.
+     *
+     * @param difficulty La dificultad que define el número de pares
+     * @param seed La semilla del barajado
+     * @return Un arreglo con el identificador de pareja de cada posición
+     */
+    public static int[] deal(GameManager.Difficulty difficulty, long seed) {
+        int totalPairs = difficulty.getTotalPairs();
+        int[] layout = new int[totalPairs * 2];
+        for (int i = 0; i < layout.length; i++) {
+            layout[i] = i / 2;
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = layout.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = layout[i];
+            layout[i] = layout[j];
+            layout[j] = tmp;
+        }
+        return layout;
+    }
+
+    /**
+     * Obtiene el mayor número de pares que reparte alguna dificultad, para reservar arreglos
+     * indexados por pareja que sirvan para cualquier tablero.
+     *
+     * @return El número de pares del tablero más grande
+     */
+    public static int getMaxPairs() {
+        int max = 0;
+        for (GameManager.Difficulty difficulty : GameManager.Difficulty.values()) {
+            max = Math.max(max, difficulty.getTotalPairs());
+        }
+        return max;
+    }
+
+    /**
+     * Voltea la carta de la posición indicada.
+     * Si había una pareja fallida visible, primero se voltea hacia abajo.
+     *
+     * @param index La posición de la carta en el tablero
+     * @return El resultado de la acción
+     */
+    public FlipResult flip(int index) {
+        if (index < 0 || index >= layout.length || isFinished() || matched[index]) {
+            return FlipResult.IGNORED;
+        }
+        if (pendingMismatch) {
+            firstIndex = NONE;
+            secondIndex = NONE;
+            pendingMismatch = false;
+        }
+        if (index == firstIndex) {
+            return FlipResult.IGNORED;
+        }
+        if (firstIndex == NONE) {
+            firstIndex = index;
+            return FlipResult.FIRST;
+        }
+
+        secondIndex = index;
+        moves++;
+        if (layout[firstIndex] == layout[secondIndex]) {
+            matched[firstIndex] = true;
+            matched[secondIndex] = true;
+            matchedPairsCount++;
+            firstIndex = NONE;
+            secondIndex = NONE;
+            return FlipResult.MATCH;
+        }
+        pendingMismatch = true;
+        return FlipResult.MISMATCH;
+    }
+
+    /**
+     * Usa una pista si es posible, con las mismas condiciones que {@link GameManager#canUseHint()}.
+     *
+     * @return La posición de una carta de la pareja revelada, o -1 si no se pudo usar la pista
+     */
+    public int useHint() {
+        if (hintsUsed >= GameManager.getMaxHints() || isFinished()) {
+            return NONE;
+        }
+        for (int i = 0; i < layout.length; i++) {
+            if (!matched[i]) {
+                hintsUsed++;
+                return i;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Obtiene el identificador de pareja de una carta visible.
+     *
+     * @param index La posición de la carta
+     * @return El identificador de pareja, o -1 si la carta está boca abajo
+     */
+    public int getRevealedId(int index) {
+        if (matched[index] || index == firstIndex || index == secondIndex) {
+            return layout[index];
+        }
+        return NONE;
+    }
+
+    /**
+     * Obtiene el identificador de pareja de una posición sin importar si está visible.
+     * Pensado para pistas y verificaciones, no para simular jugadores.
+     *
+     * @param index La posición de la carta
+     * @return El identificador de pareja
+     */
+    public int getPairId(int index) {
+        return layout[index];
+    }
+
+    /**
+     * Verifica si la carta de una posición ya fue emparejada.
+     *
+     * @param index La posición de la carta
+     * @return true si la carta está emparejada
+     */
+    public boolean isMatched(int index) {
+        return matched[index];
+    }
+
+    /**
+     * Verifica si la partida terminó, ya sea por victoria o por límite de movimientos.
+     *
+     * @return true si la partida terminó
+     */
+    public boolean isFinished() {
+        return isWon() || moves >= maxMoves;
+    }
+
+    /**
+     * Obtiene el límite de movimientos de la partida.
+     *
+     * @return El límite de movimientos
+     */
+    public int getMaxMoves() {
+        return maxMoves;
+    }
+
+    /**
+     * Verifica si se encontraron todas las parejas.
+     *
+     * @return true si la partida fue ganada
+     */
+    public boolean isWon() {
+        return matchedPairsCount == difficulty.getTotalPairs();
+    }
+
+    /**
+     * Obtiene el número de cartas del tablero.
+     *
+     * @return El número de cartas
+     */
+    public int getCardCount() {
+        return layout.length;
+    }
+
+    /**
+     * Obtiene la dificultad de la partida.
+     *
+     * @return La dificultad
+     */
+    public GameManager.Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Obtiene la semilla con la que se barajó el tablero.
+     *
+     * @return La semilla
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Obtiene el número de movimientos realizados.
+     *
+     * @return El número de movimientos
+     */
+    public int getMoves() {
+        return moves;
+    }
+
+    /**
+     * Obtiene el número de parejas encontradas.
+     *
+     * @return El número de parejas encontradas
+     */
+    public int getMatchedPairsCount() {
+        return matchedPairsCount;
+    }
+
+    /**
+     * Obtiene el número de pistas usadas.
+     *
+     * @return El número de pistas usadas
+     */
+    public int getHintsUsed() {
+        return hintsUsed;
+    }
+}
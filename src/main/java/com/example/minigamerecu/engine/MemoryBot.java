@@ -0,0 +1,128 @@
+package com.example.minigamerecu.engine;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Jugador sintético de memoria imperfecta para generar partidas de prueba sobre una
+ * {@link HeadlessGame}. Voltea una carta oculta al azar y, si recuerda dónde está su pareja, la
+ * elige; si no, voltea otra al azar. De cada movimiento fallido recuerda cada carta con la
+ * probabilidad de su memoria, sorteada entre 0.4 y 0.9 al empezar cada partida.
+ * <p>
+ * Un bot omnisciente conoce el tablero y acierta siempre, como un jugador que hace trampa.
+ * No es thread-safe: cada hilo debe usar su propio bot.
+ */
+public final class MemoryBot {
+
+    private final SplittableRandom random;
+    private final int[] known = new int[HeadlessGame.getMaxPairs()];
+    private HeadlessGame game;
+    private double memory;
+    private boolean omniscient;
+
+    /**
+     * Constructor de la clase MemoryBot.
+     *
+     * @param random El generador de las decisiones del bot, compartido con el llamador
+     */
+    public MemoryBot(SplittableRandom random) {
+        this.random = random;
+    }
+
+    /**
+     * Empieza a jugar una partida nueva, olvidando lo recordado de la anterior.
+     *
+     * @param game La partida
+     * @param omniscient true si el bot conoce el tablero
+     */
+    public void startGame(HeadlessGame game, boolean omniscient) {
+        this.game = game;
+        this.omniscient = omniscient;
+        this.memory = omniscient ? 1.0 : 0.4 + random.nextDouble() * 0.5;
+        Arrays.fill(known, -1);
+    }
+
+    /**
+     * Pide una pista de vez en cuando (una de cada 40 veces en promedio).
+     *
+     * @return true si se usó una pista
+     */
+    public boolean maybeUseHint() {
+        return random.nextInt(40) == 0 && game.useHint() >= 0;
+    }
+
+    /**
+     * Elige la primera carta del movimiento.
+     *
+     * @return La posición de una carta oculta
+     */
+    public int chooseFirst() {
+        return pickHidden(-1);
+    }
+
+    /**
+     * Elige la segunda carta del movimiento: la pareja de la primera si la conoce o la recuerda,
+     * y si no, otra carta oculta al azar.
+     *
+     * @param first La posición de la primera carta
+     * @return La posición de la segunda carta
+     */
+    public int chooseSecond(int first) {
+        if (omniscient) {
+            return partnerOf(first);
+        }
+        int remembered = known[game.getPairId(first)];
+        if (remembered >= 0 && remembered != first && !game.isMatched(remembered)) {
+            return remembered;
+        }
+        return pickHidden(first);
+    }
+
+    /**
+     * Registra el resultado de un movimiento: de un movimiento fallido recuerda cada carta con la
+     * probabilidad de su memoria.
+     *
+     * @param first La posición de la primera carta
+     * @param second La posición de la segunda carta
+     * @param result El resultado de voltear la segunda carta
+     */
+    public void observe(int first, int second, HeadlessGame.FlipResult result) {
+        if (result == HeadlessGame.FlipResult.MATCH) {
+            return;
+        }
+        remember(first);
+        remember(second);
+    }
+
+    /**
+     * Sortea el tiempo que el bot tarda en voltear una carta.
+     *
+     * @return El tiempo en milisegundos, entre 600 y 2000
+     */
+    public int thinkMillis() {
+        return 600 + random.nextInt(1400);
+    }
+
+    private void remember(int card) {
+        if (random.nextDouble() < memory) {
+            known[game.getPairId(card)] = card;
+        }
+    }
+
+    private int partnerOf(int card) {
+        for (int i = 0; i < game.getCardCount(); i++) {
+            if (i != card && game.getPairId(i) == game.getPairId(card)) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Carta sin pareja: " + card);
+    }
+
+    private int pickHidden(int exclude) {
+        int index;
+        do {
+            index = random.nextInt(game.getCardCount());
+        } while (index == exclude || game.isMatched(index));
+        return index;
+    }
+}
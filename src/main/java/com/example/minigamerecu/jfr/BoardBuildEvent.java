@@ -0,0 +1,26 @@
+package com.example.minigamerecu.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Construcción del tablero (initializeGame y drawBoard).
+ */
+@Name("com.example.minigamerecu.BoardBuild")
+@Label("Construcción del tablero")
+@Category({"MiniGameRecu", "Interfaz"})
+@Description("Construcción del tablero (initializeGame y drawBoard).")
+@StackTrace(false)
+public class BoardBuildEvent extends Event {
+
+    @Label("Dificultad")
+    public String difficulty;
+
+    @Label("Tamaño del tablero")
+    @Description("Número de cartas del tablero")
+    public int boardSize;
+}
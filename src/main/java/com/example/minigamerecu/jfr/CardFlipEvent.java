@@ -0,0 +1,27 @@
+package com.example.minigamerecu.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Volteo de una carta, desde el clic hasta que la carta muestra su símbolo.
+ */
+@Name("com.example.minigamerecu.CardFlip")
+@Label("Volteo de carta")
+@Category({"MiniGameRecu", "Juego"})
+@Description("Volteo de una carta, desde el clic hasta que la carta muestra su símbolo.")
+@StackTrace(false)
+public class CardFlipEvent extends Event {
+
+    @Label("Posición")
+    @Description("Índice de la carta en el tablero")
+    public int cardIndex;
+
+    @Label("Tamaño del tablero")
+    @Description("Número de cartas del tablero")
+    public int boardSize;
+}
@@ -0,0 +1,40 @@
+package com.example.minigamerecu.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Final de una partida, por victoria o por límite de movimientos.
+ */
+@Name("com.example.minigamerecu.GameEnd")
+@Label("Fin de partida")
+@Category({"MiniGameRecu", "Juego"})
+@Description("Final de una partida, por victoria o por límite de movimientos.")
+@StackTrace(false)
+public class GameEndEvent extends Event {
+
+    @Label("Victoria")
+    public boolean won;
+
+    @Label("Dificultad")
+    public String difficulty;
+
+    @Label("Tamaño del tablero")
+    @Description("Número de cartas del tablero")
+    public int boardSize;
+
+    @Label("Movimientos")
+    public int moves;
+
+    @Label("Pistas usadas")
+    public int hintsUsed;
+
+    @Label("Duración de la partida")
+    @Timespan(Timespan.NANOSECONDS)
+    public long gameDuration;
+}
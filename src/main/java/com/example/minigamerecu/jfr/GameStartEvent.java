@@ -0,0 +1,27 @@
+package com.example.minigamerecu.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Inicio de una partida nueva. Su duración cubre toda la preparación de la partida, desde elegir
+ * el tablero hasta que queda listo para jugar.
+ */
+@Name("com.example.minigamerecu.GameStart")
+@Label("Inicio de partida")
+@Category({"MiniGameRecu", "Juego"})
+@Description("Inicio de una partida nueva.")
+@StackTrace(false)
+public class GameStartEvent extends Event {
+
+    @Label("Dificultad")
+    public String difficulty;
+
+    @Label("Tamaño del tablero")
+    @Description("Número de cartas del tablero")
+    public int boardSize;
+}
@@ -0,0 +1,26 @@
+package com.example.minigamerecu.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Uso de una pista, desde el clic en el botón hasta que se muestran las cartas.
+ */
+@Name("com.example.minigamerecu.Hint")
+@Label("Pista")
+@Category({"MiniGameRecu", "Juego"})
+@Description("Uso de una pista, desde el clic en el botón hasta que se muestran las cartas.")
+@StackTrace(false)
+public class HintEvent extends Event {
+
+    @Label("Pistas usadas")
+    public int hintsUsed;
+
+    @Label("Tamaño del tablero")
+    @Description("Número de cartas del tablero")
+    public int boardSize;
+}
@@ -0,0 +1,29 @@
+package com.example.minigamerecu.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Comprobación de las dos cartas volteadas en un movimiento.
+ */
+@Name("com.example.minigamerecu.MatchCheck")
+@Label("Comprobación de pareja")
+@Category({"MiniGameRecu", "Juego"})
+@Description("Comprobación de las dos cartas volteadas en un movimiento.")
+@StackTrace(false)
+public class MatchCheckEvent extends Event {
+
+    @Label("Pareja encontrada")
+    public boolean matched;
+
+    @Label("Movimientos")
+    public int moves;
+
+    @Label("Tamaño del tablero")
+    @Description("Número de cartas del tablero")
+    public int boardSize;
+}
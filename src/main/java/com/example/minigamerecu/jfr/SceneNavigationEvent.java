@@ -0,0 +1,26 @@
+package com.example.minigamerecu.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Cambio de escena, incluida la carga del FXML.
+ */
+@Name("com.example.minigamerecu.SceneNavigation")
+@Label("Navegación de escena")
+@Category({"MiniGameRecu", "Interfaz"})
+@Description("Cambio de escena, incluida la carga del FXML.")
+@StackTrace(false)
+public class SceneNavigationEvent extends Event {
+
+    @Label("Escena destino")
+    public String target;
+
+    @Label("Tamaño del tablero")
+    @Description("Número de cartas del tablero que se abre o se deja")
+    public int boardSize;
+}
@@ -0,0 +1,74 @@
+package com.example.minigamerecu.loadtest;
+
+import com.example.minigamerecu.metrics.LatencyHistogram;
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registra la duración de cada pausa del recolector de basura durante una prueba de carga.
+ * Escucha las notificaciones de los {@link GarbageCollectorMXBean} e ignora los ciclos
+ * concurrentes, que no detienen a los hilos de la aplicación.
+ */
+class GcPauseMonitor implements NotificationListener, AutoCloseable {
+
+    private final LatencyHistogram pauses = new LatencyHistogram();
+    private final List<NotificationEmitter> emitters = new ArrayList<>();
+
+    /**
+     * Empieza a escuchar las notificaciones de todos los recolectores disponibles.
+     */
+    void start() {
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (bean instanceof NotificationEmitter) {
+                NotificationEmitter emitter = (NotificationEmitter) bean;
+                emitter.addNotificationListener(this, null, null);
+                emitters.add(emitter);
+            }
+        }
+    }
+
+    @Override
+    public void handleNotification(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info =
+            GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        String name = info.getGcName();
+        if (name.contains("Concurrent") || name.contains("Cycles")) {
+            return;
+        }
+        pauses.record(TimeUnit.MILLISECONDS.toNanos(info.getGcInfo().getDuration()));
+    }
+
+    /**
+     * Obtiene el histograma de pausas registradas.
+     *
+     * @return El histograma de pausas en nanosegundos
+     */
+    LatencyHistogram getPauses() {
+        return pauses;
+    }
+
+    @Override
+    public void close() {
+        for (NotificationEmitter emitter : emitters) {
+            try {
+                emitter.removeNotificationListener(this);
+            } catch (ListenerNotFoundException e) {
+                // El colector ya no tiene el listener registrado: no queda nada que quitar.
+            }
+        }
+        emitters.clear();
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.minigamerecu.loadtest;
+
+import com.example.minigamerecu.manager.GameManager;
+import com.example.minigamerecu.metrics.LatencyHistogram;
+import com.example.minigamerecu.server.OffHeapSessionStore;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generador de carga que simula miles de jugadores concurrentes sobre el motor headless.
+ * Cada jugador corre en su propio hilo virtual y juega partidas completas con el modelo
+ * de reflexión y memoria de su dificultad. Al terminar escribe un informe JSON con el
+ * rendimiento, los percentiles de latencia por movimiento, las pausas del GC y la memoria
+ * usada por sesión. Opcionalmente mantiene además {@code idleSessions} partidas inactivas en el
+ * {@link OffHeapSessionStore} para medir su costo en el heap y en las pausas del GC.
+ * <p>
+ * Uso: {@code java -cp target/classes com.example.minigamerecu.loadtest.LoadTestHarness
+ * players=10000 difficulty=HARD duration=60 warmup=10 thinkScale=1.0 idleSessions=0 release=1.0
+ * out=report.json}
+ */
+public class LoadTestHarness {
+
+    private final int players;
+    private final GameManager.Difficulty difficulty;
+    private final long durationSeconds;
+    private final long warmupSeconds;
+    private final double thinkScale;
+    private final int idleSessions;
+    private final String release;
+
+    /**
+     * Constructor de la clase LoadTestHarness.
+     *
+     * @param players Número de jugadores simulados
+     * @param difficulty Dificultad de las partidas
+     * @param durationSeconds Duración de la medición, sin contar el calentamiento
+     * @param warmupSeconds Duración del calentamiento, cuyas muestras se descartan
+     * @param thinkScale Factor aplicado al tiempo de reflexión de los jugadores
+     * @param idleSessions Número de partidas inactivas guardadas fuera del heap durante la prueba
+     * @param release Etiqueta de la versión probada, incluida en el informe
+     */
+    public LoadTestHarness(int players, GameManager.Difficulty difficulty, long durationSeconds,
+                           long warmupSeconds, double thinkScale, int idleSessions, String release) {
+        if (players <= 0) {
+            throw new IllegalArgumentException("El número de jugadores debe ser positivo: " + players);
+        }
+        this.players = players;
+        this.difficulty = difficulty;
+        this.durationSeconds = durationSeconds;
+        this.warmupSeconds = warmupSeconds;
+        this.thinkScale = thinkScale;
+        this.idleSessions = idleSessions;
+        this.release = release;
+    }
+
+    /**
+     * Ejecuta la prueba de carga y genera el informe.
+     *
+     * @return El informe con los resultados
+     * @throws InterruptedException Si el hilo es interrumpido mientras espera a los jugadores
+     */
+    public LoadTestReport run() throws InterruptedException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        try (OffHeapSessionStore idleStore = new OffHeapSessionStore()) {
+            long heapBeforeIdle = usedHeapAfterGc(memory);
+            for (int i = 0; i < idleSessions; i++) {
+                idleStore.create(difficulty, i);
+            }
+            long baselineHeap = usedHeapAfterGc(memory);
+            return run(memory, baselineHeap)
+                .put("idleSessions", idleSessions)
+                .put("idleSessionsHeapBytes", Math.max(0, baselineHeap - heapBeforeIdle))
+                .put("idleSessionsOffHeapBytes", idleStore.getReservedBytes());
+        }
+    }
+
+    private LoadTestReport run(MemoryMXBean memory, long baselineHeap) throws InterruptedException {
+
+        PlayerProfile profile = PlayerProfile.forDifficulty(difficulty).withThinkTimeScale(thinkScale);
+        LatencyHistogram moveLatency = new LatencyHistogram();
+        LoadTestStats stats = new LoadTestStats();
+        long start = System.nanoTime();
+        long measureStart = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long deadline = measureStart + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        List<Thread> threads = new ArrayList<>(players);
+        for (int i = 0; i < players; i++) {
+            SimulatedPlayer player = new SimulatedPlayer(difficulty, profile, moveLatency, stats, deadline, i);
+            threads.add(Thread.ofVirtual().name("player-" + i).start(player));
+        }
+
+        sleepUntil(measureStart);
+        long heapPerSession = Math.max(0, usedHeapAfterGc(memory) - baselineHeap) / players;
+        moveLatency.reset();
+        long flipsAtStart = stats.flips.sum();
+        long gamesAtStart = stats.gamesCompleted.sum();
+        long wonAtStart = stats.gamesWon.sum();
+
+        try (GcPauseMonitor gcMonitor = new GcPauseMonitor()) {
+            gcMonitor.start();
+            sleepUntil(deadline);
+            long measuredNanos = System.nanoTime() - measureStart;
+
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            double seconds = measuredNanos / 1e9;
+            long flips = stats.flips.sum() - flipsAtStart;
+            long games = stats.gamesCompleted.sum() - gamesAtStart;
+            LatencyHistogram pauses = gcMonitor.getPauses();
+
+            return new LoadTestReport()
+                .put("release", release)
+                .put("timestamp", Instant.now().toString())
+                .put("javaVersion", Runtime.version().toString())
+                .put("availableProcessors", Runtime.getRuntime().availableProcessors())
+                .put("difficulty", difficulty.name())
+                .put("players", players)
+                .put("thinkScale", thinkScale)
+                .put("measuredSeconds", seconds)
+                .put("flips", flips)
+                .put("gamesCompleted", games)
+                .put("gamesWon", stats.gamesWon.sum() - wonAtStart)
+                .put("flipsPerSecond", flips / seconds)
+                .put("gamesPerSecond", games / seconds)
+                .put("moveLatencyP50Micros", moveLatency.getPercentile(50.0) / 1e3)
+                .put("moveLatencyP99Micros", moveLatency.getPercentile(99.0) / 1e3)
+                .put("moveLatencyP999Micros", moveLatency.getPercentile(99.9) / 1e3)
+                .put("moveLatencyMaxMicros", moveLatency.getMax() / 1e3)
+                .put("gcPauses", pauses.getCount())
+                .put("gcPauseP99Millis", pauses.getPercentile(99.0) / 1e6)
+                .put("gcPauseMaxMillis", pauses.getMax() / 1e6)
+                .put("gcPauseTotalMillis", pauses.getMean() * pauses.getCount() / 1e6)
+                .put("heapBytesPerSession", heapPerSession);
+        }
+    }
+
+    private static long usedHeapAfterGc(MemoryMXBean memory) {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static void sleepUntil(long nanoTime) throws InterruptedException {
+        long remaining = nanoTime - System.nanoTime();
+        if (remaining > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+    }
+
+    /**
+     * Punto de entrada del generador de carga.
+     * Los argumentos se indican como pares {@code clave=valor}.
+     *
+     * @param args Argumentos de la línea de comandos
+     * @throws IOException Si hay un error al escribir el informe
+     * @throws InterruptedException Si la prueba es interrumpida
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> options = LoadTestReport.parseOptions(args);
+
+        int players = Integer.parseInt(options.getOrDefault("players", "1000"));
+        GameManager.Difficulty difficulty = GameManager.Difficulty.valueOf(options.getOrDefault("difficulty", "MEDIUM"));
+        LoadTestHarness harness = new LoadTestHarness(
+            players,
+            difficulty,
+            Long.parseLong(options.getOrDefault("duration", "30")),
+            Long.parseLong(options.getOrDefault("warmup", "5")),
+            Double.parseDouble(options.getOrDefault("thinkScale", "1.0")),
+            Integer.parseInt(options.getOrDefault("idleSessions", "0")),
+            options.getOrDefault("release", "dev"));
+
+        LoadTestReport report = harness.run();
+        Path out = Path.of(options.getOrDefault("out",
+            "target/loadtest/loadtest-" + difficulty.name().toLowerCase() + "-" + players + ".json"));
+        report.publish(out);
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.minigamerecu.loadtest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Resultado de una prueba de carga en formato legible por máquinas.
+ * Las métricas se escriben como un objeto JSON plano, en el orden en que se agregan,
+ * para poder comparar los informes de distintas versiones con herramientas simples.
+ */
+public class LoadTestReport {
+
+    private final Map<String, Object> values = new LinkedHashMap<>();
+
+    /**
+     * Lee los argumentos de línea de comandos de las herramientas, indicados como pares
+     * {@code clave=valor}.
+     *
+     * @param args Argumentos de la línea de comandos
+     * @return Los valores por clave
+     * @throws IllegalArgumentException Si un argumento no tiene la forma {@code clave=valor}
+     */
+    public static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Argumento inválido, se esperaba clave=valor: " + arg);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    /**
+     * Agrega una métrica de texto al informe.
+     *
+     * @param key El nombre de la métrica
+     * @param value El valor de la métrica
+     * @return Este informe, para encadenar llamadas
+     */
+    public LoadTestReport put(String key, String value) {
+        values.put(key, value);
+        return this;
+    }
+
+    /**
+     * Agrega una métrica entera al informe.
+     *
+     * @param key El nombre de la métrica
+     * @param value El valor de la métrica
+     * @return Este informe, para encadenar llamadas
+     */
+    public LoadTestReport put(String key, long value) {
+        values.put(key, value);
+        return this;
+    }
+
+    /**
+     * Agrega una métrica decimal al informe.
+     *
+     * @param key El nombre de la métrica
+     * @param value El valor de la métrica
+     * @return Este informe, para encadenar llamadas
+     */
+    public LoadTestReport put(String key, double value) {
+        values.put(key, value);
+        return this;
+    }
+
+    /**
+     * Genera la representación JSON del informe.
+     *
+     * @return El informe como objeto JSON
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{\n");
+        int remaining = values.size();
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            json.append("  \"").append(escape(entry.getKey())).append("\": ");
+            Object value = entry.getValue();
+            if (value instanceof String) {
+                json.append('"').append(escape((String) value)).append('"');
+            } else if (value instanceof Double) {
+                json.append(String.format(Locale.ROOT, "%.3f", (Double) value));
+            } else {
+                json.append(value);
+            }
+            json.append(--remaining > 0 ? ",\n" : "\n");
+        }
+        return json.append("}\n").toString();
+    }
+
+    /**
+     * Escribe el informe en un archivo, creando los directorios necesarios.
+     *
+     * @param file La ruta del archivo de salida
+     * @throws IOException Si hay un error al escribir el archivo
+     */
+    public void write(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.writeString(file, toJson(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Escribe el informe en un archivo y lo muestra por la salida estándar junto con la ruta.
+     *
+     * @param file La ruta del archivo de salida
+     * @throws IOException Si hay un error al escribir el archivo
+     */
+    public void publish(Path file) throws IOException {
+        write(file);
+        System.out.print(toJson());
+        System.out.println("Informe escrito en " + file.toAbsolutePath());
+    }
+
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.minigamerecu.loadtest;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores compartidos por todos los jugadores simulados de una prueba de carga.
+ * Usa {@link LongAdder} para que miles de hilos virtuales puedan actualizarlos sin contención.
+ */
+class LoadTestStats {
+
+    final LongAdder flips = new LongAdder();
+    final LongAdder gamesCompleted = new LongAdder();
+    final LongAdder gamesWon = new LongAdder();
+
+    /**
+     * Registra el final de una partida.
+     *
+     * @param won true si el jugador ganó la partida
+     */
+    void gameFinished(boolean won) {
+        gamesCompleted.increment();
+        if (won) {
+            gamesWon.increment();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.minigamerecu.loadtest;
+
+import com.example.minigamerecu.manager.GameManager;
+
+/**
+ * Modelo de comportamiento de un jugador simulado.
+ * Define cuánto tarda el jugador en pensar cada clic y qué tan bien recuerda las cartas vistas.
+ * Los perfiles se derivan de las dificultades: en tableros más grandes los jugadores
+ * piensan más y recuerdan una fracción menor de las cartas.
+ */
+public class PlayerProfile {
+
+    private final long thinkTimeMillis;
+    private final long thinkJitterMillis;
+    private final double recallProbability;
+    private final int memoryCapacity;
+
+    /**
+     * Constructor de la clase PlayerProfile.
+     *
+     * @param thinkTimeMillis Tiempo medio de reflexión entre clics, en milisegundos
+     * @param thinkJitterMillis Variación máxima (+/-) del tiempo de reflexión
+     * @param recallProbability Probabilidad de memorizar una carta al verla (0.0 a 1.0)
+     * @param memoryCapacity Número máximo de cartas que el jugador recuerda a la vez
+     */
+    public PlayerProfile(long thinkTimeMillis, long thinkJitterMillis, double recallProbability, int memoryCapacity) {
+        this.thinkTimeMillis = thinkTimeMillis;
+        this.thinkJitterMillis = thinkJitterMillis;
+        this.recallProbability = recallProbability;
+        this.memoryCapacity = memoryCapacity;
+    }
+
+    /**
+     * Obtiene el perfil típico de un jugador para la dificultad indicada.
+     *
+     * @param difficulty La dificultad de la partida
+     * @return El perfil de jugador correspondiente
+     */
+    public static PlayerProfile forDifficulty(GameManager.Difficulty difficulty) {
+        switch (difficulty) {
+            case EASY:
+                return new PlayerProfile(900, 400, 0.70, 6);
+            case MEDIUM:
+                return new PlayerProfile(800, 350, 0.80, 8);
+            case HARD:
+                return new PlayerProfile(1100, 500, 0.65, 10);
+            case EXPERT:
+                return new PlayerProfile(1000, 450, 0.75, 12);
+            default:
+                throw new IllegalArgumentException("Dificultad desconocida: " + difficulty);
+        }
+    }
+
+    /**
+     * Obtiene una copia del perfil con el tiempo de reflexión escalado.
+     * Útil para acelerar las pruebas de carga sin cambiar el modelo de memoria.
+     *
+     * @param factor El factor de escala (por ejemplo 0.1 para pensar diez veces más rápido)
+     * @return El perfil escalado
+     */
+    public PlayerProfile withThinkTimeScale(double factor) {
+        return new PlayerProfile(Math.round(thinkTimeMillis * factor), Math.round(thinkJitterMillis * factor),
+            recallProbability, memoryCapacity);
+    }
+
+    /**
+     * Obtiene el tiempo medio de reflexión entre clics.
+     *
+     * @return El tiempo de reflexión en milisegundos
+     */
+    public long getThinkTimeMillis() {
+        return thinkTimeMillis;
+    }
+
+    /**
+     * Obtiene la variación máxima del tiempo de reflexión.
+     *
+     * @return La variación en milisegundos
+     */
+    public long getThinkJitterMillis() {
+        return thinkJitterMillis;
+    }
+
+    /**
+     * Obtiene la probabilidad de memorizar una carta al verla.
+     *
+     * @return La probabilidad entre 0.0 y 1.0
+     */
+    public double getRecallProbability() {
+        return recallProbability;
+    }
+
+    /**
+     * Obtiene el número máximo de cartas que el jugador recuerda a la vez.
+     *
+     * @return La capacidad de memoria
+     */
+    public int getMemoryCapacity() {
+        return memoryCapacity;
+    }
+}
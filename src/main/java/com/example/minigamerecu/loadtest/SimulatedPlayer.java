@@ -0,0 +1,210 @@
+package com.example.minigamerecu.loadtest;
+
+import com.example.minigamerecu.engine.HeadlessGame;
+import com.example.minigamerecu.manager.GameManager;
+import com.example.minigamerecu.metrics.LatencyHistogram;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jugador simulado que juega partidas headless hasta que se cumple el tiempo de la prueba.
+ * Espera un tiempo de reflexión antes de cada clic, memoriza las cartas vistas según su
+ * {@link PlayerProfile} y registra la latencia de cada movimiento medida desde el instante
+ * en que el clic debía ocurrir, de modo que los retrasos del planificador también se cuentan.
+ */
+class SimulatedPlayer implements Runnable {
+
+    private static final int UNKNOWN = -1;
+
+    private final GameManager.Difficulty difficulty;
+    private final PlayerProfile profile;
+    private final LatencyHistogram moveLatency;
+    private final LoadTestStats stats;
+    private final long deadlineNanos;
+    private final SplittableRandom random;
+
+    private final int[] rememberedIds;
+    private final int[] memory;
+    private int memoryHead;
+    private int memorySize;
+
+    private volatile HeadlessGame game;
+
+    /**
+     * Constructor de la clase SimulatedPlayer.
+     *
+     * @param difficulty La dificultad de las partidas
+     * @param profile El modelo de reflexión y memoria del jugador
+     * @param moveLatency El histograma donde se registran las latencias
+     * @param stats Los contadores compartidos de la prueba
+     * @param deadlineNanos Instante ({@link System#nanoTime()}) en que el jugador debe detenerse
+     * @param seed Semilla del jugador, para que la prueba sea reproducible
+     */
+    SimulatedPlayer(GameManager.Difficulty difficulty, PlayerProfile profile, LatencyHistogram moveLatency,
+                    LoadTestStats stats, long deadlineNanos, long seed) {
+        this.difficulty = difficulty;
+        this.profile = profile;
+        this.moveLatency = moveLatency;
+        this.stats = stats;
+        this.deadlineNanos = deadlineNanos;
+        this.random = new SplittableRandom(seed);
+        this.rememberedIds = new int[difficulty.getTotalPairs() * 2];
+        this.memory = new int[Math.max(1, profile.getMemoryCapacity())];
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (System.nanoTime() < deadlineNanos) {
+                playOneGame();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void playOneGame() throws InterruptedException {
+        HeadlessGame current = new HeadlessGame(difficulty, random.nextLong());
+        game = current;
+        forgetAll();
+        int firstIndex = UNKNOWN;
+
+        while (!current.isFinished()) {
+            long intendedNanos = think();
+            if (intendedNanos > deadlineNanos) {
+                return;
+            }
+            int index = chooseCard(current, firstIndex);
+            HeadlessGame.FlipResult result = current.flip(index);
+            moveLatency.record(System.nanoTime() - intendedNanos);
+            stats.flips.increment();
+
+            switch (result) {
+                case FIRST:
+                    firstIndex = index;
+                    observe(index, current.getRevealedId(index));
+                    break;
+                case MATCH:
+                    forget(firstIndex);
+                    forget(index);
+                    firstIndex = UNKNOWN;
+                    break;
+                case MISMATCH:
+                    observe(index, current.getRevealedId(index));
+                    firstIndex = UNKNOWN;
+                    break;
+                default:
+                    firstIndex = UNKNOWN;
+                    break;
+            }
+        }
+        stats.gameFinished(current.isWon());
+    }
+
+    /**
+     * Espera el tiempo de reflexión del perfil.
+     *
+     * @return El instante en que el clic debía ocurrir
+     * @throws InterruptedException Si el hilo es interrumpido mientras espera
+     */
+    private long think() throws InterruptedException {
+        long jitter = profile.getThinkJitterMillis();
+        long millis = profile.getThinkTimeMillis();
+        if (jitter > 0) {
+            millis += random.nextLong(-jitter, jitter + 1);
+        }
+        millis = Math.max(0, millis);
+        long intended = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        if (millis > 0) {
+            Thread.sleep(millis);
+        }
+        return intended;
+    }
+
+    private int chooseCard(HeadlessGame current, int firstIndex) {
+        if (firstIndex != UNKNOWN) {
+            int partner = findRemembered(current, rememberedIds[firstIndex], firstIndex);
+            if (partner != UNKNOWN) {
+                return partner;
+            }
+            return pickUnknown(current, firstIndex);
+        }
+        for (int i = 0; i < memorySize; i++) {
+            int index = memory[(memoryHead + i) % memory.length];
+            int id = rememberedIds[index];
+            if (id != UNKNOWN && !current.isMatched(index) && findRemembered(current, id, index) != UNKNOWN) {
+                return index;
+            }
+        }
+        return pickUnknown(current, UNKNOWN);
+    }
+
+    private int findRemembered(HeadlessGame current, int id, int excludedIndex) {
+        if (id == UNKNOWN) {
+            return UNKNOWN;
+        }
+        for (int i = 0; i < memorySize; i++) {
+            int index = memory[(memoryHead + i) % memory.length];
+            if (index != excludedIndex && rememberedIds[index] == id && !current.isMatched(index)) {
+                return index;
+            }
+        }
+        return UNKNOWN;
+    }
+
+    private int pickUnknown(HeadlessGame current, int excludedIndex) {
+        int cardCount = current.getCardCount();
+        int start = random.nextInt(cardCount);
+        int fallback = UNKNOWN;
+        for (int i = 0; i < cardCount; i++) {
+            int index = (start + i) % cardCount;
+            if (index == excludedIndex || current.isMatched(index)) {
+                continue;
+            }
+            if (rememberedIds[index] == UNKNOWN) {
+                return index;
+            }
+            if (fallback == UNKNOWN) {
+                fallback = index;
+            }
+        }
+        return fallback;
+    }
+
+    private void observe(int index, int id) {
+        if (id == UNKNOWN || rememberedIds[index] != UNKNOWN || random.nextDouble() >= profile.getRecallProbability()) {
+            return;
+        }
+        if (memorySize == memory.length) {
+            rememberedIds[memory[memoryHead]] = UNKNOWN;
+            memoryHead = (memoryHead + 1) % memory.length;
+            memorySize--;
+        }
+        memory[(memoryHead + memorySize) % memory.length] = index;
+        memorySize++;
+        rememberedIds[index] = id;
+    }
+
+    private void forget(int index) {
+        if (index != UNKNOWN) {
+            rememberedIds[index] = UNKNOWN;
+        }
+    }
+
+    private void forgetAll() {
+        Arrays.fill(rememberedIds, UNKNOWN);
+        memoryHead = 0;
+        memorySize = 0;
+    }
+
+    /**
+     * Obtiene la partida que el jugador está jugando actualmente.
+     *
+     * @return La partida actual, o null si todavía no empezó
+     */
+    HeadlessGame getGame() {
+        return game;
+    }
+}
@@ -0,0 +1,290 @@
+package com.example.minigamerecu.manager;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Punto de control de la partida en curso, guardado en un archivo mapeado en memoria.
+ * <p>
+ * El archivo tiene dos registros de {@link #RECORD_SIZE} bytes que se escriben de forma
+ * alternada: cada escritura va al registro que no contiene el último estado válido, se
+ * escribe primero el contenido, después la suma de verificación y al final el número de
+ * secuencia. Si la aplicación se cierra a mitad de una escritura, el registro incompleto no
+ * pasa la verificación y se usa el anterior. Escribir solo copia unos bytes en la página
+ * mapeada (sin llamadas al sistema ni {@code force()}), así que cuesta menos de un microsegundo;
+ * el sistema operativo persiste la página aunque el proceso termine de forma abrupta.
+ */
+public class GameCheckpoint implements AutoCloseable {
+
+    /** Tamaño en bytes de un registro. */
+    static final int RECORD_SIZE = 48;
+
+    private static final int SEQUENCE = 0;
+    private static final int SEED = 8;
+    private static final int MATCHED_BITS = 16;
+    private static final int ELAPSED = 24;
+    private static final int MOVES = 32;
+    private static final int HINTS_USED = 36;
+    private static final int DIFFICULTY = 40;
+    private static final int FLAGS = 41;
+    private static final int MAX_MOVES = 42;
+    private static final int CHECKSUM = 44;
+
+    private static final byte FLAG_ACTIVE = 1;
+    private static final byte FLAG_TIME_ATTACK = 2;
+    private static final GameManager.Difficulty[] DIFFICULTIES = GameManager.Difficulty.values();
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private long sequence;
+
+    /**
+     * Estado de una partida guardada en el punto de control.
+     */
+    public static final class Snapshot {
+        private final GameManager.Difficulty difficulty;
+        private final boolean timeAttack;
+        private final long seed;
+        private final long matchedBits;
+        private final int moves;
+        private final int hintsUsed;
+        private final long elapsedNanos;
+        private final int maxMoves;
+
+        /**
+         * Constructor de la clase Snapshot.
+         *
+         * @param difficulty La dificultad de la partida
+         * @param timeAttack true si la partida es contrarreloj
+         * @param seed La semilla del tablero
+         * @param matchedBits Bitmap de las posiciones emparejadas
+         * @param moves Los movimientos realizados
+         * @param hintsUsed Las pistas usadas
+         * @param elapsedNanos El tiempo de juego transcurrido
+         * @param maxMoves El límite de movimientos de la partida, o 0 si es el de la dificultad
+         */
+        Snapshot(GameManager.Difficulty difficulty, boolean timeAttack, long seed, long matchedBits,
+                 int moves, int hintsUsed, long elapsedNanos, int maxMoves) {
+            this.difficulty = difficulty;
+            this.timeAttack = timeAttack;
+            this.seed = seed;
+            this.matchedBits = matchedBits;
+            this.moves = moves;
+            this.hintsUsed = hintsUsed;
+            this.elapsedNanos = elapsedNanos;
+            this.maxMoves = maxMoves;
+        }
+
+        /**
+         * Obtiene la dificultad de la partida guardada.
+         *
+         * @return La dificultad
+         */
+        public GameManager.Difficulty getDifficulty() {
+            return difficulty;
+        }
+
+        /**
+         * Verifica si la partida guardada es contrarreloj.
+         *
+         * @return true si la partida es contrarreloj
+         */
+        public boolean isTimeAttack() {
+            return timeAttack;
+        }
+
+        /**
+         * Obtiene la semilla del tablero guardado.
+         *
+         * @return La semilla
+         */
+        public long getSeed() {
+            return seed;
+        }
+
+        /**
+         * Obtiene el bitmap de posiciones emparejadas (bit i = carta i emparejada).
+         *
+         * @return El bitmap de parejas
+         */
+        public long getMatchedBits() {
+            return matchedBits;
+        }
+
+        /**
+         * Obtiene los movimientos realizados en la partida guardada.
+         *
+         * @return El número de movimientos
+         */
+        public int getMoves() {
+            return moves;
+        }
+
+        /**
+         * Obtiene las pistas usadas en la partida guardada.
+         *
+         * @return El número de pistas usadas
+         */
+        public int getHintsUsed() {
+            return hintsUsed;
+        }
+
+        /**
+         * Obtiene el tiempo de juego transcurrido en la partida guardada.
+         *
+         * @return El tiempo transcurrido en nanosegundos
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * Obtiene el límite de movimientos con el que se jugaba la partida guardada, que en el modo
+         * adaptativo puede ser distinto del de la dificultad.
+         *
+         * @return El límite de movimientos, o 0 si es el de la dificultad
+         */
+        public int getMaxMoves() {
+            return maxMoves;
+        }
+
+        /**
+         * Obtiene el límite de movimientos efectivo de la partida guardada.
+         *
+         * @return El límite guardado o, si no hay, el de la dificultad
+         */
+        public int getEffectiveMaxMoves() {
+            return maxMoves > 0 ? maxMoves : difficulty.getMaxMoves();
+        }
+    }
+
+    private GameCheckpoint(FileChannel channel, MappedByteBuffer buffer) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.sequence = Math.max(validSequence(0), validSequence(RECORD_SIZE));
+    }
+
+    /**
+     * Abre (o crea) el archivo de punto de control y lo mapea en memoria.
+     *
+     * @param path La ruta del archivo
+     * @return El punto de control abierto
+     * @throws IOException Si no se puede crear o mapear el archivo
+     */
+    public static GameCheckpoint open(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        FileChannel channel = FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            return new GameCheckpoint(channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, 2L * RECORD_SIZE));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Guarda el estado de la partida en curso.
+     *
+     * @param difficulty La dificultad de la partida
+     * @param timeAttack true si la partida es contrarreloj
+     * @param seed La semilla del tablero
+     * @param matchedBits Bitmap de las posiciones emparejadas
+     * @param moves Los movimientos realizados
+     * @param hintsUsed Las pistas usadas
+     * @param elapsedNanos El tiempo de juego transcurrido
+     * @param maxMoves El límite de movimientos si difiere del de la dificultad (modo adaptativo), o 0
+     */
+    public void write(GameManager.Difficulty difficulty, boolean timeAttack, long seed, long matchedBits,
+                      int moves, int hintsUsed, long elapsedNanos, int maxMoves) {
+        byte flags = (byte) (FLAG_ACTIVE | (timeAttack ? FLAG_TIME_ATTACK : 0));
+        writeRecord(seed, matchedBits, elapsedNanos, moves, hintsUsed, (byte) difficulty.ordinal(), flags,
+            (short) maxMoves);
+    }
+
+    /**
+     * Marca que no hay partida en curso, por ejemplo al terminar o descartar la partida.
+     */
+    public void clear() {
+        writeRecord(0, 0, 0, 0, 0, (byte) 0, (byte) 0, (short) 0);
+    }
+
+    /**
+     * Lee el último estado válido guardado.
+     *
+     * @return La partida guardada, o null si no hay una partida en curso
+     */
+    public Snapshot readLatest() {
+        int offset = validSequence(0) >= validSequence(RECORD_SIZE) ? 0 : RECORD_SIZE;
+        if (validSequence(offset) <= 0) {
+            return null;
+        }
+        byte flags = buffer.get(offset + FLAGS);
+        int difficulty = buffer.get(offset + DIFFICULTY);
+        if ((flags & FLAG_ACTIVE) == 0 || difficulty < 0 || difficulty >= DIFFICULTIES.length) {
+            return null;
+        }
+        return new Snapshot(DIFFICULTIES[difficulty], (flags & FLAG_TIME_ATTACK) != 0,
+            buffer.getLong(offset + SEED), buffer.getLong(offset + MATCHED_BITS),
+            buffer.getInt(offset + MOVES), buffer.getInt(offset + HINTS_USED), buffer.getLong(offset + ELAPSED),
+            buffer.getShort(offset + MAX_MOVES) & 0xFFFF);
+    }
+
+    /**
+     * Cierra el archivo. Lo ya escrito permanece en el archivo.
+     *
+     * @throws IOException Si hay un error al cerrar el archivo
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void writeRecord(long seed, long matchedBits, long elapsedNanos, int moves, int hintsUsed,
+                             byte difficulty, byte flags, short maxMoves) {
+        long next = sequence + 1;
+        int offset = (int) (next & 1) * RECORD_SIZE;
+        buffer.putLong(offset + SEQUENCE, 0);
+        buffer.putLong(offset + SEED, seed);
+        buffer.putLong(offset + MATCHED_BITS, matchedBits);
+        buffer.putLong(offset + ELAPSED, elapsedNanos);
+        buffer.putInt(offset + MOVES, moves);
+        buffer.putInt(offset + HINTS_USED, hintsUsed);
+        buffer.put(offset + DIFFICULTY, difficulty);
+        buffer.put(offset + FLAGS, flags);
+        buffer.putShort(offset + MAX_MOVES, maxMoves);
+        buffer.putInt(offset + CHECKSUM,
+            checksum(next, seed, matchedBits, elapsedNanos, moves, hintsUsed, difficulty, flags, maxMoves));
+        buffer.putLong(offset + SEQUENCE, next);
+        sequence = next;
+    }
+
+    private long validSequence(int offset) {
+        long seq = buffer.getLong(offset + SEQUENCE);
+        if (seq <= 0) {
+            return 0;
+        }
+        int expected = checksum(seq, buffer.getLong(offset + SEED), buffer.getLong(offset + MATCHED_BITS),
+            buffer.getLong(offset + ELAPSED), buffer.getInt(offset + MOVES), buffer.getInt(offset + HINTS_USED),
+            buffer.get(offset + DIFFICULTY), buffer.get(offset + FLAGS), buffer.getShort(offset + MAX_MOVES));
+        return buffer.getInt(offset + CHECKSUM) == expected ? seq : 0;
+    }
+
+    private static int checksum(long sequence, long seed, long matchedBits, long elapsedNanos, int moves,
+                                int hintsUsed, byte difficulty, byte flags, short maxMoves) {
+        long h = sequence * 0x9E3779B97F4A7C15L;
+        h = (h ^ seed) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ matchedBits) * 0x94D049BB133111EBL;
+        h = (h ^ elapsedNanos) * 0x9E3779B97F4A7C15L;
+        h = (h ^ ((long) moves << 32 | (hintsUsed & 0xFFFFFFFFL))) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ ((maxMoves & 0xFFFF) << 16 | difficulty << 8 | (flags & 0xFF))) * 0x94D049BB133111EBL;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.minigamerecu.manager;
+
+/**
+ * Reloj de partida de alta resolución para el modo contrarreloj.
+ * El tiempo se calcula siempre como diferencia de {@link System#nanoTime()} respecto al inicio
+ * (descontando las pausas), nunca sumando deltas por frame, por lo que no acumula deriva
+ * aunque los frames se retrasen. Los tiempos parciales por pareja se guardan en un arreglo
+ * reservado al reiniciar el reloj, así que registrar un parcial no reserva memoria.
+ */
+public class GameClock {
+
+    private long limitNanos;
+    private long startNanos;
+    private long pausedAtNanos;
+    private long pausedTotalNanos;
+    private long stoppedElapsedNanos = -1;
+    private long initialElapsedNanos;
+    private boolean started;
+    private boolean paused;
+    private long[] splits = new long[0];
+    private int splitCount;
+
+    /**
+     * Reinicia el reloj para una nueva partida.
+     *
+     * @param totalPairs Número de parejas, para reservar los tiempos parciales
+     * @param limitNanos Tiempo límite de la partida en nanosegundos, o 0 si no hay límite
+     */
+    public void reset(int totalPairs, long limitNanos) {
+        if (splits.length != totalPairs) {
+            splits = new long[totalPairs];
+        }
+        this.limitNanos = limitNanos;
+        splitCount = 0;
+        started = false;
+        paused = false;
+        pausedTotalNanos = 0;
+        stoppedElapsedNanos = -1;
+        initialElapsedNanos = 0;
+    }
+
+    /**
+     * Fija el tiempo ya jugado antes de arrancar el reloj, al reanudar una partida guardada.
+     *
+     * @param elapsedNanos El tiempo ya transcurrido en nanosegundos
+     */
+    public void restoreElapsed(long elapsedNanos) {
+        if (!started) {
+            initialElapsedNanos = Math.max(0, elapsedNanos);
+        }
+    }
+
+    /**
+     * Arranca el reloj si todavía no estaba en marcha.
+     *
+     * @param now El instante actual según {@link System#nanoTime()}
+     */
+    public void start(long now) {
+        if (!started) {
+            started = true;
+            startNanos = now - initialElapsedNanos;
+        }
+    }
+
+    /**
+     * Pausa el reloj, por ejemplo mientras la ventana está minimizada.
+     *
+     * @param now El instante actual según {@link System#nanoTime()}
+     */
+    public void pause(long now) {
+        if (isRunning() && !paused) {
+            paused = true;
+            pausedAtNanos = now;
+        }
+    }
+
+    /**
+     * Reanuda el reloj tras {@link #pause(long)}, descontando el tiempo en pausa.
+     *
+     * @param now El instante actual según {@link System#nanoTime()}
+     */
+    public void resume(long now) {
+        if (paused) {
+            paused = false;
+            pausedTotalNanos += now - pausedAtNanos;
+        }
+    }
+
+    /**
+     * Detiene el reloj y congela el tiempo transcurrido.
+     *
+     * @param now El instante actual según {@link System#nanoTime()}
+     */
+    public void stop(long now) {
+        if (isRunning()) {
+            stoppedElapsedNanos = getElapsedNanos(now);
+        }
+    }
+
+    /**
+     * Registra el tiempo parcial de una pareja encontrada.
+     *
+     * @param now El instante actual según {@link System#nanoTime()}
+     */
+    public void split(long now) {
+        if (isRunning() && splitCount < splits.length) {
+            splits[splitCount++] = getElapsedNanos(now);
+        }
+    }
+
+    /**
+     * Obtiene el tiempo transcurrido desde el inicio de la partida, sin contar las pausas.
+     *
+     * @param now El instante actual según {@link System#nanoTime()}
+     * @return El tiempo transcurrido en nanosegundos
+     */
+    public long getElapsedNanos(long now) {
+        if (!started) {
+            return initialElapsedNanos;
+        }
+        if (stoppedElapsedNanos >= 0) {
+            return stoppedElapsedNanos;
+        }
+        long end = paused ? pausedAtNanos : now;
+        return end - startNanos - pausedTotalNanos;
+    }
+
+    /**
+     * Obtiene el tiempo restante antes del límite.
+     *
+     * @param now El instante actual según {@link System#nanoTime()}
+     * @return El tiempo restante en nanosegundos (nunca negativo), o {@link Long#MAX_VALUE} si no hay límite
+     */
+    public long getRemainingNanos(long now) {
+        if (limitNanos <= 0) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, limitNanos - getElapsedNanos(now));
+    }
+
+    /**
+     * Verifica si el reloj está en marcha (arrancado y no detenido).
+     *
+     * @return true si el reloj está en marcha
+     */
+    public boolean isRunning() {
+        return started && stoppedElapsedNanos < 0;
+    }
+
+    /**
+     * Obtiene el número de tiempos parciales registrados.
+     *
+     * @return El número de parciales
+     */
+    public int getSplitCount() {
+        return splitCount;
+    }
+
+    /**
+     * Obtiene un tiempo parcial.
+     *
+     * @param index El índice del parcial (0 para la primera pareja)
+     * @return El tiempo desde el inicio hasta esa pareja, en nanosegundos
+     */
+    public long getSplitNanos(int index) {
+        if (index < 0 || index >= splitCount) {
+            throw new IndexOutOfBoundsException("Parcial inexistente: " + index);
+        }
+        return splits[index];
+    }
+}
@@ -1,8 +1,15 @@
 package com.example.minigamerecu.manager;
 
+import com.example.minigamerecu.adaptive.AdaptiveDifficulty;
+import com.example.minigamerecu.adaptive.SkillEstimate;
 import com.example.minigamerecu.model.Card;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Gestor principal del juego que implementa el patrón Singleton.
@@ -27,18 +34,22 @@ public class GameManager {
     
     /**
      * Enum que representa los diferentes niveles de dificultad del juego.
-     * Cada dificultad tiene un tamaño de tablero, número de pares y límite de movimientos.
+     * Cada dificultad tiene un tamaño de tablero, número de pares, límite de movimientos,
+     * tiempo límite para el modo contrarreloj y modo de entrada (cola de clics o descarte
+     * de clics durante el procesamiento).
      */
     public enum Difficulty {
-        EASY(4, 8, 30, "Fácil"),
-        MEDIUM(4, 8, 20, "Medio"),
-        HARD(6, 18, 40, "Difícil"),
-        EXPERT(6, 18, 30, "Experto");
+        EASY(4, 8, 30, "Fácil", false, 90),
+        MEDIUM(4, 8, 20, "Medio", false, 60),
+        HARD(6, 18, 40, "Difícil", true, 180),
+        EXPERT(6, 18, 30, "Experto", true, 120);
         
         private final int gridSize;
         private final int totalPairs;
         private final int maxMoves;
         private final String displayName;
+        private final boolean inputQueue;
+        private final int timeLimitSeconds;
         
         /**
          * Constructor del enum Difficulty.
@@ -47,12 +58,17 @@ public class GameManager {
          * @param totalPairs Número total de pares de cartas
          * @param maxMoves Número máximo de movimientos permitidos
          * @param displayName Nombre para mostrar de la dificultad
+         * @param inputQueue true si los clics durante el procesamiento se encolan en lugar de descartarse
+         * @param timeLimitSeconds Tiempo límite en segundos para el modo contrarreloj
          */
-        Difficulty(int gridSize, int totalPairs, int maxMoves, String displayName) {
+        Difficulty(int gridSize, int totalPairs, int maxMoves, String displayName, boolean inputQueue,
+                   int timeLimitSeconds) {
             this.gridSize = gridSize;
             this.totalPairs = totalPairs;
             this.maxMoves = maxMoves;
             this.displayName = displayName;
+            this.inputQueue = inputQueue;
+            this.timeLimitSeconds = timeLimitSeconds;
         }
         
         /**
@@ -90,6 +106,26 @@ public class GameManager {
         public String getDisplayName() {
             return displayName;
         }
+        
+        /**
+         * Indica si la dificultad usa la cola de entrada.
+         * Con la cola activa, un clic durante la espera tras un fallo voltea la pareja fallida
+         * de inmediato, y los clics recibidos mientras el juego procesa se aplican en orden.
+         * 
+         * @return true si los clics se encolan, false si se descartan durante el procesamiento
+         */
+        public boolean isInputQueueEnabled() {
+            return inputQueue;
+        }
+        
+        /**
+         * Obtiene el tiempo límite de la partida en el modo contrarreloj.
+         * 
+         * @return El tiempo límite en segundos
+         */
+        public int getTimeLimitSeconds() {
+            return timeLimitSeconds;
+        }
     }
     
     private Difficulty currentDifficulty = Difficulty.MEDIUM;
@@ -100,22 +136,43 @@ public class GameManager {
     
     private int moves;
     private int matchedPairsCount;
+    private int[] matchMoves = new int[0];
+    private int matchMoveCount;
     private boolean gameWon;
     private boolean processing;
     private List<Card> currentCards;
+    private long boardSeed;
     
     private static final int MAX_HINTS = 3;
     private int hintsUsed;
     
+    private boolean timeAttack;
+    private boolean timeExpired;
+    
+    private boolean adaptive;
+    private int adaptiveMaxMoves;
+    private int lastMatchMoves;
+    private boolean skillRecorded;
+    private final SkillEstimate skill = new SkillEstimate();
+    private final GameClock clock = new GameClock();
+    
     private int totalGamesPlayed;
     private int totalGamesWon;
     private int bestScore;
+    private final long[] bestTimeNanos = new long[Difficulty.values().length];
+    
+    private final List<GameStateListener> stateListeners = new CopyOnWriteArrayList<>();
+    
+    private GameCheckpoint checkpoint;
+    private GameCheckpoint.Snapshot resumableGame;
+    private boolean resumeRequested;
     
     private GameManager() {
         resetGame();
         totalGamesPlayed = 0;
         totalGamesWon = 0;
         bestScore = Integer.MAX_VALUE;
+        Arrays.fill(bestTimeNanos, Long.MAX_VALUE);
     }
     
     /**
@@ -135,6 +192,34 @@ public class GameManager {
         return instance;
     }
     
+    /**
+     * Registra un observador que se notifica cada vez que cambia el estado de la partida
+     * (movimientos, parejas, pistas, procesamiento o dificultad).
+     * 
+     * @param listener El observador a registrar
+     */
+    public void addStateListener(GameStateListener listener) {
+        stateListeners.add(listener);
+    }
+    
+    /**
+     * Elimina un observador registrado con {@link #addStateListener(GameStateListener)}.
+     * 
+     * @param listener El observador a eliminar
+     */
+    public void removeStateListener(GameStateListener listener) {
+        stateListeners.remove(listener);
+    }
+    
+    /**
+     * Notifica a los observadores que el estado de la partida cambió.
+     */
+    private void fireStateChanged() {
+        for (GameStateListener listener : stateListeners) {
+            listener.onGameStateChanged(this);
+        }
+    }
+    
     /**
      * Reinicia el estado del juego para una nueva partida.
      * Restablece movimientos, parejas encontradas, estado de victoria y pistas usadas.
@@ -146,6 +231,146 @@ public class GameManager {
         processing = false;
         currentCards = new ArrayList<>();
         hintsUsed = 0;
+        boardSeed = ThreadLocalRandom.current().nextLong();
+        if (matchMoves.length != getTotalPairs()) {
+            matchMoves = new int[getTotalPairs()];
+        }
+        matchMoveCount = 0;
+        lastMatchMoves = 0;
+        skillRecorded = false;
+        timeExpired = false;
+        clock.reset(getTotalPairs(), timeAttack ? currentDifficulty.getTimeLimitSeconds() * 1_000_000_000L : 0);
+        fireStateChanged();
+    }
+    
+    /**
+     * Reanuda una partida guardada: restaura la dificultad, la semilla del tablero, los contadores,
+     * el límite de movimientos del modo adaptativo y el tiempo jugado. Las cartas emparejadas se restauran en la vista con
+     * {@link GameCheckpoint.Snapshot#getMatchedBits()}.
+     * 
+     * @param saved La partida guardada
+     */
+    public void resumeGame(GameCheckpoint.Snapshot saved) {
+        currentDifficulty = saved.getDifficulty();
+        timeAttack = saved.isTimeAttack();
+        adaptiveMaxMoves = saved.getMaxMoves();
+        totalGamesPlayed++;
+        resetGame();
+        boardSeed = saved.getSeed();
+        moves = saved.getMoves();
+        lastMatchMoves = moves;
+        hintsUsed = saved.getHintsUsed();
+        matchedPairsCount = Long.bitCount(saved.getMatchedBits()) / 2;
+        clock.restoreElapsed(saved.getElapsedNanos());
+        fireStateChanged();
+    }
+    
+    /**
+     * Abre el archivo de punto de control y lee la partida que quedó en curso, si la hay. Una
+     * partida que ya llegó a su límite de movimientos no se ofrece, porque no se podría jugar.
+     * 
+     * @param path La ruta del archivo de punto de control
+     * @throws IOException Si no se puede abrir o mapear el archivo
+     */
+    public void openCheckpoint(Path path) throws IOException {
+        closeCheckpoint();
+        checkpoint = GameCheckpoint.open(path);
+        resumableGame = checkpoint.readLatest();
+        if (resumableGame != null && resumableGame.getMoves() >= resumableGame.getEffectiveMaxMoves()) {
+            resumableGame = null;
+            checkpoint.clear();
+        }
+    }
+    
+    /**
+     * Cierra el archivo de punto de control. La partida guardada permanece en el archivo.
+     */
+    public void closeCheckpoint() {
+        if (checkpoint != null) {
+            try {
+                checkpoint.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            checkpoint = null;
+        }
+    }
+    
+    /**
+     * Guarda el estado de la partida en curso en el punto de control, o lo borra si la partida terminó.
+     * Solo copia unos bytes a la página mapeada, así que se puede llamar tras cada movimiento.
+     */
+    public void saveCheckpoint() {
+        if (checkpoint == null) {
+            return;
+        }
+        if (isGameOver()) {
+            checkpoint.clear();
+            return;
+        }
+        long matchedBits = 0;
+        for (int i = 0; i < currentCards.size(); i++) {
+            if (currentCards.get(i).isMatched()) {
+                matchedBits |= 1L << i;
+            }
+        }
+        checkpoint.write(currentDifficulty, timeAttack, boardSeed, matchedBits, moves, hintsUsed,
+            clock.getElapsedNanos(System.nanoTime()), adaptiveMaxMoves);
+    }
+    
+    /**
+     * Verifica si quedó una partida sin terminar de una ejecución anterior.
+     * 
+     * @return true si hay una partida que se puede reanudar
+     */
+    public boolean hasResumableGame() {
+        return resumableGame != null;
+    }
+    
+    /**
+     * Obtiene la partida sin terminar de una ejecución anterior.
+     * 
+     * @return La partida guardada, o null si no hay
+     */
+    public GameCheckpoint.Snapshot getResumableGame() {
+        return resumableGame;
+    }
+    
+    /**
+     * Pide que la siguiente partida sea la partida guardada y selecciona su dificultad y modo.
+     */
+    public void requestResume() {
+        if (resumableGame != null) {
+            setDifficulty(resumableGame.getDifficulty());
+            timeAttack = resumableGame.isTimeAttack();
+            resumeRequested = true;
+        }
+    }
+    
+    /**
+     * Obtiene la partida guardada si se pidió reanudarla, y consume la petición.
+     * 
+     * @return La partida a reanudar, o null si se debe empezar una partida nueva
+     */
+    public GameCheckpoint.Snapshot takeResumeRequest() {
+        if (!resumeRequested) {
+            return null;
+        }
+        resumeRequested = false;
+        GameCheckpoint.Snapshot saved = resumableGame;
+        resumableGame = null;
+        return saved;
+    }
+    
+    /**
+     * Descarta la partida guardada, por ejemplo al empezar una partida nueva desde el menú.
+     */
+    public void discardResumableGame() {
+        resumableGame = null;
+        resumeRequested = false;
+        if (checkpoint != null) {
+            checkpoint.clear();
+        }
     }
     
     /**
@@ -157,6 +382,16 @@ public class GameManager {
         this.currentCards = new ArrayList<>(cards);
     }
     
+    /**
+     * Obtiene la semilla con la que se baraja el tablero de la partida actual.
+     * La misma semilla reproduce el mismo tablero en la interfaz y en modo headless.
+     * 
+     * @return La semilla del tablero
+     */
+    public long getBoardSeed() {
+        return boardSeed;
+    }
+    
     /**
      * Obtiene el número de movimientos realizados en la partida actual.
      * 
@@ -171,6 +406,7 @@ public class GameManager {
      */
     public void incrementMoves() {
         this.moves++;
+        fireStateChanged();
     }
     
     /**
@@ -183,10 +419,40 @@ public class GameManager {
     }
     
     /**
-     * Incrementa el contador de parejas encontradas en uno.
+     * Incrementa el contador de parejas encontradas en uno y actualiza la habilidad estimada con
+     * los movimientos que costó la pareja.
      */
     public void incrementMatchedPairs() {
         this.matchedPairsCount++;
+        if (matchMoveCount < matchMoves.length) {
+            matchMoves[matchMoveCount++] = moves;
+        }
+        skill.recordMatch(getGridSize(), moves - lastMatchMoves);
+        lastMatchMoves = moves;
+        fireStateChanged();
+    }
+    
+    /**
+     * Obtiene cuántas parejas se encontraron en esta sesión de juego (sin contar las de una partida
+     * reanudada, cuyo movimiento no se conoce).
+     * 
+     * @return El número de parejas con movimiento registrado
+     */
+    public int getMatchMoveCount() {
+        return matchMoveCount;
+    }
+    
+    /**
+     * Obtiene el número de movimiento en que se encontró una pareja.
+     * 
+     * @param index El orden de la pareja (0 para la primera encontrada)
+     * @return El número de movimiento, contando desde 1
+     */
+    public int getMatchMove(int index) {
+        if (index < 0 || index >= matchMoveCount) {
+            throw new IndexOutOfBoundsException("Pareja inexistente: " + index);
+        }
+        return matchMoves[index];
     }
     
     /**
@@ -200,18 +466,30 @@ public class GameManager {
     
     /**
      * Establece el estado de victoria del juego.
-     * Si el juego se gana, actualiza las estadísticas globales.
+     * Si el juego se gana, actualiza las estadísticas globales y, en modo contrarreloj,
+     * detiene el reloj y actualiza el mejor tiempo de la dificultad. Con false y la partida
+     * terminada (sin movimientos), la registra como derrota en la habilidad estimada.
      * 
      * @param gameWon true si el juego ha sido ganado, false en caso contrario
      */
     public void setGameWon(boolean gameWon) {
         this.gameWon = gameWon;
+        if (gameWon || isGameOver()) {
+            recordSkill(gameWon);
+        }
         if (gameWon) {
             totalGamesWon++;
             if (moves < bestScore) {
                 bestScore = moves;
             }
+            if (timeAttack) {
+                long now = System.nanoTime();
+                clock.stop(now);
+                int slot = currentDifficulty.ordinal();
+                bestTimeNanos[slot] = Math.min(bestTimeNanos[slot], clock.getElapsedNanos(now));
+            }
         }
+        fireStateChanged();
     }
     
     /**
@@ -229,7 +507,10 @@ public class GameManager {
      * @param processing true si el juego está procesando, false en caso contrario
      */
     public void setProcessing(boolean processing) {
-        this.processing = processing;
+        if (this.processing != processing) {
+            this.processing = processing;
+            fireStateChanged();
+        }
     }
     
     /**
@@ -265,7 +546,10 @@ public class GameManager {
      * @param difficulty La dificultad a establecer
      */
     public void setDifficulty(Difficulty difficulty) {
-        this.currentDifficulty = difficulty;
+        if (this.currentDifficulty != difficulty) {
+            this.currentDifficulty = difficulty;
+            fireStateChanged();
+        }
     }
     
     /**
@@ -292,7 +576,7 @@ public class GameManager {
      * @return El límite de movimientos
      */
     public int getMaxMoves() {
-        return currentDifficulty.getMaxMoves();
+        return adaptiveMaxMoves > 0 ? adaptiveMaxMoves : currentDifficulty.getMaxMoves();
     }
     
     /**
@@ -333,12 +617,30 @@ public class GameManager {
     
     /**
      * Inicia una nueva partida.
-     * Incrementa el contador de partidas jugadas y reinicia el estado del juego.
+     * Incrementa el contador de partidas jugadas y reinicia el estado del juego. En modo
+     * adaptativo, antes elige el tablero y el límite de movimientos según la habilidad estimada.
      */
     public void startNewGame() {
         totalGamesPlayed++;
+        if (adaptive) {
+            currentDifficulty = AdaptiveDifficulty.nextDifficulty(skill, currentDifficulty);
+            adaptiveMaxMoves = AdaptiveDifficulty.maxMoves(skill, currentDifficulty);
+        } else {
+            adaptiveMaxMoves = 0;
+        }
         resetGame();
     }
+
+    /**
+     * Inicia una nueva partida con un tablero barajado de antemano, por ejemplo mientras se
+     * mostraba la pantalla de inicio.
+     * 
+     * @param seed La semilla con la que se barajó el tablero
+     */
+    public void startNewGame(long seed) {
+        startNewGame();
+        boardSeed = seed;
+    }
     
     /**
      * Obtiene el número total de partidas jugadas.
@@ -387,6 +689,139 @@ public class GameManager {
         totalGamesPlayed = 0;
         totalGamesWon = 0;
         bestScore = Integer.MAX_VALUE;
+        Arrays.fill(bestTimeNanos, Long.MAX_VALUE);
+    }
+    
+    /**
+     * Verifica si el modo contrarreloj está activo.
+     * 
+     * @return true si las partidas tienen tiempo límite
+     */
+    public boolean isTimeAttack() {
+        return timeAttack;
+    }
+    
+    /**
+     * Activa o desactiva el modo contrarreloj. Se aplica a partir de la siguiente partida.
+     * 
+     * @param timeAttack true para activar el modo contrarreloj
+     */
+    public void setTimeAttack(boolean timeAttack) {
+        this.timeAttack = timeAttack;
+    }
+    
+    /**
+     * Verifica si el modo adaptativo está activo.
+     * 
+     * @return true si el tablero y el límite de movimientos dependen de la habilidad estimada
+     */
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+    
+    /**
+     * Activa o desactiva el modo adaptativo. Se aplica a partir de la siguiente partida.
+     * 
+     * @param adaptive true para activar el modo adaptativo
+     */
+    public void setAdaptive(boolean adaptive) {
+        this.adaptive = adaptive;
+    }
+    
+    /**
+     * Obtiene la dificultad base que elegiría el modo adaptativo para la siguiente partida.
+     * 
+     * @return La dificultad base de la siguiente partida
+     */
+    public Difficulty getAdaptiveDifficulty() {
+        return AdaptiveDifficulty.nextDifficulty(skill, currentDifficulty);
+    }
+    
+    /**
+     * Obtiene el límite de movimientos que fijaría el modo adaptativo para una dificultad base.
+     * 
+     * @param difficulty La dificultad base
+     * @return El límite de movimientos
+     */
+    public int getAdaptiveMaxMoves(Difficulty difficulty) {
+        return AdaptiveDifficulty.maxMoves(skill, difficulty);
+    }
+    
+    /**
+     * Obtiene una copia de la habilidad estimada del jugador en esta sesión.
+     * 
+     * @return La habilidad estimada
+     */
+    public SkillEstimate getSkill() {
+        return skill.copy();
+    }
+    
+    /**
+     * Registra el resultado de la partida en la habilidad estimada, una sola vez por partida.
+     * En una derrota, los movimientos desde la última pareja cuentan como una observación más:
+     * son una cota inferior de lo que habría costado la siguiente.
+     * 
+     * @param won true si la partida fue ganada
+     */
+    private void recordSkill(boolean won) {
+        if (skillRecorded) {
+            return;
+        }
+        skillRecorded = true;
+        if (!won && moves > lastMatchMoves) {
+            skill.recordMatch(getGridSize(), moves - lastMatchMoves);
+        }
+        skill.recordGame(won, hintsUsed);
+    }
+    
+    /**
+     * Obtiene el reloj de la partida actual.
+     * 
+     * @return El reloj de la partida
+     */
+    public GameClock getClock() {
+        return clock;
+    }
+    
+    /**
+     * Verifica si se agotó el tiempo de la partida en modo contrarreloj.
+     * 
+     * @return true si se agotó el tiempo
+     */
+    public boolean isTimeExpired() {
+        return timeExpired;
+    }
+    
+    /**
+     * Marca la partida como perdida por tiempo y detiene el reloj.
+     */
+    public void expireTime() {
+        if (!timeExpired) {
+            timeExpired = true;
+            clock.stop(System.nanoTime());
+            recordSkill(false);
+            fireStateChanged();
+        }
+    }
+    
+    /**
+     * Verifica si la partida terminó por victoria, por límite de movimientos o por tiempo.
+     * 
+     * @return true si la partida terminó
+     */
+    public boolean isGameOver() {
+        return gameWon || timeExpired || isMaxMovesReached();
+    }
+    
+    /**
+     * Obtiene el mejor tiempo (menor tiempo para ganar en contrarreloj) de una dificultad.
+     * 
+     * @param difficulty La dificultad a consultar
+     * @return El mejor tiempo en milisegundos, o 0 si no hay tiempo registrado
+     */
+    public long getBestTimeMillis(Difficulty difficulty) {
+        long best = bestTimeNanos[difficulty.ordinal()];
+        return best == Long.MAX_VALUE ? 0 : best / 1_000_000L;
     }
     
     /**
@@ -422,7 +857,7 @@ public class GameManager {
      * @return true si se puede usar una pista, false en caso contrario
      */
     public boolean canUseHint() {
-        return hintsUsed < MAX_HINTS && !gameWon && !isMaxMovesReached();
+        return hintsUsed < MAX_HINTS && !isGameOver();
     }
     
     /**
@@ -432,6 +867,7 @@ public class GameManager {
     public void useHint() {
         if (canUseHint()) {
             hintsUsed++;
+            fireStateChanged();
         }
     }
 }
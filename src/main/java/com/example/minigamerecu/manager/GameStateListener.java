@@ -0,0 +1,18 @@
+package com.example.minigamerecu.manager;
+
+/**
+ * Observador de los cambios de estado de la partida en el {@link GameManager}.
+ * Se notifica de forma síncrona en el hilo que modificó el estado; las vistas deben
+ * agrupar las notificaciones y redibujar una sola vez.
+ */
+@FunctionalInterface
+public interface GameStateListener {
+
+    /**
+     * Se invoca cuando cambian los movimientos, las parejas, las pistas, el estado de
+     * procesamiento o la dificultad.
+     * 
+     * @param gameManager El gestor cuyo estado cambió
+     */
+    void onGameStateChanged(GameManager gameManager);
+}
@@ -0,0 +1,157 @@
+package com.example.minigamerecu.metrics;
+
+import com.example.minigamerecu.manager.GameManager;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * Mapa de calor de interacciones por casilla del tablero.
+ * Mantiene un {@link StripedCounterArray} por cada {@link CellMetric} y tamaño de tablero de las
+ * dificultades, así que registrar un clic es un incremento atómico sin contención ni reservas
+ * de memoria. Las lecturas suman las franjas y solo se hacen al exportar o al dibujar el mapa.
+ */
+public class CellHeatmap {
+
+    private static final CellMetric[] METRICS = CellMetric.values();
+    private static final int[] GRID_SIZES = gridSizes();
+
+    private final StripedCounterArray[][] counters;
+
+    /**
+     * Crea un mapa de calor vacío para todos los tamaños de tablero de las dificultades.
+     */
+    public CellHeatmap() {
+        int maxGridSize = GRID_SIZES[GRID_SIZES.length - 1];
+        counters = new StripedCounterArray[METRICS.length][maxGridSize + 1];
+        for (int m = 0; m < METRICS.length; m++) {
+            for (int gridSize : GRID_SIZES) {
+                counters[m][gridSize] = new StripedCounterArray(gridSize * gridSize);
+            }
+        }
+    }
+
+    /**
+     * Cuenta una interacción sobre una casilla.
+     *
+     * @param metric El contador a incrementar
+     * @param gridSize El tamaño del tablero (gridSize x gridSize)
+     * @param cell La posición de la casilla, fila por fila
+     */
+    public void record(CellMetric metric, int gridSize, int cell) {
+        counters[metric.ordinal()][gridSize].increment(cell);
+    }
+
+    /**
+     * Copia los contadores de un tablero en el arreglo indicado, sin reservar memoria.
+     *
+     * @param metric El contador a consultar
+     * @param gridSize El tamaño del tablero
+     * @param target Arreglo de al menos gridSize x gridSize posiciones
+     */
+    public void copyTo(CellMetric metric, int gridSize, long[] target) {
+        counters[metric.ordinal()][gridSize].copyTo(target);
+    }
+
+    /**
+     * Obtiene una copia de los contadores de un tablero.
+     *
+     * @param metric El contador a consultar
+     * @param gridSize El tamaño del tablero
+     * @return Un arreglo nuevo con un valor por casilla, fila por fila
+     */
+    public long[] snapshot(CellMetric metric, int gridSize) {
+        long[] values = new long[gridSize * gridSize];
+        copyTo(metric, gridSize, values);
+        return values;
+    }
+
+    /**
+     * Obtiene los tamaños de tablero con contadores.
+     *
+     * @return Los tamaños, de menor a mayor
+     */
+    public static int[] getGridSizes() {
+        return GRID_SIZES.clone();
+    }
+
+    /**
+     * Reinicia todos los contadores.
+     */
+    public void reset() {
+        for (StripedCounterArray[] byGrid : counters) {
+            for (StripedCounterArray array : byGrid) {
+                if (array != null) {
+                    array.reset();
+                }
+            }
+        }
+    }
+
+    /**
+     * Agrega los contadores como objeto JSON {@code {"clicks": {"4": [...], "6": [...]}, ...}}.
+     *
+     * @param json El destino del objeto
+     * @param indent La sangría de las líneas interiores
+     * @return El mismo destino, para encadenar llamadas
+     */
+    public StringBuilder appendJson(StringBuilder json, String indent) {
+        json.append('{');
+        for (int m = 0; m < METRICS.length; m++) {
+            json.append(m == 0 ? "\n" : ",\n").append(indent).append("  \"").append(METRICS[m].getKey()).append("\": {");
+            for (int g = 0; g < GRID_SIZES.length; g++) {
+                json.append(g == 0 ? "" : ", ").append('"').append(GRID_SIZES[g]).append("\": [");
+                StripedCounterArray array = counters[m][GRID_SIZES[g]];
+                for (int cell = 0; cell < array.length(); cell++) {
+                    json.append(cell == 0 ? "" : ",").append(array.sum(cell));
+                }
+                json.append(']');
+            }
+            json.append('}');
+        }
+        return json.append('\n').append(indent).append('}');
+    }
+
+    /**
+     * Exporta los contadores distintos de cero como CSV con columnas
+     * {@code metric,gridSize,row,col,count}. El archivo se reemplaza de forma atómica.
+     *
+     * @param file El archivo de destino
+     * @throws IOException Si hay un error al escribir el archivo
+     */
+    public void writeCsv(Path file) throws IOException {
+        StringBuilder csv = new StringBuilder("metric,gridSize,row,col,count\n");
+        for (CellMetric metric : METRICS) {
+            for (int gridSize : GRID_SIZES) {
+                StripedCounterArray array = counters[metric.ordinal()][gridSize];
+                for (int cell = 0; cell < array.length(); cell++) {
+                    long count = array.sum(cell);
+                    if (count > 0) {
+                        csv.append(metric.getKey()).append(',').append(gridSize).append(',')
+                            .append(cell / gridSize).append(',').append(cell % gridSize).append(',')
+                            .append(count).append('\n');
+                    }
+                }
+            }
+        }
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.writeString(temp, csv, StandardCharsets.UTF_8);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static int[] gridSizes() {
+        return Arrays.stream(GameManager.Difficulty.values())
+            .mapToInt(GameManager.Difficulty::getGridSize)
+            .distinct()
+            .sorted()
+            .toArray();
+    }
+}
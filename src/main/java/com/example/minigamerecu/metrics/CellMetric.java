@@ -0,0 +1,30 @@
+package com.example.minigamerecu.metrics;
+
+/**
+ * Contadores por casilla del tablero mantenidos por el {@link CellHeatmap}.
+ */
+public enum CellMetric {
+    CLICKS("clicks"),
+    FIRST_CLICKS("firstClicks"),
+    MISMATCHES("mismatches");
+
+    private final String key;
+
+    /**
+     * Constructor del enum CellMetric.
+     *
+     * @param key Nombre del contador en JMX y en los archivos de snapshot
+     */
+    CellMetric(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Obtiene el nombre del contador usado en JMX y en los snapshots.
+     *
+     * @return El nombre del contador
+     */
+    public String getKey() {
+        return key;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.minigamerecu.metrics;
+
+/**
+ * Contadores de eventos del juego mantenidos por el {@link MetricsRegistry}.
+ */
+public enum CounterMetric {
+    GAMES_STARTED("gamesStarted"),
+    CARD_FLIPS("cardFlips"),
+    MATCHES("matches"),
+    MISMATCHES("mismatches"),
+    HINTS_USED("hintsUsed"),
+    FRAMES("frames");
+
+    private final String key;
+
+    /**
+     * Constructor del enum CounterMetric.
+     *
+     * @param key Nombre del contador en JMX y en los archivos de snapshot
+     */
+    CounterMetric(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Obtiene el nombre del contador usado en JMX y en los snapshots.
+     *
+     * @return El nombre del contador
+     */
+    public String getKey() {
+        return key;
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.minigamerecu.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latencias log-lineal al estilo HDR.
+ * Cada potencia de dos se divide en 16 sub-rangos (precisión aproximada del 6%),
+ * con valores desde 1 ns hasta unos 18 minutos. Registrar un valor no reserva memoria
+ * ni usa bloqueos, por lo que puede usarse desde cualquier hilo en la ruta crítica.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKET_COUNT * 2;
+    private static final int MAX_MAGNITUDE = 40;
+    private static final long MAX_TRACKABLE = (1L << (MAX_MAGNITUDE + 1)) - 1;
+    private static final int BUCKET_COUNT = (MAX_MAGNITUDE - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Registra una duración en nanosegundos.
+     * Los valores negativos se ignoran y los mayores al rango se acotan al máximo.
+     *
+     * @param nanos La duración a registrar
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            return;
+        }
+        long value = Math.min(nanos, MAX_TRACKABLE);
+        buckets.incrementAndGet(indexOf(value));
+        count.increment();
+        sum.add(value);
+        long currentMax = max.get();
+        while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+            currentMax = max.get();
+        }
+    }
+
+    /**
+     * Obtiene el número de valores registrados.
+     *
+     * @return El número de muestras
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Obtiene el valor máximo registrado.
+     *
+     * @return El máximo en nanosegundos
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Obtiene la media de los valores registrados.
+     *
+     * @return La media en nanosegundos, o 0 si no hay muestras
+     */
+    public double getMean() {
+        long samples = count.sum();
+        return samples == 0 ? 0.0 : (double) sum.sum() / samples;
+    }
+
+    /**
+     * Calcula el percentil indicado a partir de los contadores de cada rango.
+     *
+     * @param percentile El percentil entre 0.0 y 100.0
+     * @return El límite superior del rango que contiene el percentil, en nanosegundos
+     */
+    public long getPercentile(double percentile) {
+        long samples = count.sum();
+        if (samples == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(samples * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets.get(i);
+            if (seen >= target) {
+                return Math.min(upperBoundOf(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Copia los contadores de cada rango en el arreglo indicado, sin reservar memoria.
+     *
+     * @param target Arreglo de al menos {@link #getBucketCount()} posiciones
+     */
+    public void copyBuckets(long[] target) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            target[i] = buckets.get(i);
+        }
+    }
+
+    /**
+     * Suma a este histograma las muestras de otro, por ejemplo para combinar resultados
+     * calculados en paralelo.
+     *
+     * @param other El histograma cuyas muestras se agregan
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long value = other.buckets.get(i);
+            if (value != 0) {
+                buckets.addAndGet(i, value);
+            }
+        }
+        count.add(other.count.sum());
+        sum.add(other.sum.sum());
+        long otherMax = other.max.get();
+        long currentMax = max.get();
+        while (otherMax > currentMax && !max.compareAndSet(currentMax, otherMax)) {
+            currentMax = max.get();
+        }
+    }
+
+    /**
+     * Obtiene el número de rangos del histograma.
+     *
+     * @return El número de rangos
+     */
+    public static int getBucketCount() {
+        return BUCKET_COUNT;
+    }
+
+    /**
+     * Reinicia todos los contadores.
+     * Las muestras registradas de forma concurrente durante el reinicio pueden perderse.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.set(0);
+    }
+
+    private static int indexOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift);
+        return shift * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    private static long upperBoundOf(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long subBucket = index - (long) shift * SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.minigamerecu.metrics;
+
+/**
+ * Latencias medidas por el {@link MetricsRegistry}.
+ * Cada constante tiene su propio {@link LatencyHistogram}, indexado por su ordinal.
+ */
+public enum LatencyMetric {
+    CLICK_TO_FLIP("clickToFlip"),
+    CHECK_MATCH("checkMatch"),
+    BOARD_BUILD("boardBuild"),
+    SCENE_LOAD("sceneLoad"),
+    FX_PULSE("fxPulse"),
+    FRAME_TIME("frameTime");
+
+    private final String key;
+
+    /**
+     * Constructor del enum LatencyMetric.
+     *
+     * @param key Nombre de la métrica en JMX y en los archivos de snapshot
+     */
+    LatencyMetric(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Obtiene el nombre de la métrica usado en JMX y en los snapshots.
+     *
+     * @return El nombre de la métrica
+     */
+    public String getKey() {
+        return key;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.minigamerecu.metrics;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Interfaz JMX del {@link MetricsRegistry}.
+ * Se publica como {@code com.example.minigamerecu:type=Metrics}.
+ */
+public interface MetricsMXBean {
+
+    /**
+     * Obtiene el valor actual de todos los contadores.
+     *
+     * @return Un mapa nombre → valor
+     */
+    Map<String, Long> getCounters();
+
+    /**
+     * Obtiene la mediana de cada latencia.
+     *
+     * @return Un mapa nombre → p50 en microsegundos
+     */
+    Map<String, Double> getLatencyP50Micros();
+
+    /**
+     * Obtiene el percentil 99 de cada latencia.
+     *
+     * @return Un mapa nombre → p99 en microsegundos
+     */
+    Map<String, Double> getLatencyP99Micros();
+
+    /**
+     * Obtiene el valor máximo de cada latencia.
+     *
+     * @return Un mapa nombre → máximo en microsegundos
+     */
+    Map<String, Double> getLatencyMaxMicros();
+
+    /**
+     * Obtiene los contadores por casilla de cada tablero.
+     *
+     * @return Un mapa {@code métrica.NxN} → valor por casilla, fila por fila
+     */
+    Map<String, long[]> getCellCounts();
+
+    /**
+     * Exporta los contadores por casilla a un archivo CSV.
+     *
+     * @param file La ruta del archivo de destino
+     * @throws IOException Si hay un error al escribir el archivo
+     */
+    void exportCellCounts(String file) throws IOException;
+
+    /**
+     * Reinicia todos los contadores, histogramas y contadores por casilla.
+     */
+    void reset();
+}
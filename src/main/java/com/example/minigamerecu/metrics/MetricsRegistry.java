@@ -0,0 +1,284 @@
+package com.example.minigamerecu.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registro central de métricas de rendimiento (patrón Singleton).
+ * Mantiene un contador por cada {@link CounterMetric} y un {@link LatencyHistogram} por cada
+ * {@link LatencyMetric} en arreglos indexados por ordinal, de modo que registrar una medición
+ * no reserva memoria ni toma bloqueos y puede quedar activo en producción.
+ * <p>
+ * Los clics y fallos por casilla se acumulan aparte en un {@link CellHeatmap}.
+ * <p>
+ * Los valores se publican por JMX y, opcionalmente, en un archivo de snapshot periódico.
+ */
+public class MetricsRegistry implements MetricsMXBean {
+
+    /** Nombre del MBean publicado en el servidor de plataforma. */
+    public static final String OBJECT_NAME = "com.example.minigamerecu:type=Metrics";
+
+    private static volatile MetricsRegistry instance;
+
+    private final LongAdder[] counters = new LongAdder[CounterMetric.values().length];
+    private final LatencyHistogram[] latencies = new LatencyHistogram[LatencyMetric.values().length];
+    private final CellHeatmap heatmap = new CellHeatmap();
+    private ScheduledExecutorService snapshotExecutor;
+
+    private MetricsRegistry() {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Obtiene la instancia única del MetricsRegistry (patrón Singleton).
+     *
+     * @return La instancia única de MetricsRegistry
+     */
+    public static MetricsRegistry getInstance() {
+        if (instance == null) {
+            synchronized (MetricsRegistry.class) {
+                if (instance == null) {
+                    instance = new MetricsRegistry();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Incrementa un contador en uno.
+     *
+     * @param metric El contador a incrementar
+     */
+    public void increment(CounterMetric metric) {
+        counters[metric.ordinal()].increment();
+    }
+
+    /**
+     * Registra una duración en el histograma de la métrica.
+     *
+     * @param metric La latencia medida
+     * @param nanos La duración en nanosegundos
+     */
+    public void record(LatencyMetric metric, long nanos) {
+        latencies[metric.ordinal()].record(nanos);
+    }
+
+    /**
+     * Registra el tiempo transcurrido desde {@code startNanos} hasta ahora.
+     * Pensado para usarse como {@code long start = System.nanoTime(); ... recordSince(metric, start);}.
+     *
+     * @param metric La latencia medida
+     * @param startNanos El instante inicial obtenido con {@link System#nanoTime()}
+     */
+    public void recordSince(LatencyMetric metric, long startNanos) {
+        latencies[metric.ordinal()].record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Cuenta una interacción sobre una casilla del tablero.
+     *
+     * @param metric El contador por casilla a incrementar
+     * @param gridSize El tamaño del tablero (gridSize x gridSize)
+     * @param cell La posición de la casilla, fila por fila
+     */
+    public void recordCell(CellMetric metric, int gridSize, int cell) {
+        heatmap.record(metric, gridSize, cell);
+    }
+
+    /**
+     * Obtiene el mapa de calor de interacciones por casilla.
+     *
+     * @return El mapa de calor
+     */
+    public CellHeatmap getHeatmap() {
+        return heatmap;
+    }
+
+    /**
+     * Obtiene el valor actual de un contador.
+     *
+     * @param metric El contador a consultar
+     * @return El valor del contador
+     */
+    public long getCount(CounterMetric metric) {
+        return counters[metric.ordinal()].sum();
+    }
+
+    /**
+     * Obtiene el histograma de una latencia.
+     *
+     * @param metric La latencia a consultar
+     * @return El histograma de la métrica
+     */
+    public LatencyHistogram getHistogram(LatencyMetric metric) {
+        return latencies[metric.ordinal()];
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        Map<String, Long> values = new LinkedHashMap<>();
+        for (CounterMetric metric : CounterMetric.values()) {
+            values.put(metric.getKey(), getCount(metric));
+        }
+        return values;
+    }
+
+    @Override
+    public Map<String, Double> getLatencyP50Micros() {
+        return percentiles(50.0);
+    }
+
+    @Override
+    public Map<String, Double> getLatencyP99Micros() {
+        return percentiles(99.0);
+    }
+
+    @Override
+    public Map<String, Double> getLatencyMaxMicros() {
+        Map<String, Double> values = new LinkedHashMap<>();
+        for (LatencyMetric metric : LatencyMetric.values()) {
+            values.put(metric.getKey(), getHistogram(metric).getMax() / 1e3);
+        }
+        return values;
+    }
+
+    @Override
+    public Map<String, long[]> getCellCounts() {
+        Map<String, long[]> values = new LinkedHashMap<>();
+        for (CellMetric metric : CellMetric.values()) {
+            for (int gridSize : CellHeatmap.getGridSizes()) {
+                values.put(metric.getKey() + "." + gridSize + "x" + gridSize, heatmap.snapshot(metric, gridSize));
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public void exportCellCounts(String file) throws IOException {
+        heatmap.writeCsv(Path.of(file));
+    }
+
+    private Map<String, Double> percentiles(double percentile) {
+        Map<String, Double> values = new LinkedHashMap<>();
+        for (LatencyMetric metric : LatencyMetric.values()) {
+            values.put(metric.getKey(), getHistogram(metric).getPercentile(percentile) / 1e3);
+        }
+        return values;
+    }
+
+    @Override
+    public void reset() {
+        for (LongAdder counter : counters) {
+            counter.reset();
+        }
+        for (LatencyHistogram histogram : latencies) {
+            histogram.reset();
+        }
+        heatmap.reset();
+    }
+
+    /**
+     * Publica el registro en el servidor JMX de la plataforma.
+     * Si ya estaba publicado no hace nada.
+     */
+    public void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(this, name);
+            }
+        } catch (JMException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Empieza a escribir periódicamente un snapshot JSON de las métricas.
+     * El archivo se reemplaza de forma atómica en cada escritura. Usa un hilo daemon,
+     * por lo que no impide que la aplicación termine.
+     *
+     * @param file El archivo de snapshot
+     * @param intervalSeconds El intervalo entre escrituras, en segundos
+     */
+    public synchronized void startSnapshots(Path file, long intervalSeconds) {
+        if (snapshotExecutor != null) {
+            return;
+        }
+        snapshotExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "metrics-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        snapshotExecutor.scheduleAtFixedRate(() -> {
+            try {
+                writeSnapshot(file);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Escribe un snapshot JSON con todos los contadores, percentiles de latencia y contadores por casilla.
+     *
+     * @param file El archivo de destino
+     * @throws IOException Si hay un error al escribir el archivo
+     */
+    public void writeSnapshot(Path file) throws IOException {
+        StringBuilder json = new StringBuilder("{\n");
+        json.append("  \"timestamp\": \"").append(Instant.now()).append("\",\n");
+        json.append("  \"counters\": {");
+        CounterMetric[] counterMetrics = CounterMetric.values();
+        for (int i = 0; i < counterMetrics.length; i++) {
+            json.append(i == 0 ? "\n" : ",\n");
+            json.append("    \"").append(counterMetrics[i].getKey()).append("\": ").append(getCount(counterMetrics[i]));
+        }
+        json.append("\n  },\n  \"latenciesMicros\": {");
+        LatencyMetric[] latencyMetrics = LatencyMetric.values();
+        for (int i = 0; i < latencyMetrics.length; i++) {
+            LatencyHistogram histogram = getHistogram(latencyMetrics[i]);
+            json.append(i == 0 ? "\n" : ",\n");
+            json.append(String.format(Locale.ROOT,
+                "    \"%s\": {\"count\": %d, \"p50\": %.3f, \"p99\": %.3f, \"p999\": %.3f, \"max\": %.3f}",
+                latencyMetrics[i].getKey(),
+                histogram.getCount(),
+                histogram.getPercentile(50.0) / 1e3,
+                histogram.getPercentile(99.0) / 1e3,
+                histogram.getPercentile(99.9) / 1e3,
+                histogram.getMax() / 1e3));
+        }
+        json.append("\n  },\n  \"cells\": ");
+        heatmap.appendJson(json, "  ");
+        json.append("\n}\n");
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.writeString(temp, json, StandardCharsets.UTF_8);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.minigamerecu.metrics;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Arreglo de contadores repartido en franjas por hilo.
+ * Cada hilo incrementa siempre la copia de su franja, elegida a partir de su identificador, así
+ * que hilos distintos casi nunca escriben la misma línea de caché; las franjas están separadas
+ * por una línea de relleno para evitar el falso compartido. Leer un contador suma todas las
+ * franjas, por lo que la lectura es más cara que la escritura, como en {@code LongAdder}.
+ */
+public class StripedCounterArray {
+
+    private static final int LONGS_PER_LINE = 8;
+    private static final int MAX_STRIPES = 64;
+
+    private final int length;
+    private final int stride;
+    private final int stripeMask;
+    private final AtomicLongArray cells;
+
+    /**
+     * Crea un arreglo con una franja por procesador disponible (redondeado a potencia de dos).
+     *
+     * @param length El número de contadores
+     */
+    public StripedCounterArray(int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("El número de contadores no puede ser negativo: " + length);
+        }
+        int processors = Math.min(Runtime.getRuntime().availableProcessors(), MAX_STRIPES);
+        int stripes = Integer.highestOneBit(Math.max(1, processors * 2 - 1));
+        this.length = length;
+        this.stride = (length + LONGS_PER_LINE - 1) / LONGS_PER_LINE * LONGS_PER_LINE + LONGS_PER_LINE;
+        this.stripeMask = stripes - 1;
+        this.cells = new AtomicLongArray(LONGS_PER_LINE + stripes * stride);
+    }
+
+    /**
+     * Incrementa un contador en uno.
+     *
+     * @param index La posición del contador
+     */
+    public void increment(int index) {
+        Objects.checkIndex(index, length);
+        cells.getAndIncrement(LONGS_PER_LINE + stripe() * stride + index);
+    }
+
+    /**
+     * Obtiene el valor de un contador sumando todas las franjas.
+     *
+     * @param index La posición del contador
+     * @return El valor del contador
+     */
+    public long sum(int index) {
+        Objects.checkIndex(index, length);
+        long total = 0;
+        for (int offset = LONGS_PER_LINE + index; offset < cells.length(); offset += stride) {
+            total += cells.get(offset);
+        }
+        return total;
+    }
+
+    /**
+     * Copia el valor de todos los contadores en el arreglo indicado, sin reservar memoria.
+     *
+     * @param target Arreglo de al menos {@link #length()} posiciones
+     */
+    public void copyTo(long[] target) {
+        for (int i = 0; i < length; i++) {
+            target[i] = sum(i);
+        }
+    }
+
+    /**
+     * Obtiene el número de contadores.
+     *
+     * @return El número de contadores
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Reinicia todos los contadores.
+     * Los incrementos concurrentes durante el reinicio pueden perderse.
+     */
+    public void reset() {
+        for (int i = 0; i < cells.length(); i++) {
+            cells.set(i, 0);
+        }
+    }
+
+    private int stripe() {
+        long id = Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L;
+        return (int) (id >>> 32) & stripeMask;
+    }
+}
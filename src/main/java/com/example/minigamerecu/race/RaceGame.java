@@ -0,0 +1,315 @@
+package com.example.minigamerecu.race;
+
+import com.example.minigamerecu.engine.HeadlessGame;
+import com.example.minigamerecu.engine.HeadlessGame.FlipResult;
+import com.example.minigamerecu.manager.GameManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Partida de carrera: varios jugadores voltean cartas del mismo tablero a la vez.
+ * <p>
+ * El estado de cada casilla es un {@code int} empaquetado (estado en los 2 bits bajos, jugador
+ * dueño en el resto) dentro de un {@link AtomicIntegerArray}. Voltear una carta es reclamarla
+ * con compare-and-set de oculta a reclamada por el jugador; si otro la reclamó antes, el clic se
+ * ignora. Solo el dueño cambia una casilla reclamada: la marca como emparejada si completa la
+ * pareja (y la pareja se acredita a él) o la vuelve a ocultar si falla. No hay bloqueos, y cada
+ * casilla y cada contador de jugador ocupa su propia línea de caché, así que los jugadores solo
+ * compiten de verdad cuando quieren la misma carta.
+ * <p>
+ * Cada jugador tiene sus propios movimientos y parejas, con el límite de movimientos de la
+ * dificultad. La partida termina cuando se encuentran todas las parejas o ningún jugador tiene
+ * movimientos.
+ */
+public final class RaceGame {
+
+    static final int HIDDEN = 0;
+    static final int CLAIMED = 1;
+    static final int MATCHED = 2;
+
+    private static final int STATE_BITS = 2;
+    private static final int STATE_MASK = (1 << STATE_BITS) - 1;
+    private static final int INTS_PER_LINE = 16;
+    private static final int MOVES = 0;
+    private static final int MATCHES = 1;
+    private static final int LOST_CLAIMS = 2;
+
+    private final GameManager.Difficulty difficulty;
+    private final long seed;
+    private final int[] layout;
+    private final AtomicIntegerArray cells;
+    private final AtomicIntegerArray counters;
+    private final AtomicInteger matchedPairs = new AtomicInteger();
+    private final RacePlayer[] players;
+
+    /**
+     * Crea una partida de carrera barajada con la semilla indicada.
+     *
+     * @param difficulty La dificultad de la partida
+     * @param seed La semilla usada para barajar el tablero
+     * @param playerCount El número de jugadores
+     */
+    public RaceGame(GameManager.Difficulty difficulty, long seed, int playerCount) {
+        if (playerCount <= 0 || playerCount > Integer.MAX_VALUE >>> STATE_BITS) {
+            throw new IllegalArgumentException("Número de jugadores inválido: " + playerCount);
+        }
+        this.difficulty = difficulty;
+        this.seed = seed;
+        this.layout = HeadlessGame.deal(difficulty, seed);
+        this.cells = new AtomicIntegerArray((layout.length + 1) * INTS_PER_LINE);
+        this.counters = new AtomicIntegerArray((playerCount + 1) * INTS_PER_LINE);
+        this.players = new RacePlayer[playerCount];
+        for (int i = 0; i < playerCount; i++) {
+            players[i] = new RacePlayer(this, i);
+        }
+    }
+
+    /**
+     * Obtiene el jugador indicado. Cada jugador debe usarse desde un solo hilo a la vez.
+     *
+     * @param player El número del jugador, desde 0
+     * @return El jugador
+     */
+    public RacePlayer getPlayer(int player) {
+        return players[player];
+    }
+
+    /**
+     * Obtiene el número de jugadores.
+     *
+     * @return El número de jugadores
+     */
+    public int getPlayerCount() {
+        return players.length;
+    }
+
+    /**
+     * Reclama una casilla oculta para un jugador.
+     *
+     * @param player El jugador
+     * @param index La posición de la carta
+     * @return true si el jugador obtuvo la casilla
+     */
+    boolean claim(int player, int index) {
+        int offset = cellOffset(index);
+        if (cells.get(offset) != HIDDEN) {
+            return false;
+        }
+        if (cells.compareAndSet(offset, HIDDEN, pack(player, CLAIMED))) {
+            return true;
+        }
+        increment(player, LOST_CLAIMS);
+        return false;
+    }
+
+    /**
+     * Resuelve las dos casillas reclamadas por un jugador: las empareja si coinciden o las libera.
+     *
+     * @param player El jugador
+     * @param first La primera casilla reclamada
+     * @param second La segunda casilla reclamada
+     * @return {@link FlipResult#MATCH} o {@link FlipResult#MISMATCH}
+     */
+    FlipResult resolve(int player, int first, int second) {
+        increment(player, MOVES);
+        int claimed = pack(player, CLAIMED);
+        if (layout[first] == layout[second]) {
+            settle(first, claimed, pack(player, MATCHED));
+            settle(second, claimed, pack(player, MATCHED));
+            increment(player, MATCHES);
+            matchedPairs.incrementAndGet();
+            return FlipResult.MATCH;
+        }
+        release(player, first);
+        release(player, second);
+        return FlipResult.MISMATCH;
+    }
+
+    /**
+     * Vuelve a ocultar una casilla reclamada por el jugador.
+     *
+     * @param player El jugador
+     * @param index La posición de la carta
+     */
+    void release(int player, int index) {
+        settle(index, pack(player, CLAIMED), HIDDEN);
+    }
+
+    private void settle(int index, int expected, int state) {
+        if (!cells.compareAndSet(cellOffset(index), expected, state)) {
+            throw new IllegalStateException("La casilla " + index + " no pertenece al jugador");
+        }
+    }
+
+    /**
+     * Incrementa un contador propio del jugador. Solo lo escribe el hilo del jugador, así que
+     * basta una escritura ordenada sin compare-and-set.
+     *
+     * @param player El jugador
+     * @param counter La posición del contador en la línea del jugador
+     */
+    private void increment(int player, int counter) {
+        int offset = (player + 1) * INTS_PER_LINE + counter;
+        counters.lazySet(offset, counters.get(offset) + 1);
+    }
+
+    private static int cellOffset(int index) {
+        return (index + 1) * INTS_PER_LINE;
+    }
+
+    private static int pack(int player, int state) {
+        return player << STATE_BITS | state;
+    }
+
+    /**
+     * Obtiene el estado de una casilla: {@code 0} oculta, {@code 1} reclamada o {@code 2} emparejada.
+     *
+     * @param index La posición de la carta
+     * @return El estado de la casilla
+     */
+    public int getState(int index) {
+        return cells.get(cellOffset(index)) & STATE_MASK;
+    }
+
+    /**
+     * Obtiene el jugador que reclamó o emparejó una casilla.
+     *
+     * @param index La posición de la carta
+     * @return El número del jugador, o -1 si la casilla está oculta
+     */
+    public int getOwner(int index) {
+        int cell = cells.get(cellOffset(index));
+        return (cell & STATE_MASK) == HIDDEN ? -1 : cell >>> STATE_BITS;
+    }
+
+    /**
+     * Obtiene el identificador de pareja de una carta visible (reclamada o emparejada).
+     *
+     * @param index La posición de la carta
+     * @return El identificador de pareja, o -1 si la carta está oculta
+     */
+    public int getRevealedId(int index) {
+        return getState(index) == HIDDEN ? -1 : layout[index];
+    }
+
+    /**
+     * Obtiene el identificador de pareja de una posición sin importar si está visible.
+     *
+     * @param index La posición de la carta
+     * @return El identificador de pareja
+     */
+    int getPairId(int index) {
+        return layout[index];
+    }
+
+    /**
+     * Obtiene los movimientos de un jugador.
+     *
+     * @param player El número del jugador
+     * @return Los movimientos del jugador
+     */
+    public int getMoves(int player) {
+        return counters.get((player + 1) * INTS_PER_LINE + MOVES);
+    }
+
+    /**
+     * Obtiene las parejas acreditadas a un jugador.
+     *
+     * @param player El número del jugador
+     * @return Las parejas del jugador
+     */
+    public int getMatches(int player) {
+        return counters.get((player + 1) * INTS_PER_LINE + MATCHES);
+    }
+
+    /**
+     * Obtiene las veces que otro jugador reclamó antes una carta que el jugador quería.
+     *
+     * @param player El número del jugador
+     * @return Las carreras perdidas del jugador
+     */
+    public int getLostClaims(int player) {
+        return counters.get((player + 1) * INTS_PER_LINE + LOST_CLAIMS);
+    }
+
+    /**
+     * Verifica si a un jugador le quedan movimientos.
+     *
+     * @param player El número del jugador
+     * @return true si el jugador agotó sus movimientos
+     */
+    public boolean isOutOfMoves(int player) {
+        return getMoves(player) >= difficulty.getMaxMoves();
+    }
+
+    /**
+     * Obtiene el número de parejas encontradas entre todos los jugadores.
+     *
+     * @return El número de parejas encontradas
+     */
+    public int getMatchedPairsCount() {
+        return matchedPairs.get();
+    }
+
+    /**
+     * Verifica si la partida terminó: todas las parejas encontradas o nadie con movimientos.
+     *
+     * @return true si la partida terminó
+     */
+    public boolean isFinished() {
+        if (matchedPairs.get() == difficulty.getTotalPairs()) {
+            return true;
+        }
+        for (int player = 0; player < players.length; player++) {
+            if (!isOutOfMoves(player)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Obtiene el ganador: el jugador con más parejas y, a igualdad, con menos movimientos.
+     *
+     * @return El número del jugador ganador
+     */
+    public int getLeader() {
+        int leader = 0;
+        for (int player = 1; player < players.length; player++) {
+            int matches = getMatches(player);
+            int best = getMatches(leader);
+            if (matches > best || (matches == best && getMoves(player) < getMoves(leader))) {
+                leader = player;
+            }
+        }
+        return leader;
+    }
+
+    /**
+     * Obtiene el número de cartas del tablero.
+     *
+     * @return El número de cartas
+     */
+    public int getCardCount() {
+        return layout.length;
+    }
+
+    /**
+     * Obtiene la dificultad de la partida.
+     *
+     * @return La dificultad
+     */
+    public GameManager.Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Obtiene la semilla con la que se barajó el tablero.
+     *
+     * @return La semilla
+     */
+    public long getSeed() {
+        return seed;
+    }
+}
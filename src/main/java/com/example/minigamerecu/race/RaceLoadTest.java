@@ -0,0 +1,195 @@
+package com.example.minigamerecu.race;
+
+import com.example.minigamerecu.engine.HeadlessGame.FlipResult;
+import com.example.minigamerecu.loadtest.LoadTestReport;
+import com.example.minigamerecu.manager.GameManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Prueba de carga del modo carrera.
+ * Decenas de hilos juegan a la vez una serie de partidas compartidas tan rápido como pueden,
+ * cada uno con un bot que recuerda las cartas que vio. Al final comprueba en cada tablero que
+ * no quedó ninguna carta reclamada, que las parejas de cada jugador coinciden con las casillas
+ * emparejadas a su nombre y que la suma de parejas es la de la partida.
+ * <p>
+ * Uso: {@code java -cp target/classes com.example.minigamerecu.race.RaceLoadTest players=32
+ * games=500 difficulty=EXPERT out=race.json}.
+ */
+public class RaceLoadTest {
+
+    /**
+     * Punto de entrada de la prueba de carga.
+     * Los argumentos se indican como pares {@code clave=valor}.
+     *
+     * @param args Argumentos de la línea de comandos
+     * @throws IOException Si hay un error al escribir el informe
+     * @throws InterruptedException Si se interrumpe la espera de los hilos
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> options = LoadTestReport.parseOptions(args);
+
+        int playerCount = Integer.parseInt(options.getOrDefault("players", "32"));
+        int gameCount = Integer.parseInt(options.getOrDefault("games", "200"));
+        GameManager.Difficulty difficulty = GameManager.Difficulty.valueOf(options.getOrDefault("difficulty", "EXPERT"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "1"));
+
+        RaceGame[] games = new RaceGame[gameCount];
+        SplittableRandom seeds = new SplittableRandom(seed);
+        for (int g = 0; g < gameCount; g++) {
+            games[g] = new RaceGame(difficulty, seeds.nextLong(), playerCount);
+        }
+        long[] flips = new long[playerCount];
+        Thread[] threads = new Thread[playerCount];
+        long start = System.nanoTime();
+        for (int p = 0; p < playerCount; p++) {
+            int player = p;
+            threads[p] = new Thread(() -> flips[player] = play(games, player, seed + player), "race-player-" + p);
+            threads[p].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long totalFlips = 0;
+        for (long count : flips) {
+            totalFlips += count;
+        }
+        long lostClaims = 0;
+        long moves = 0;
+        long completed = 0;
+        long violations = 0;
+        for (RaceGame game : games) {
+            for (int p = 0; p < playerCount; p++) {
+                lostClaims += game.getLostClaims(p);
+                moves += game.getMoves(p);
+            }
+            if (game.getMatchedPairsCount() == difficulty.getTotalPairs()) {
+                completed++;
+            }
+            violations += check(game);
+        }
+
+        LoadTestReport report = new LoadTestReport()
+            .put("players", playerCount)
+            .put("games", gameCount)
+            .put("difficulty", difficulty.name())
+            .put("threads", Runtime.getRuntime().availableProcessors())
+            .put("seconds", seconds)
+            .put("flipAttempts", totalFlips)
+            .put("flipsPerSecond", totalFlips / seconds)
+            .put("moves", moves)
+            .put("lostClaims", lostClaims)
+            .put("completedGames", completed)
+            .put("violations", violations);
+        Path out = Path.of(options.getOrDefault("out", "target/race/race.json"));
+        report.publish(out);
+    }
+
+    /**
+     * Juega como un jugador todas las partidas de la serie, una detrás de otra.
+     *
+     * @param games Las partidas
+     * @param player El número del jugador
+     * @param seed La semilla del bot
+     * @return El número de intentos de volteo
+     */
+    private static long play(RaceGame[] games, int player, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long attempts = 0;
+        for (RaceGame game : games) {
+            RacePlayer me = game.getPlayer(player);
+            int cards = game.getCardCount();
+            int[] known = new int[cards];
+            Arrays.fill(known, -1);
+            while (!game.isFinished() && !game.isOutOfMoves(player)) {
+                int first = me.getFirstIndex();
+                int target = first < 0 ? pickKnownPair(game, known) : knownPartner(game, known, first);
+                if (target < 0) {
+                    target = pickHidden(game, random);
+                }
+                if (target < 0) {
+                    me.abandonMove();
+                    Thread.onSpinWait();
+                    continue;
+                }
+                attempts++;
+                FlipResult result = me.flip(target);
+                if (result != FlipResult.IGNORED) {
+                    int pairId = me.getLastSeenId();
+                    if (known[pairId * 2] < 0) {
+                        known[pairId * 2] = target;
+                    } else if (known[pairId * 2] != target) {
+                        known[pairId * 2 + 1] = target;
+                    }
+                }
+            }
+            me.abandonMove();
+        }
+        return attempts;
+    }
+
+    private static int pickKnownPair(RaceGame game, int[] known) {
+        for (int pair = 0; pair < known.length / 2; pair++) {
+            int a = known[pair * 2];
+            int b = known[pair * 2 + 1];
+            if (b >= 0 && game.getState(a) == RaceGame.HIDDEN && game.getState(b) == RaceGame.HIDDEN) {
+                return a;
+            }
+        }
+        return -1;
+    }
+
+    private static int knownPartner(RaceGame game, int[] known, int first) {
+        int pairId = game.getRevealedId(first);
+        int partner = known[pairId * 2] == first ? known[pairId * 2 + 1] : known[pairId * 2];
+        return partner >= 0 && game.getState(partner) == RaceGame.HIDDEN ? partner : -1;
+    }
+
+    private static int pickHidden(RaceGame game, SplittableRandom random) {
+        int cards = game.getCardCount();
+        int offset = random.nextInt(cards);
+        for (int i = 0; i < cards; i++) {
+            int index = (offset + i) % cards;
+            if (game.getState(index) == RaceGame.HIDDEN) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Comprueba las invariantes de una partida terminada.
+     *
+     * @param game La partida
+     * @return El número de invariantes rotas
+     */
+    private static int check(RaceGame game) {
+        int violations = 0;
+        int[] matchedCells = new int[game.getPlayerCount()];
+        for (int i = 0; i < game.getCardCount(); i++) {
+            int state = game.getState(i);
+            if (state == RaceGame.CLAIMED) {
+                violations++;
+            } else if (state == RaceGame.MATCHED) {
+                matchedCells[game.getOwner(i)]++;
+            }
+        }
+        int pairs = 0;
+        for (int p = 0; p < matchedCells.length; p++) {
+            pairs += game.getMatches(p);
+            if (matchedCells[p] != game.getMatches(p) * 2) {
+                violations++;
+            }
+        }
+        if (pairs != game.getMatchedPairsCount()) {
+            violations++;
+        }
+        return violations;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.minigamerecu.race;
+
+import com.example.minigamerecu.engine.HeadlessGame.FlipResult;
+
+/**
+ * Jugador de una {@link RaceGame}.
+ * Guarda la primera carta reclamada del movimiento en curso; sus contadores viven en la partida
+ * para que otros hilos puedan leer la clasificación. Debe usarse desde un solo hilo a la vez.
+ */
+public class RacePlayer {
+
+    private static final int NONE = -1;
+
+    private final RaceGame game;
+    private final int id;
+    private int firstIndex = NONE;
+    private int lastSeenId = NONE;
+
+    /**
+     * Constructor de la clase RacePlayer.
+     *
+     * @param game La partida
+     * @param id El número del jugador
+     */
+    RacePlayer(RaceGame game, int id) {
+        this.game = game;
+        this.id = id;
+    }
+
+    /**
+     * Voltea una carta reclamándola para el jugador.
+     * La primera carta del movimiento queda reclamada hasta voltear la segunda; entonces la
+     * pareja se acredita al jugador o las dos cartas vuelven a quedar ocultas para todos.
+     *
+     * @param index La posición de la carta
+     * @return {@link FlipResult#IGNORED} si la carta no estaba oculta, otro jugador la reclamó
+     *         antes, el jugador no tiene movimientos o la partida terminó
+     */
+    public FlipResult flip(int index) {
+        if (index < 0 || index >= game.getCardCount() || game.isOutOfMoves(id)
+                || game.getMatchedPairsCount() == game.getDifficulty().getTotalPairs()) {
+            return FlipResult.IGNORED;
+        }
+        if (!game.claim(id, index)) {
+            return FlipResult.IGNORED;
+        }
+        lastSeenId = game.getPairId(index);
+        if (firstIndex == NONE) {
+            firstIndex = index;
+            return FlipResult.FIRST;
+        }
+        int first = firstIndex;
+        firstIndex = NONE;
+        return game.resolve(id, first, index);
+    }
+
+    /**
+     * Suelta la primera carta del movimiento en curso sin gastar un movimiento, por ejemplo si
+     * el jugador abandona o ya no quedan cartas libres para completar la jugada.
+     */
+    public void abandonMove() {
+        if (firstIndex != NONE) {
+            game.release(id, firstIndex);
+            firstIndex = NONE;
+        }
+    }
+
+    /**
+     * Obtiene la primera carta del movimiento en curso.
+     *
+     * @return La posición de la carta, o -1 si no hay movimiento en curso
+     */
+    public int getFirstIndex() {
+        return firstIndex;
+    }
+
+    /**
+     * Obtiene el identificador de pareja de la última carta que volteó el jugador.
+     *
+     * @return El identificador de pareja, o -1 si todavía no volteó ninguna
+     */
+    public int getLastSeenId() {
+        return lastSeenId;
+    }
+
+    /**
+     * Obtiene el número del jugador.
+     *
+     * @return El número del jugador
+     */
+    public int getId() {
+        return id;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.minigamerecu.replay;
+
+import com.example.minigamerecu.loadtest.LoadTestReport;
+
+/**
+ * Conteo combinable de resultados de verificación.
+ * Cada hilo cuenta en su propia instancia y las instancias se unen con
+ * {@link #combine(ReplayTally)}. No es thread-safe.
+ */
+public class ReplayTally {
+
+    private static final ReplayVerdict[] VERDICTS = ReplayVerdict.values();
+
+    private final long[] counts = new long[VERDICTS.length];
+    private long malformed;
+
+    /**
+     * Cuenta el resultado de una partida.
+     *
+     * @param verdict El resultado de la verificación
+     */
+    public void accept(ReplayVerdict verdict) {
+        counts[verdict.ordinal()]++;
+    }
+
+    /**
+     * Cuenta una línea del lote que no se pudo interpretar.
+     */
+    public void rejectLine() {
+        malformed++;
+    }
+
+    /**
+     * Suma a este conteo los valores de otro.
+     *
+     * @param other El conteo a sumar
+     * @return Este conteo, para usarlo como reducción de un stream
+     */
+    public ReplayTally combine(ReplayTally other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        malformed += other.malformed;
+        return this;
+    }
+
+    /**
+     * Obtiene el número de partidas con un resultado.
+     *
+     * @param verdict El resultado
+     * @return El número de partidas
+     */
+    public long getCount(ReplayVerdict verdict) {
+        return counts[verdict.ordinal()];
+    }
+
+    /**
+     * Obtiene el número de partidas verificadas, sin contar las líneas inválidas.
+     *
+     * @return El número de partidas
+     */
+    public long getGames() {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Obtiene el número de líneas descartadas por no ser válidas.
+     *
+     * @return El número de líneas descartadas
+     */
+    public long getMalformed() {
+        return malformed;
+    }
+
+    /**
+     * Agrega los conteos al informe, con claves {@code verdict.resultado}.
+     *
+     * @param report El informe de destino
+     * @return El mismo informe, para encadenar llamadas
+     */
+    public LoadTestReport writeTo(LoadTestReport report) {
+        report.put("games", getGames()).put("malformedLines", malformed);
+        for (ReplayVerdict verdict : VERDICTS) {
+            report.put("verdict." + verdict.getKey(), counts[verdict.ordinal()]);
+        }
+        return report;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.minigamerecu.replay;
+
+/**
+ * Resultado de verificar una partida enviada por un cliente.
+ */
+public enum ReplayVerdict {
+    /** La secuencia es posible y coincide con el resultado declarado. */
+    VALID("valid"),
+    /** Se volteó una carta inexistente, ya emparejada o ya volteada en el mismo movimiento. */
+    INVALID_FLIP("invalidFlip"),
+    /** Hay acciones después de que la partida terminó (por ejemplo, más allá del máximo de movimientos). */
+    ACTION_AFTER_END("actionAfterEnd"),
+    /** Se pidieron más pistas que las permitidas por partida. */
+    HINT_LIMIT("hintLimit"),
+    /** Demasiadas parejas encontradas con cartas que nunca se habían visto para ser suerte. */
+    BLIND_MATCHES("blindMatches"),
+    /** La secuencia termina antes de que la partida haya terminado. */
+    INCOMPLETE("incomplete"),
+    /** Los movimientos o el resultado declarados no coinciden con la simulación. */
+    CLAIM_MISMATCH("claimMismatch");
+
+    private final String key;
+
+    /**
+     * Constructor del enum ReplayVerdict.
+     *
+     * @param key Nombre del resultado en el informe
+     */
+    ReplayVerdict(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Obtiene el nombre del resultado usado en el informe.
+     *
+     * @return El nombre del resultado
+     */
+    public String getKey() {
+        return key;
+    }
+}
@@ -0,0 +1,234 @@
+package com.example.minigamerecu.replay;
+
+import com.example.minigamerecu.engine.HeadlessGame;
+import com.example.minigamerecu.engine.MemoryBot;
+import com.example.minigamerecu.engine.HeadlessGame.FlipResult;
+import com.example.minigamerecu.loadtest.LoadTestReport;
+import com.example.minigamerecu.manager.GameManager;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+/**
+ * Verificador de partidas enviadas por los clientes.
+ * Vuelve a jugar cada partida sobre {@link HeadlessGame} con su semilla y rechaza las secuencias
+ * imposibles: volteos inválidos, acciones después del final (por ejemplo, más movimientos que
+ * {@link GameManager.Difficulty#getMaxMoves()}), más pistas que {@link GameManager#getMaxHints()},
+ * partidas sin terminar y resultados declarados que no coinciden con la simulación.
+ * <p>
+ * Además mide la suerte de las parejas encontradas a ciegas: si la segunda carta de una pareja
+ * nunca se había visto, un jugador honesto solo acierta con probabilidad 1/u, donde u es el
+ * número de cartas sin ver. Cada acierto suma log2(u) bits y la partida se rechaza si el total
+ * supera {@code maxLuckBits}. La última pareja sin ver (u = 1) no suma nada.
+ * <p>
+ * Uso: {@code java -cp target/classes com.example.minigamerecu.replay.ReplayVerifier
+ * in=games.csv maxLuckBits=20 out=replay.json}. Con {@code generate=N cheaters=0.05} se escribe
+ * antes un lote sintético de N partidas, una fracción de ellas con trampas.
+ */
+public class ReplayVerifier {
+
+    /**
+     * Bits de suerte a ciegas permitidos por defecto. Con el bot de {@link #generate} rechaza
+     * alrededor de 1 de cada 10 000 partidas honestas y casi todas las de jugadores que conocen
+     * el tablero; una partida perfecta a ciegas en 4x4 suma unos 21 bits.
+     */
+    public static final double DEFAULT_MAX_LUCK_BITS = 20.0;
+
+    private final double maxLuckBits;
+
+    /**
+     * Constructor de la clase ReplayVerifier.
+     *
+     * @param maxLuckBits Los bits de suerte a ciegas permitidos por partida
+     */
+    public ReplayVerifier(double maxLuckBits) {
+        if (maxLuckBits < 0) {
+            throw new IllegalArgumentException("Los bits de suerte no pueden ser negativos: " + maxLuckBits);
+        }
+        this.maxLuckBits = maxLuckBits;
+    }
+
+    /**
+     * Vuelve a jugar una partida y decide si es válida.
+     * Es thread-safe: cada llamada usa su propia partida headless.
+     *
+     * @param submission La partida enviada
+     * @return El resultado de la verificación
+     */
+    public ReplayVerdict verify(SubmittedGame submission) {
+        HeadlessGame game = new HeadlessGame(submission.getDifficulty(), submission.getSeed());
+        boolean[] seen = new boolean[game.getCardCount()];
+        int unseen = seen.length;
+        double luckBits = 0;
+        for (int i = 0; i < submission.getActionCount(); i++) {
+            if (game.isFinished()) {
+                return ReplayVerdict.ACTION_AFTER_END;
+            }
+            int action = submission.getAction(i);
+            if (action == SubmittedGame.HINT) {
+                if (game.getHintsUsed() >= GameManager.getMaxHints()) {
+                    return ReplayVerdict.HINT_LIMIT;
+                }
+                int pairId = game.getPairId(game.useHint());
+                for (int card = 0; card < seen.length; card++) {
+                    if (!seen[card] && game.getPairId(card) == pairId) {
+                        seen[card] = true;
+                        unseen--;
+                    }
+                }
+                continue;
+            }
+            FlipResult result = game.flip(action);
+            if (result == FlipResult.IGNORED) {
+                return ReplayVerdict.INVALID_FLIP;
+            }
+            if (!seen[action]) {
+                if (result == FlipResult.MATCH) {
+                    luckBits += Math.log(unseen) / Math.log(2);
+                }
+                seen[action] = true;
+                unseen--;
+            }
+        }
+        if (!game.isFinished()) {
+            return ReplayVerdict.INCOMPLETE;
+        }
+        if (game.getMoves() != submission.getClaimedMoves() || game.isWon() != submission.isClaimedWon()) {
+            return ReplayVerdict.CLAIM_MISMATCH;
+        }
+        if (luckBits > maxLuckBits) {
+            return ReplayVerdict.BLIND_MATCHES;
+        }
+        return ReplayVerdict.VALID;
+    }
+
+    /**
+     * Verifica un lote de partidas en paralelo.
+     *
+     * @param submissions Las partidas enviadas
+     * @return El conteo de resultados
+     */
+    public ReplayTally verifyAll(Stream<SubmittedGame> submissions) {
+        return submissions.parallel()
+            .collect(ReplayTally::new, (tally, submission) -> tally.accept(verify(submission)), ReplayTally::combine);
+    }
+
+    /**
+     * Verifica en paralelo un lote guardado con una partida por línea.
+     * El archivo se recorre en streaming, sin cargarlo completo en memoria.
+     *
+     * @param file El archivo del lote
+     * @return El conteo de resultados, incluidas las líneas inválidas
+     * @throws IOException Si hay un error al leer el archivo
+     */
+    public ReplayTally verifyFile(Path file) throws IOException {
+        try (Stream<String> lines = Files.lines(file, StandardCharsets.US_ASCII)) {
+            return lines.parallel()
+                .filter(line -> !line.isBlank())
+                .collect(ReplayTally::new, this::verifyLine, ReplayTally::combine);
+        }
+    }
+
+    private void verifyLine(ReplayTally tally, String line) {
+        SubmittedGame submission;
+        try {
+            submission = SubmittedGame.parse(line);
+        } catch (IllegalArgumentException e) {
+            tally.rejectLine();
+            return;
+        }
+        tally.accept(verify(submission));
+    }
+
+    /**
+     * Escribe un lote sintético de partidas jugadas por un bot de memoria imperfecta.
+     * Una fracción {@code cheaterRate} de las partidas hace trampa: la mitad conoce el tablero
+     * y acierta siempre a ciegas, y la otra mitad declara menos movimientos de los jugados.
+     *
+     * @param file El archivo de destino (se sobrescribe)
+     * @param games El número de partidas
+     * @param cheaterRate La fracción de partidas con trampa, entre 0.0 y 1.0
+     * @param seed La semilla del generador
+     * @throws IOException Si hay un error al escribir el archivo
+     */
+    public static void generate(Path file, long games, double cheaterRate, long seed) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        GameManager.Difficulty[] difficulties = GameManager.Difficulty.values();
+        StringBuilder line = new StringBuilder(256);
+        MemoryBot bot = new MemoryBot(random);
+        int[] actions = new int[256];
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+            for (long g = 0; g < games; g++) {
+                HeadlessGame game = new HeadlessGame(difficulties[random.nextInt(difficulties.length)], random.nextLong());
+                boolean cheater = random.nextDouble() < cheaterRate;
+                boolean omniscient = cheater && random.nextBoolean();
+                bot.startGame(game, omniscient);
+                int count = 0;
+                while (!game.isFinished()) {
+                    if (count + 3 > actions.length) {
+                        actions = Arrays.copyOf(actions, actions.length * 2);
+                    }
+                    if (bot.maybeUseHint()) {
+                        actions[count++] = SubmittedGame.HINT;
+                    }
+                    int first = bot.chooseFirst();
+                    game.flip(first);
+                    int second = bot.chooseSecond(first);
+                    bot.observe(first, second, game.flip(second));
+                    actions[count++] = first;
+                    actions[count++] = second;
+                }
+                int claimedMoves = cheater && !omniscient ? game.getMoves() / 2 : game.getMoves();
+                line.setLength(0);
+                new SubmittedGame(game.getDifficulty(), game.getSeed(), Arrays.copyOf(actions, count),
+                    claimedMoves, game.isWon()).appendTo(line);
+                writer.append(line);
+            }
+        }
+    }
+
+    /**
+     * Punto de entrada de la verificación por lotes.
+     * Los argumentos se indican como pares {@code clave=valor}.
+     *
+     * @param args Argumentos de la línea de comandos
+     * @throws IOException Si hay un error al leer el lote o escribir el informe
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = LoadTestReport.parseOptions(args);
+
+        Path in = Path.of(options.getOrDefault("in", "target/replay/games.csv"));
+        if (options.containsKey("generate")) {
+            generate(in, Long.parseLong(options.get("generate")),
+                Double.parseDouble(options.getOrDefault("cheaters", "0.05")),
+                Long.parseLong(options.getOrDefault("seed", "1")));
+        }
+        double maxLuckBits = Double.parseDouble(options.getOrDefault("maxLuckBits", String.valueOf(DEFAULT_MAX_LUCK_BITS)));
+
+        long start = System.nanoTime();
+        ReplayTally tally = new ReplayVerifier(maxLuckBits).verifyFile(in);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        LoadTestReport report = new LoadTestReport()
+            .put("file", in.toString())
+            .put("maxLuckBits", maxLuckBits)
+            .put("seconds", seconds)
+            .put("gamesPerSecond", tally.getGames() / seconds)
+            .put("gamesPerMinute", tally.getGames() * 60 / seconds)
+            .put("threads", Runtime.getRuntime().availableProcessors());
+        tally.writeTo(report);
+        Path out = Path.of(options.getOrDefault("out", "target/replay/replay.json"));
+        report.publish(out);
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.minigamerecu.replay;
+
+import com.example.minigamerecu.manager.GameManager;
+
+/**
+ * Partida enviada por un cliente para validar su puntuación.
+ * Contiene lo necesario para volver a jugarla (dificultad, semilla y acciones en orden) y el
+ * resultado que declara el cliente.
+ * <p>
+ * En un lote, cada partida ocupa una línea ASCII:
+ * {@code DIFICULTAD,semilla,movimientos,ganada,a1;a2;...} donde {@code ganada} es 0 o 1 y cada
+ * acción es la posición de la carta volteada o {@code H} para una pista.
+ */
+public final class SubmittedGame {
+
+    /** Acción que representa el uso de una pista. */
+    public static final int HINT = -1;
+
+    private final GameManager.Difficulty difficulty;
+    private final long seed;
+    private final int[] actions;
+    private final int claimedMoves;
+    private final boolean claimedWon;
+
+    /**
+     * Constructor de la clase SubmittedGame.
+     *
+     * @param difficulty La dificultad de la partida
+     * @param seed La semilla con la que se barajó el tablero
+     * @param actions Las posiciones volteadas en orden, o {@link #HINT} para las pistas
+     * @param claimedMoves Los movimientos que declara el cliente
+     * @param claimedWon true si el cliente declara que ganó
+     */
+    public SubmittedGame(GameManager.Difficulty difficulty, long seed, int[] actions,
+                         int claimedMoves, boolean claimedWon) {
+        this.difficulty = difficulty;
+        this.seed = seed;
+        this.actions = actions.clone();
+        this.claimedMoves = claimedMoves;
+        this.claimedWon = claimedWon;
+    }
+
+    /**
+     * Interpreta una línea de un lote.
+     *
+     * @param line La línea sin el salto de línea
+     * @return La partida enviada
+     * @throws IllegalArgumentException Si la línea no tiene el formato esperado
+     */
+    public static SubmittedGame parse(String line) {
+        String[] fields = line.split(",", -1);
+        if (fields.length != 5) {
+            throw new IllegalArgumentException("Partida inválida, se esperaban 5 campos: " + line);
+        }
+        String[] tokens = fields[4].isEmpty() ? new String[0] : fields[4].split(";");
+        int[] actions = new int[tokens.length];
+        for (int i = 0; i < tokens.length; i++) {
+            actions[i] = tokens[i].equals("H") ? HINT : Integer.parseInt(tokens[i]);
+        }
+        String won = fields[3];
+        if (!won.equals("0") && !won.equals("1")) {
+            throw new IllegalArgumentException("Resultado inválido, se esperaba 0 o 1: " + won);
+        }
+        return new SubmittedGame(GameManager.Difficulty.valueOf(fields[0]), Long.parseLong(fields[1]),
+            actions, Integer.parseInt(fields[2]), won.equals("1"));
+    }
+
+    /**
+     * Agrega la línea de la partida, terminada en salto de línea.
+     *
+     * @param out El destino de la línea
+     * @return El mismo destino, para encadenar llamadas
+     */
+    public StringBuilder appendTo(StringBuilder out) {
+        out.append(difficulty.name()).append(',')
+            .append(seed).append(',')
+            .append(claimedMoves).append(',')
+            .append(claimedWon ? 1 : 0).append(',');
+        for (int i = 0; i < actions.length; i++) {
+            if (i > 0) {
+                out.append(';');
+            }
+            if (actions[i] == HINT) {
+                out.append('H');
+            } else {
+                out.append(actions[i]);
+            }
+        }
+        return out.append('\n');
+    }
+
+    /**
+     * Obtiene la dificultad de la partida.
+     *
+     * @return La dificultad
+     */
+    public GameManager.Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Obtiene la semilla con la que se barajó el tablero.
+     *
+     * @return La semilla
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Obtiene el número de acciones enviadas.
+     *
+     * @return El número de acciones
+     */
+    public int getActionCount() {
+        return actions.length;
+    }
+
+    /**
+     * Obtiene una acción de la partida.
+     *
+     * @param index El orden de la acción
+     * @return La posición de la carta volteada, o {@link #HINT} si fue una pista
+     */
+    public int getAction(int index) {
+        return actions[index];
+    }
+
+    /**
+     * Obtiene los movimientos que declara el cliente.
+     *
+     * @return El número de movimientos declarado
+     */
+    public int getClaimedMoves() {
+        return claimedMoves;
+    }
+
+    /**
+     * Verifica si el cliente declara haber ganado.
+     *
+     * @return true si el cliente declara que ganó
+     */
+    public boolean isClaimedWon() {
+        return claimedWon;
+    }
+}
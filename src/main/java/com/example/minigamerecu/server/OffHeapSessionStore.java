@@ -0,0 +1,429 @@
+package com.example.minigamerecu.server;
+
+import com.example.minigamerecu.engine.HeadlessGame;
+import com.example.minigamerecu.engine.HeadlessGame.FlipResult;
+import com.example.minigamerecu.manager.GameManager;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemoryLayout;
+import java.lang.foreign.MemoryLayout.PathElement;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.StructLayout;
+import java.lang.foreign.ValueLayout;
+import java.util.Arrays;
+
+/**
+ * Almacén de partidas fuera del heap para el modo servidor.
+ * Cada sesión ocupa un slot de tamaño fijo ({@link #SESSION_LAYOUT}) dentro de bloques de
+ * memoria nativa reservados con la API de memoria externa; la sesión se identifica solo por
+ * el índice de su slot. Así cientos de miles de partidas inactivas no agregan objetos al heap
+ * ni trabajo al recolector de basura, y la memoria por sesión es exactamente
+ * {@link #getSlotBytes()} bytes.
+ * <p>
+ * Las reglas son las mismas que las de {@link HeadlessGame}. Crear y liberar sesiones es
+ * thread-safe; cada sesión, igual que una {@code HeadlessGame}, debe ser usada por un solo
+ * hilo a la vez.
+ */
+public class OffHeapSessionStore implements AutoCloseable {
+
+    /** Número máximo de cartas de un tablero, según la dificultad más grande. */
+    public static final int MAX_CARDS = maxCards();
+
+    /** Distribución de un slot de sesión. */
+    public static final StructLayout SESSION_LAYOUT = sessionLayout();
+
+    static final long SEED = offsetOf("seed");
+    static final long MATCHED_BITS = offsetOf("matchedBits");
+    static final long MOVES = offsetOf("moves");
+    static final long MATCHED_PAIRS = offsetOf("matchedPairs");
+    static final long HINTS_USED = offsetOf("hintsUsed");
+    static final long DIFFICULTY = offsetOf("difficulty");
+    static final long FIRST_INDEX = offsetOf("firstIndex");
+    static final long SECOND_INDEX = offsetOf("secondIndex");
+    static final long FLAGS = offsetOf("flags");
+    static final long LAYOUT = offsetOf("layout");
+
+    private static final long SLOT_BYTES = SESSION_LAYOUT.byteSize();
+    private static final byte FLAG_IN_USE = 1;
+    private static final byte FLAG_PENDING_MISMATCH = 2;
+    private static final byte NONE = -1;
+    private static final int DEFAULT_SLOTS_PER_SLAB = 4096;
+    private static final GameManager.Difficulty[] DIFFICULTIES = GameManager.Difficulty.values();
+
+    private final Arena arena = Arena.ofShared();
+    private final int slabShift;
+    private final int slabMask;
+    private volatile MemorySegment[] slabs = new MemorySegment[0];
+    private int[] freeSlots = new int[0];
+    private int freeCount;
+    private int activeSessions;
+
+    /**
+     * Crea un almacén con bloques de 4096 sesiones.
+     */
+    public OffHeapSessionStore() {
+        this(DEFAULT_SLOTS_PER_SLAB);
+    }
+
+    /**
+     * Crea un almacén con el tamaño de bloque indicado.
+     *
+     * @param slotsPerSlab Número de sesiones por bloque de memoria; debe ser potencia de dos
+     */
+    public OffHeapSessionStore(int slotsPerSlab) {
+        if (slotsPerSlab <= 0 || Integer.bitCount(slotsPerSlab) != 1) {
+            throw new IllegalArgumentException("El tamaño de bloque debe ser potencia de dos: " + slotsPerSlab);
+        }
+        this.slabShift = Integer.numberOfTrailingZeros(slotsPerSlab);
+        this.slabMask = slotsPerSlab - 1;
+    }
+
+    /**
+     * Crea una sesión nueva barajada con la semilla indicada.
+     *
+     * @param difficulty La dificultad de la partida
+     * @param seed La semilla usada para barajar el tablero
+     * @return El slot de la sesión
+     */
+    public synchronized int create(GameManager.Difficulty difficulty, long seed) {
+        if (freeCount == 0) {
+            addSlab();
+        }
+        int slot = freeSlots[--freeCount];
+        activeSessions++;
+        MemorySegment slab = slab(slot);
+        long base = base(slot);
+        slab.asSlice(base, SLOT_BYTES).fill((byte) 0);
+        slab.set(ValueLayout.JAVA_LONG, base + SEED, seed);
+        slab.set(ValueLayout.JAVA_BYTE, base + DIFFICULTY, (byte) difficulty.ordinal());
+        slab.set(ValueLayout.JAVA_BYTE, base + FIRST_INDEX, NONE);
+        slab.set(ValueLayout.JAVA_BYTE, base + SECOND_INDEX, NONE);
+        int[] layout = HeadlessGame.deal(difficulty, seed);
+        for (int i = 0; i < layout.length; i++) {
+            slab.set(ValueLayout.JAVA_BYTE, base + LAYOUT + i, (byte) layout[i]);
+        }
+        slab.set(ValueLayout.JAVA_BYTE, base + FLAGS, FLAG_IN_USE);
+        return slot;
+    }
+
+    /**
+     * Libera una sesión; su slot se reutiliza en la siguiente creación.
+     *
+     * @param slot El slot de la sesión
+     */
+    public synchronized void release(int slot) {
+        checkSlot(slot);
+        slab(slot).set(ValueLayout.JAVA_BYTE, base(slot) + FLAGS, (byte) 0);
+        freeSlots[freeCount++] = slot;
+        activeSessions--;
+    }
+
+    /**
+     * Voltea una carta de la sesión, con las mismas reglas que {@link HeadlessGame#flip(int)}.
+     *
+     * @param slot El slot de la sesión
+     * @param index La posición de la carta en el tablero
+     * @return El resultado de la acción
+     */
+    public FlipResult flip(int slot, int index) {
+        checkSlot(slot);
+        MemorySegment slab = slab(slot);
+        long base = base(slot);
+        if (index < 0 || index >= getCardCount(slot) || isFinished(slot) || isMatched(slot, index)) {
+            return FlipResult.IGNORED;
+        }
+        byte flags = slab.get(ValueLayout.JAVA_BYTE, base + FLAGS);
+        if ((flags & FLAG_PENDING_MISMATCH) != 0) {
+            slab.set(ValueLayout.JAVA_BYTE, base + FIRST_INDEX, NONE);
+            slab.set(ValueLayout.JAVA_BYTE, base + SECOND_INDEX, NONE);
+            slab.set(ValueLayout.JAVA_BYTE, base + FLAGS, (byte) (flags & ~FLAG_PENDING_MISMATCH));
+        }
+        int first = slab.get(ValueLayout.JAVA_BYTE, base + FIRST_INDEX);
+        if (index == first) {
+            return FlipResult.IGNORED;
+        }
+        if (first == NONE) {
+            slab.set(ValueLayout.JAVA_BYTE, base + FIRST_INDEX, (byte) index);
+            return FlipResult.FIRST;
+        }
+
+        slab.set(ValueLayout.JAVA_INT, base + MOVES, slab.get(ValueLayout.JAVA_INT, base + MOVES) + 1);
+        if (getPairId(slot, first) == getPairId(slot, index)) {
+            long bits = slab.get(ValueLayout.JAVA_LONG, base + MATCHED_BITS);
+            slab.set(ValueLayout.JAVA_LONG, base + MATCHED_BITS, bits | (1L << first) | (1L << index));
+            slab.set(ValueLayout.JAVA_INT, base + MATCHED_PAIRS, slab.get(ValueLayout.JAVA_INT, base + MATCHED_PAIRS) + 1);
+            slab.set(ValueLayout.JAVA_BYTE, base + FIRST_INDEX, NONE);
+            return FlipResult.MATCH;
+        }
+        slab.set(ValueLayout.JAVA_BYTE, base + SECOND_INDEX, (byte) index);
+        slab.set(ValueLayout.JAVA_BYTE, base + FLAGS, (byte) (slab.get(ValueLayout.JAVA_BYTE, base + FLAGS) | FLAG_PENDING_MISMATCH));
+        return FlipResult.MISMATCH;
+    }
+
+    /**
+     * Usa una pista si es posible, con las mismas condiciones que {@link HeadlessGame#useHint()}.
+     *
+     * @param slot El slot de la sesión
+     * @return La posición de una carta de la pareja revelada, o -1 si no se pudo usar la pista
+     */
+    public int useHint(int slot) {
+        checkSlot(slot);
+        MemorySegment slab = slab(slot);
+        long base = base(slot);
+        int hintsUsed = slab.get(ValueLayout.JAVA_INT, base + HINTS_USED);
+        if (hintsUsed >= GameManager.getMaxHints() || isFinished(slot)) {
+            return NONE;
+        }
+        long unmatched = ~slab.get(ValueLayout.JAVA_LONG, base + MATCHED_BITS);
+        int index = Long.numberOfTrailingZeros(unmatched);
+        if (index >= getCardCount(slot)) {
+            return NONE;
+        }
+        slab.set(ValueLayout.JAVA_INT, base + HINTS_USED, hintsUsed + 1);
+        return index;
+    }
+
+    /**
+     * Obtiene el identificador de pareja de una carta visible.
+     *
+     * @param slot El slot de la sesión
+     * @param index La posición de la carta
+     * @return El identificador de pareja, o -1 si la carta está boca abajo
+     */
+    public int getRevealedId(int slot, int index) {
+        MemorySegment slab = slab(slot);
+        long base = base(slot);
+        if (isMatched(slot, index)
+            || index == slab.get(ValueLayout.JAVA_BYTE, base + FIRST_INDEX)
+            || index == slab.get(ValueLayout.JAVA_BYTE, base + SECOND_INDEX)) {
+            return getPairId(slot, index);
+        }
+        return NONE;
+    }
+
+    /**
+     * Obtiene la primera carta del movimiento en curso. Después de un fallo sigue devolviendo
+     * la primera carta de la pareja fallida hasta el siguiente clic.
+     *
+     * @param slot El slot de la sesión
+     * @return La posición de la carta, o -1 si no hay ninguna volteada
+     */
+    public int getFirstFlipped(int slot) {
+        return slab(slot).get(ValueLayout.JAVA_BYTE, base(slot) + FIRST_INDEX);
+    }
+
+    /**
+     * Obtiene el identificador de pareja de una posición sin importar si está visible.
+     *
+     * @param slot El slot de la sesión
+     * @param index La posición de la carta
+     * @return El identificador de pareja
+     */
+    public int getPairId(int slot, int index) {
+        return slab(slot).get(ValueLayout.JAVA_BYTE, base(slot) + LAYOUT + index);
+    }
+
+    /**
+     * Verifica si la carta de una posición ya fue emparejada.
+     *
+     * @param slot El slot de la sesión
+     * @param index La posición de la carta
+     * @return true si la carta está emparejada
+     */
+    public boolean isMatched(int slot, int index) {
+        return (slab(slot).get(ValueLayout.JAVA_LONG, base(slot) + MATCHED_BITS) & (1L << index)) != 0;
+    }
+
+    /**
+     * Verifica si la partida terminó, ya sea por victoria o por límite de movimientos.
+     *
+     * @param slot El slot de la sesión
+     * @return true si la partida terminó
+     */
+    public boolean isFinished(int slot) {
+        return isWon(slot) || getMoves(slot) >= getDifficulty(slot).getMaxMoves();
+    }
+
+    /**
+     * Verifica si se encontraron todas las parejas.
+     *
+     * @param slot El slot de la sesión
+     * @return true si la partida fue ganada
+     */
+    public boolean isWon(int slot) {
+        return getMatchedPairsCount(slot) == getDifficulty(slot).getTotalPairs();
+    }
+
+    /**
+     * Obtiene el número de cartas del tablero de la sesión.
+     *
+     * @param slot El slot de la sesión
+     * @return El número de cartas
+     */
+    public int getCardCount(int slot) {
+        return getDifficulty(slot).getTotalPairs() * 2;
+    }
+
+    /**
+     * Obtiene la dificultad de la sesión.
+     *
+     * @param slot El slot de la sesión
+     * @return La dificultad
+     */
+    public GameManager.Difficulty getDifficulty(int slot) {
+        return DIFFICULTIES[slab(slot).get(ValueLayout.JAVA_BYTE, base(slot) + DIFFICULTY)];
+    }
+
+    /**
+     * Obtiene la semilla con la que se barajó el tablero de la sesión.
+     *
+     * @param slot El slot de la sesión
+     * @return La semilla
+     */
+    public long getSeed(int slot) {
+        return slab(slot).get(ValueLayout.JAVA_LONG, base(slot) + SEED);
+    }
+
+    /**
+     * Obtiene el número de movimientos realizados en la sesión.
+     *
+     * @param slot El slot de la sesión
+     * @return El número de movimientos
+     */
+    public int getMoves(int slot) {
+        return slab(slot).get(ValueLayout.JAVA_INT, base(slot) + MOVES);
+    }
+
+    /**
+     * Obtiene el número de parejas encontradas en la sesión.
+     *
+     * @param slot El slot de la sesión
+     * @return El número de parejas encontradas
+     */
+    public int getMatchedPairsCount(int slot) {
+        return slab(slot).get(ValueLayout.JAVA_INT, base(slot) + MATCHED_PAIRS);
+    }
+
+    /**
+     * Obtiene el número de pistas usadas en la sesión.
+     *
+     * @param slot El slot de la sesión
+     * @return El número de pistas usadas
+     */
+    public int getHintsUsed(int slot) {
+        return slab(slot).get(ValueLayout.JAVA_INT, base(slot) + HINTS_USED);
+    }
+
+    /**
+     * Obtiene el número de sesiones activas.
+     *
+     * @return El número de sesiones creadas y no liberadas
+     */
+    public synchronized int getActiveSessions() {
+        return activeSessions;
+    }
+
+    /**
+     * Obtiene la memoria nativa reservada por el almacén, incluidos los slots libres.
+     *
+     * @return El número de bytes reservados
+     */
+    public long getReservedBytes() {
+        return (long) slabs.length * (slabMask + 1) * SLOT_BYTES;
+    }
+
+    /**
+     * Obtiene el tamaño fijo de una sesión.
+     *
+     * @return El número de bytes por sesión
+     */
+    public static long getSlotBytes() {
+        return SLOT_BYTES;
+    }
+
+    /**
+     * Libera toda la memoria nativa. Las sesiones dejan de ser válidas.
+     */
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    /**
+     * Obtiene la vista de memoria de un slot, para copiarlo o restaurarlo completo.
+     *
+     * @param slot El slot de la sesión
+     * @return El segmento con los bytes del slot
+     */
+    MemorySegment slotSegment(int slot) {
+        return slab(slot).asSlice(base(slot), SLOT_BYTES);
+    }
+
+    private void addSlab() {
+        MemorySegment[] current = slabs;
+        int slotsPerSlab = slabMask + 1;
+        MemorySegment[] grown = Arrays.copyOf(current, current.length + 1);
+        grown[current.length] = arena.allocate(SESSION_LAYOUT.byteSize() * slotsPerSlab, SESSION_LAYOUT.byteAlignment());
+        if (freeSlots.length < grown.length * slotsPerSlab) {
+            freeSlots = Arrays.copyOf(freeSlots, grown.length * slotsPerSlab);
+        }
+        int firstSlot = current.length * slotsPerSlab;
+        for (int slot = firstSlot + slotsPerSlab - 1; slot >= firstSlot; slot--) {
+            freeSlots[freeCount++] = slot;
+        }
+        slabs = grown;
+    }
+
+    private void checkSlot(int slot) {
+        if (slot < 0 || (slot >>> slabShift) >= slabs.length
+            || (slab(slot).get(ValueLayout.JAVA_BYTE, base(slot) + FLAGS) & FLAG_IN_USE) == 0) {
+            throw new IllegalArgumentException("Sesión inexistente: " + slot);
+        }
+    }
+
+    private MemorySegment slab(int slot) {
+        return slabs[slot >>> slabShift];
+    }
+
+    private long base(int slot) {
+        return (slot & slabMask) * SLOT_BYTES;
+    }
+
+    private static long offsetOf(String field) {
+        return SESSION_LAYOUT.byteOffset(PathElement.groupElement(field));
+    }
+
+    private static int maxCards() {
+        int max = 0;
+        for (GameManager.Difficulty difficulty : GameManager.Difficulty.values()) {
+            max = Math.max(max, difficulty.getTotalPairs() * 2);
+        }
+        if (max > Long.SIZE) {
+            throw new IllegalStateException("El bitmap de parejas admite como máximo " + Long.SIZE + " cartas");
+        }
+        return max;
+    }
+
+    private static StructLayout sessionLayout() {
+        MemoryLayout[] fields = {
+            ValueLayout.JAVA_LONG.withName("seed"),
+            ValueLayout.JAVA_LONG.withName("matchedBits"),
+            ValueLayout.JAVA_INT.withName("moves"),
+            ValueLayout.JAVA_INT.withName("matchedPairs"),
+            ValueLayout.JAVA_INT.withName("hintsUsed"),
+            ValueLayout.JAVA_BYTE.withName("difficulty"),
+            ValueLayout.JAVA_BYTE.withName("firstIndex"),
+            ValueLayout.JAVA_BYTE.withName("secondIndex"),
+            ValueLayout.JAVA_BYTE.withName("flags"),
+            MemoryLayout.sequenceLayout(MAX_CARDS, ValueLayout.JAVA_BYTE).withName("layout")
+        };
+        long size = MemoryLayout.structLayout(fields).byteSize();
+        long padding = (Long.BYTES - size % Long.BYTES) % Long.BYTES;
+        if (padding == 0) {
+            return MemoryLayout.structLayout(fields);
+        }
+        MemoryLayout[] padded = Arrays.copyOf(fields, fields.length + 1);
+        padded[fields.length] = MemoryLayout.paddingLayout(padding);
+        return MemoryLayout.structLayout(padded);
+    }
+}
@@ -0,0 +1,357 @@
+package com.example.minigamerecu.server;
+
+import com.example.minigamerecu.engine.HeadlessGame.FlipResult;
+import com.example.minigamerecu.manager.GameManager;
+import com.example.minigamerecu.metrics.CellMetric;
+import com.example.minigamerecu.metrics.MetricsRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Gestor de sesiones del modo servidor con hibernación de partidas inactivas.
+ * Como máximo {@code maxResident} partidas viven en el {@link OffHeapSessionStore}; al superar
+ * ese límite, o al llamar a {@link #hibernateIdle(long)}, las partidas usadas hace más tiempo
+ * (orden LRU) se guardan en disco como un {@link SessionSnapshot} de 25 bytes y su slot se libera.
+ * La siguiente acción sobre una partida hibernada la restaura de forma transparente, así que la
+ * memoria residente queda acotada sin importar cuántos jugadores tengan partidas abiertas.
+ * <p>
+ * Todos los métodos son thread-safe. Las sesiones no sobreviven a {@link #close()}.
+ */
+public class SessionManager implements AutoCloseable {
+
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+
+    private final OffHeapSessionStore store = new OffHeapSessionStore();
+    private final Path directory;
+    private final int maxResident;
+    private final LinkedHashMap<Long, Resident> resident = new LinkedHashMap<>(16, 0.75f, true);
+    private final Set<Long> hibernated = new HashSet<>();
+    private final ByteBuffer buffer = ByteBuffer.allocate(SessionSnapshot.SIZE);
+    private long nextId = 1;
+    private long hibernations;
+    private long restores;
+
+    /**
+     * Partida residente: su slot en el almacén y el instante de su última acción.
+     */
+    private static final class Resident {
+        private final int slot;
+        private long lastActivityNanos;
+
+        /**
+         * Constructor de la clase Resident.
+         *
+         * @param slot El slot de la sesión en el almacén
+         * @param lastActivityNanos El instante de la última acción
+         */
+        private Resident(int slot, long lastActivityNanos) {
+            this.slot = slot;
+            this.lastActivityNanos = lastActivityNanos;
+        }
+    }
+
+    /**
+     * Crea un gestor que hiberna las partidas en el directorio indicado.
+     *
+     * @param directory Directorio de los snapshots; se crea si no existe
+     * @param maxResident Número máximo de partidas en memoria
+     * @throws IOException Si no se puede crear el directorio
+     */
+    public SessionManager(Path directory, int maxResident) throws IOException {
+        if (maxResident <= 0) {
+            throw new IllegalArgumentException("El número de partidas residentes debe ser positivo: " + maxResident);
+        }
+        this.directory = Files.createDirectories(directory);
+        this.maxResident = maxResident;
+    }
+
+    /**
+     * Crea una partida nueva. Si se alcanzó el límite de residentes, hiberna la menos reciente.
+     *
+     * @param difficulty La dificultad de la partida
+     * @param seed La semilla usada para barajar el tablero
+     * @return El identificador de la sesión
+     */
+    public synchronized long createSession(GameManager.Difficulty difficulty, long seed) {
+        makeRoom();
+        long id = nextId++;
+        resident.put(id, new Resident(store.create(difficulty, seed), System.nanoTime()));
+        return id;
+    }
+
+    /**
+     * Voltea una carta de la partida, restaurándola primero si estaba hibernada.
+     * Los clics aceptados y los fallos se cuentan en el mapa de calor del {@link MetricsRegistry}.
+     *
+     * @param id El identificador de la sesión
+     * @param index La posición de la carta en el tablero
+     * @return El resultado de la acción
+     */
+    public synchronized FlipResult flip(long id, int index) {
+        int slot = acquire(id);
+        FlipResult result = store.flip(slot, index);
+        if (result != FlipResult.IGNORED) {
+            int gridSize = store.getDifficulty(slot).getGridSize();
+            MetricsRegistry metrics = MetricsRegistry.getInstance();
+            metrics.recordCell(CellMetric.CLICKS, gridSize, index);
+            if (result == FlipResult.FIRST) {
+                metrics.recordCell(CellMetric.FIRST_CLICKS, gridSize, index);
+            } else if (result == FlipResult.MISMATCH) {
+                metrics.recordCell(CellMetric.MISMATCHES, gridSize, store.getFirstFlipped(slot));
+                metrics.recordCell(CellMetric.MISMATCHES, gridSize, index);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Usa una pista en la partida, restaurándola primero si estaba hibernada.
+     *
+     * @param id El identificador de la sesión
+     * @return La posición de una carta de la pareja revelada, o -1 si no se pudo usar la pista
+     */
+    public synchronized int useHint(long id) {
+        return store.useHint(acquire(id));
+    }
+
+    /**
+     * Obtiene el identificador de pareja de una carta visible.
+     *
+     * @param id El identificador de la sesión
+     * @param index La posición de la carta
+     * @return El identificador de pareja, o -1 si la carta está boca abajo
+     */
+    public synchronized int getRevealedId(long id, int index) {
+        return store.getRevealedId(acquire(id), index);
+    }
+
+    /**
+     * Obtiene el número de movimientos de la partida.
+     *
+     * @param id El identificador de la sesión
+     * @return El número de movimientos
+     */
+    public synchronized int getMoves(long id) {
+        return store.getMoves(acquire(id));
+    }
+
+    /**
+     * Obtiene el número de parejas encontradas en la partida.
+     *
+     * @param id El identificador de la sesión
+     * @return El número de parejas encontradas
+     */
+    public synchronized int getMatchedPairsCount(long id) {
+        return store.getMatchedPairsCount(acquire(id));
+    }
+
+    /**
+     * Obtiene el número de pistas usadas en la partida.
+     *
+     * @param id El identificador de la sesión
+     * @return El número de pistas usadas
+     */
+    public synchronized int getHintsUsed(long id) {
+        return store.getHintsUsed(acquire(id));
+    }
+
+    /**
+     * Obtiene la dificultad de la partida.
+     *
+     * @param id El identificador de la sesión
+     * @return La dificultad
+     */
+    public synchronized GameManager.Difficulty getDifficulty(long id) {
+        return store.getDifficulty(acquire(id));
+    }
+
+    /**
+     * Verifica si la partida terminó, ya sea por victoria o por límite de movimientos.
+     *
+     * @param id El identificador de la sesión
+     * @return true si la partida terminó
+     */
+    public synchronized boolean isFinished(long id) {
+        return store.isFinished(acquire(id));
+    }
+
+    /**
+     * Verifica si se encontraron todas las parejas de la partida.
+     *
+     * @param id El identificador de la sesión
+     * @return true si la partida fue ganada
+     */
+    public synchronized boolean isWon(long id) {
+        return store.isWon(acquire(id));
+    }
+
+    /**
+     * Cierra una partida y libera su slot o su snapshot.
+     *
+     * @param id El identificador de la sesión
+     */
+    public synchronized void closeSession(long id) {
+        Resident session = resident.remove(id);
+        if (session != null) {
+            store.release(session.slot);
+        } else if (hibernated.remove(id)) {
+            deleteSnapshot(id);
+        } else {
+            throw new IllegalArgumentException("Sesión inexistente: " + id);
+        }
+    }
+
+    /**
+     * Hiberna todas las partidas sin acciones durante al menos el tiempo indicado.
+     *
+     * @param maxIdleNanos Tiempo de inactividad, en nanosegundos, a partir del cual se hiberna
+     * @return El número de partidas hibernadas
+     */
+    public synchronized int hibernateIdle(long maxIdleNanos) {
+        long now = System.nanoTime();
+        int count = 0;
+        Iterator<Map.Entry<Long, Resident>> iterator = resident.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, Resident> entry = iterator.next();
+            if (now - entry.getValue().lastActivityNanos < maxIdleNanos) {
+                break;
+            }
+            iterator.remove();
+            hibernate(entry.getKey(), entry.getValue());
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Obtiene el número de partidas en memoria.
+     *
+     * @return El número de partidas residentes
+     */
+    public synchronized int getResidentCount() {
+        return resident.size();
+    }
+
+    /**
+     * Obtiene el número de partidas hibernadas en disco.
+     *
+     * @return El número de partidas hibernadas
+     */
+    public synchronized int getHibernatedCount() {
+        return hibernated.size();
+    }
+
+    /**
+     * Obtiene el número total de hibernaciones realizadas.
+     *
+     * @return El número de hibernaciones
+     */
+    public synchronized long getHibernations() {
+        return hibernations;
+    }
+
+    /**
+     * Obtiene el número total de restauraciones realizadas.
+     *
+     * @return El número de restauraciones
+     */
+    public synchronized long getRestores() {
+        return restores;
+    }
+
+    /**
+     * Libera la memoria de las partidas residentes y borra los snapshots de las hibernadas.
+     */
+    @Override
+    public synchronized void close() {
+        for (Long id : hibernated) {
+            deleteSnapshot(id);
+        }
+        hibernated.clear();
+        resident.clear();
+        store.close();
+    }
+
+    private int acquire(long id) {
+        Resident session = resident.get(id);
+        if (session == null) {
+            session = restore(id);
+        }
+        session.lastActivityNanos = System.nanoTime();
+        return session.slot;
+    }
+
+    private void makeRoom() {
+        while (resident.size() >= maxResident) {
+            Iterator<Map.Entry<Long, Resident>> iterator = resident.entrySet().iterator();
+            Map.Entry<Long, Resident> eldest = iterator.next();
+            iterator.remove();
+            hibernate(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    private void hibernate(long id, Resident session) {
+        buffer.clear();
+        SessionSnapshot.encode(store, session.slot, buffer);
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(snapshotPath(id),
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            resident.put(id, session);
+            throw new UncheckedIOException("No se pudo hibernar la sesión " + id, e);
+        }
+        store.release(session.slot);
+        hibernated.add(id);
+        hibernations++;
+    }
+
+    private Resident restore(long id) {
+        if (!hibernated.contains(id)) {
+            throw new IllegalArgumentException("Sesión inexistente: " + id);
+        }
+        makeRoom();
+        buffer.clear();
+        try (FileChannel channel = FileChannel.open(snapshotPath(id), StandardOpenOption.READ)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new IOException("Snapshot incompleto");
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo restaurar la sesión " + id, e);
+        }
+        buffer.flip();
+        Resident session = new Resident(SessionSnapshot.decode(store, buffer), System.nanoTime());
+        hibernated.remove(id);
+        resident.put(id, session);
+        deleteSnapshot(id);
+        restores++;
+        return session;
+    }
+
+    private void deleteSnapshot(long id) {
+        try {
+            Files.deleteIfExists(snapshotPath(id));
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo borrar el snapshot de la sesión " + id, e);
+        }
+    }
+
+    private Path snapshotPath(long id) {
+        return directory.resolve(id + SNAPSHOT_SUFFIX);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.minigamerecu.server;
+
+import com.example.minigamerecu.manager.GameManager;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+
+/**
+ * Formato binario compacto de una partida hibernada.
+ * Solo se guarda lo que no se puede recalcular: la semilla (el tablero se vuelve a repartir
+ * con ella), el bitmap de cartas emparejadas, las cartas boca arriba y los contadores.
+ * Ocupa {@link #SIZE} bytes por sesión.
+ */
+final class SessionSnapshot {
+
+    /** Versión del formato, para rechazar archivos de versiones incompatibles. */
+    static final byte VERSION = 1;
+
+    /** Tamaño en bytes de un snapshot. */
+    static final int SIZE = 25;
+
+    private static final GameManager.Difficulty[] DIFFICULTIES = GameManager.Difficulty.values();
+
+    private SessionSnapshot() {
+    }
+
+    /**
+     * Escribe el estado de una sesión del almacén en el buffer.
+     *
+     * @param store El almacén que contiene la sesión
+     * @param slot El slot de la sesión
+     * @param out El buffer de destino, con al menos {@link #SIZE} bytes libres
+     */
+    static void encode(OffHeapSessionStore store, int slot, ByteBuffer out) {
+        MemorySegment segment = store.slotSegment(slot);
+        out.put(VERSION)
+            .put(segment.get(ValueLayout.JAVA_BYTE, OffHeapSessionStore.DIFFICULTY))
+            .put(segment.get(ValueLayout.JAVA_BYTE, OffHeapSessionStore.FIRST_INDEX))
+            .put(segment.get(ValueLayout.JAVA_BYTE, OffHeapSessionStore.SECOND_INDEX))
+            .put(segment.get(ValueLayout.JAVA_BYTE, OffHeapSessionStore.FLAGS))
+            .putShort((short) segment.get(ValueLayout.JAVA_INT, OffHeapSessionStore.MOVES))
+            .putShort((short) segment.get(ValueLayout.JAVA_INT, OffHeapSessionStore.HINTS_USED))
+            .putLong(segment.get(ValueLayout.JAVA_LONG, OffHeapSessionStore.SEED))
+            .putLong(segment.get(ValueLayout.JAVA_LONG, OffHeapSessionStore.MATCHED_BITS));
+    }
+
+    /**
+     * Restaura una sesión en el almacén a partir de un snapshot.
+     *
+     * @param store El almacén donde se crea la sesión
+     * @param in El buffer con el snapshot
+     * @return El slot de la sesión restaurada
+     * @throws IllegalArgumentException Si el snapshot es de otra versión o su dificultad no existe
+     */
+    static int decode(OffHeapSessionStore store, ByteBuffer in) {
+        byte version = in.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Versión de snapshot no soportada: " + version);
+        }
+        int difficulty = in.get();
+        if (difficulty < 0 || difficulty >= DIFFICULTIES.length) {
+            throw new IllegalArgumentException("Dificultad inválida en el snapshot: " + difficulty);
+        }
+        byte firstIndex = in.get();
+        byte secondIndex = in.get();
+        byte flags = in.get();
+        int moves = in.getShort();
+        int hintsUsed = in.getShort();
+        long seed = in.getLong();
+        long matchedBits = in.getLong();
+
+        int slot = store.create(DIFFICULTIES[difficulty], seed);
+        MemorySegment segment = store.slotSegment(slot);
+        segment.set(ValueLayout.JAVA_BYTE, OffHeapSessionStore.FIRST_INDEX, firstIndex);
+        segment.set(ValueLayout.JAVA_BYTE, OffHeapSessionStore.SECOND_INDEX, secondIndex);
+        segment.set(ValueLayout.JAVA_BYTE, OffHeapSessionStore.FLAGS, flags);
+        segment.set(ValueLayout.JAVA_INT, OffHeapSessionStore.MOVES, moves);
+        segment.set(ValueLayout.JAVA_INT, OffHeapSessionStore.HINTS_USED, hintsUsed);
+        segment.set(ValueLayout.JAVA_LONG, OffHeapSessionStore.MATCHED_BITS, matchedBits);
+        segment.set(ValueLayout.JAVA_INT, OffHeapSessionStore.MATCHED_PAIRS, Long.bitCount(matchedBits) / 2);
+        return slot;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.minigamerecu.spectator;
+
+/**
+ * Cambios de una partida publicados juntos en un mismo tick, con su número de secuencia.
+ * Es inmutable, así que los espectadores pueden leerlo desde cualquier hilo.
+ */
+public final class DeltaBatch {
+
+    private final long sequence;
+    private final long[] deltas;
+
+    /**
+     * Constructor de la clase DeltaBatch.
+     *
+     * @param sequence El número de secuencia del lote, desde 1
+     * @param deltas Los cambios codificados con {@link DeltaType#encode(int, int)}; no se copian
+     */
+    DeltaBatch(long sequence, long[] deltas) {
+        this.sequence = sequence;
+        this.deltas = deltas;
+    }
+
+    /**
+     * Obtiene el número de secuencia del lote.
+     *
+     * @return El número de secuencia
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Obtiene el número de cambios del lote.
+     *
+     * @return El número de cambios
+     */
+    public int size() {
+        return deltas.length;
+    }
+
+    /**
+     * Obtiene un cambio del lote.
+     *
+     * @param index El orden del cambio
+     * @return El cambio codificado
+     */
+    public long get(int index) {
+        return deltas[index];
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.minigamerecu.spectator;
+
+/**
+ * Tipos de cambio que una partida en vivo publica para sus espectadores.
+ * Cada cambio se codifica en un {@code long}: el tipo en los 8 bits altos, la casilla en los 16
+ * siguientes y el valor en los 32 bajos.
+ */
+public enum DeltaType {
+    /** Empieza una partida; el valor es el tamaño del tablero. */
+    NEW_GAME,
+    /** Una carta queda boca arriba; el valor es su identificador de pareja. */
+    FLIPPED,
+    /** Una carta vuelve a quedar boca abajo. */
+    HIDDEN,
+    /** Una carta queda emparejada; el valor es su identificador de pareja. */
+    MATCHED,
+    /** Cambian los movimientos; el valor es el total. */
+    MOVES,
+    /** Cambian las parejas encontradas; el valor es el total. */
+    PAIRS,
+    /** Cambian las pistas usadas; el valor es el total. */
+    HINTS;
+
+    private static final DeltaType[] TYPES = values();
+
+    /**
+     * Codifica un cambio de este tipo.
+     *
+     * @param cell La posición de la carta, o 0 si el cambio no es de una casilla
+     * @param value El valor del cambio
+     * @return El cambio codificado
+     */
+    public long encode(int cell, int value) {
+        return (long) ordinal() << 56 | (long) (cell & 0xFFFF) << 32 | (value & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Obtiene el tipo de un cambio codificado.
+     *
+     * @param delta El cambio codificado
+     * @return El tipo del cambio
+     */
+    public static DeltaType typeOf(long delta) {
+        return TYPES[(int) (delta >>> 56)];
+    }
+
+    /**
+     * Obtiene la casilla de un cambio codificado.
+     *
+     * @param delta El cambio codificado
+     * @return La posición de la carta
+     */
+    public static int cellOf(long delta) {
+        return (int) (delta >>> 32) & 0xFFFF;
+    }
+
+    /**
+     * Obtiene el valor de un cambio codificado.
+     *
+     * @param delta El cambio codificado
+     * @return El valor del cambio
+     */
+    public static int valueOf(long delta) {
+        return (int) delta;
+    }
+}
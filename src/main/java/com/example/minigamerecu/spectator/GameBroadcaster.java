@@ -0,0 +1,188 @@
+package com.example.minigamerecu.spectator;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Publicador de los cambios de una partida en vivo para cualquier número de espectadores.
+ * <p>
+ * La partida anota los cambios (carta volteada, carta emparejada, contadores) en un búfer
+ * propio, sin sincronización, y {@link #flush()} los publica una vez por tick como un
+ * {@link DeltaBatch} en un anillo de {@code capacity} lotes. Hay un solo escritor, el hilo que
+ * juega, y cualquier número de lectores ({@link Spectator}) que avanzan cada uno a su ritmo sin
+ * que el escritor sepa de ellos: publicar nunca espera a un espectador. Junto con cada lote se
+ * publica una copia del tablero completo, y el espectador que se atrasa más que el anillo salta
+ * directamente a esa copia.
+ * <p>
+ * Los métodos de escritura deben llamarse siempre desde el mismo hilo (en la interfaz, el hilo
+ * de JavaFX).
+ */
+public class GameBroadcaster {
+
+    /** Lotes que guarda el anillo por defecto: un segundo de ticks a 60 FPS. */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private final AtomicReferenceArray<DeltaBatch> ring;
+    private final int mask;
+    private volatile long published;
+    private volatile SpectatorBoard latest = new SpectatorBoard();
+
+    private final SpectatorBoard board = new SpectatorBoard();
+    private long[] pending = new long[16];
+    private int pendingCount;
+    private int sentMoves;
+    private int sentPairs;
+    private int sentHints;
+
+    /**
+     * Constructor de la clase GameBroadcaster.
+     *
+     * @param capacity El número de lotes del anillo; se redondea a una potencia de dos
+     */
+    public GameBroadcaster(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("La capacidad debe ser positiva: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.ring = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Anota el comienzo de una partida. Los espectadores descartan el tablero anterior.
+     *
+     * @param gridSize El tamaño del tablero
+     */
+    public void newGame(int gridSize) {
+        add(DeltaType.NEW_GAME.encode(0, gridSize));
+        sentMoves = 0;
+        sentPairs = 0;
+        sentHints = 0;
+    }
+
+    /**
+     * Anota que una carta quedó boca arriba.
+     *
+     * @param cell La posición de la carta
+     * @param pairId El identificador de pareja de la carta
+     */
+    public void cellFlipped(int cell, int pairId) {
+        add(DeltaType.FLIPPED.encode(cell, pairId));
+    }
+
+    /**
+     * Anota que una carta volvió a quedar boca abajo.
+     *
+     * @param cell La posición de la carta
+     */
+    public void cellHidden(int cell) {
+        add(DeltaType.HIDDEN.encode(cell, 0));
+    }
+
+    /**
+     * Anota que una carta quedó emparejada.
+     *
+     * @param cell La posición de la carta
+     * @param pairId El identificador de pareja de la carta
+     */
+    public void cellMatched(int cell, int pairId) {
+        add(DeltaType.MATCHED.encode(cell, pairId));
+    }
+
+    /**
+     * Anota los contadores actuales. Solo se publican los que cambiaron desde la última vez.
+     *
+     * @param moves Los movimientos
+     * @param matchedPairs Las parejas encontradas
+     * @param hintsUsed Las pistas usadas
+     */
+    public void counters(int moves, int matchedPairs, int hintsUsed) {
+        if (moves != sentMoves) {
+            sentMoves = moves;
+            add(DeltaType.MOVES.encode(0, moves));
+        }
+        if (matchedPairs != sentPairs) {
+            sentPairs = matchedPairs;
+            add(DeltaType.PAIRS.encode(0, matchedPairs));
+        }
+        if (hintsUsed != sentHints) {
+            sentHints = hintsUsed;
+            add(DeltaType.HINTS.encode(0, hintsUsed));
+        }
+    }
+
+    private void add(long delta) {
+        if (pendingCount == pending.length) {
+            pending = Arrays.copyOf(pending, pendingCount * 2);
+        }
+        pending[pendingCount++] = delta;
+    }
+
+    /**
+     * Publica como un solo lote los cambios anotados desde el tick anterior.
+     *
+     * @return true si había cambios para publicar
+     */
+    public boolean flush() {
+        if (pendingCount == 0) {
+            return false;
+        }
+        DeltaBatch batch = new DeltaBatch(board.getSequence() + 1, Arrays.copyOf(pending, pendingCount));
+        pendingCount = 0;
+        board.apply(batch);
+        ring.set((int) batch.getSequence() & mask, batch);
+        latest = board.copy();
+        published = batch.getSequence();
+        return true;
+    }
+
+    /**
+     * Crea un espectador que empieza en el estado actual de la partida.
+     *
+     * @return El espectador
+     */
+    public Spectator subscribe() {
+        return new Spectator(this);
+    }
+
+    /**
+     * Obtiene el número de lotes que guarda el anillo.
+     *
+     * @return La capacidad del anillo
+     */
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Obtiene la secuencia del último lote publicado.
+     *
+     * @return La secuencia, o 0 si todavía no se publicó ninguno
+     */
+    public long getPublished() {
+        return published;
+    }
+
+    /**
+     * Obtiene la copia del tablero publicada con el último lote. No debe modificarse.
+     *
+     * @return El tablero completo del último lote
+     */
+    SpectatorBoard getLatest() {
+        return latest;
+    }
+
+    /**
+     * Lee un lote del anillo.
+     *
+     * @param sequence La secuencia del lote
+     * @return El lote, o null si ya fue sobrescrito por uno más nuevo
+     */
+    DeltaBatch getBatch(long sequence) {
+        DeltaBatch batch = ring.get((int) sequence & mask);
+        return batch != null && batch.getSequence() == sequence ? batch : null;
+    }
+}
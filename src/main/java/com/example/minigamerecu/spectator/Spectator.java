@@ -0,0 +1,87 @@
+package com.example.minigamerecu.spectator;
+
+/**
+ * Espectador de una partida publicada por un {@link GameBroadcaster}.
+ * Cada llamada a {@link #poll()} aplica los lotes nuevos a su propia copia del tablero. Si el
+ * espectador se atrasó tanto que el anillo ya sobrescribió los lotes que le faltan, salta al
+ * tablero completo más reciente en lugar de detener al jugador.
+ * <p>
+ * Cada espectador debe usarse desde un solo hilo; distintos espectadores de la misma partida
+ * pueden leer en paralelo.
+ */
+public class Spectator {
+
+    private final GameBroadcaster broadcaster;
+    private final SpectatorBoard board = new SpectatorBoard();
+    private long batches;
+    private long skips;
+
+    /**
+     * Constructor de la clase Spectator.
+     *
+     * @param broadcaster La partida a seguir
+     */
+    Spectator(GameBroadcaster broadcaster) {
+        this.broadcaster = broadcaster;
+        board.copyFrom(broadcaster.getLatest());
+    }
+
+    /**
+     * Aplica los lotes publicados desde la última llamada.
+     *
+     * @return true si el tablero cambió
+     */
+    public boolean poll() {
+        long head = broadcaster.getPublished();
+        long next = board.getSequence() + 1;
+        if (head < next) {
+            return false;
+        }
+        if (head - next >= broadcaster.getCapacity()) {
+            skipToLatest();
+            return true;
+        }
+        for (long sequence = next; sequence <= head; sequence++) {
+            DeltaBatch batch = broadcaster.getBatch(sequence);
+            if (batch == null) {
+                skipToLatest();
+                return true;
+            }
+            board.apply(batch);
+            batches++;
+        }
+        return true;
+    }
+
+    private void skipToLatest() {
+        board.copyFrom(broadcaster.getLatest());
+        skips++;
+    }
+
+    /**
+     * Obtiene el tablero tal como lo ve el espectador. Solo cambia dentro de {@link #poll()}.
+     *
+     * @return El tablero del espectador
+     */
+    public SpectatorBoard getBoard() {
+        return board;
+    }
+
+    /**
+     * Obtiene el número de lotes aplicados uno a uno.
+     *
+     * @return El número de lotes aplicados
+     */
+    public long getBatches() {
+        return batches;
+    }
+
+    /**
+     * Obtiene el número de veces que el espectador saltó al tablero completo por atrasarse.
+     *
+     * @return El número de saltos
+     */
+    public long getSkips() {
+        return skips;
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.minigamerecu.spectator;
+
+import java.util.Arrays;
+
+/**
+ * Estado de una partida tal como lo ve un espectador, reconstruido a partir de los cambios.
+ * Guarda la secuencia del último lote aplicado para saber desde dónde seguir leyendo.
+ * No es thread-safe: cada espectador tiene su propia copia.
+ */
+public class SpectatorBoard {
+
+    /** Valor de {@link #getRevealedId(int)} para una carta boca abajo. */
+    public static final int HIDDEN = -1;
+
+    private static final int MATCHED_FLAG = 1 << 16;
+
+    private long sequence;
+    private int gridSize;
+    private int[] cells = new int[0];
+    private int moves;
+    private int matchedPairs;
+    private int hintsUsed;
+
+    /**
+     * Aplica un lote de cambios.
+     *
+     * @param batch El lote siguiente al último aplicado
+     */
+    public void apply(DeltaBatch batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            apply(batch.get(i));
+        }
+        sequence = batch.getSequence();
+    }
+
+    private void apply(long delta) {
+        int cell = DeltaType.cellOf(delta);
+        int value = DeltaType.valueOf(delta);
+        switch (DeltaType.typeOf(delta)) {
+            case NEW_GAME:
+                gridSize = value;
+                cells = new int[value * value];
+                Arrays.fill(cells, HIDDEN);
+                moves = 0;
+                matchedPairs = 0;
+                hintsUsed = 0;
+                break;
+            case FLIPPED:
+                cells[cell] = value;
+                break;
+            case HIDDEN:
+                cells[cell] = HIDDEN;
+                break;
+            case MATCHED:
+                cells[cell] = value | MATCHED_FLAG;
+                break;
+            case MOVES:
+                moves = value;
+                break;
+            case PAIRS:
+                matchedPairs = value;
+                break;
+            case HINTS:
+                hintsUsed = value;
+                break;
+        }
+    }
+
+    /**
+     * Reemplaza el estado por el de otro tablero, reutilizando el arreglo de casillas si se puede.
+     *
+     * @param other El tablero a copiar
+     */
+    public void copyFrom(SpectatorBoard other) {
+        sequence = other.sequence;
+        gridSize = other.gridSize;
+        if (cells.length != other.cells.length) {
+            cells = new int[other.cells.length];
+        }
+        System.arraycopy(other.cells, 0, cells, 0, cells.length);
+        moves = other.moves;
+        matchedPairs = other.matchedPairs;
+        hintsUsed = other.hintsUsed;
+    }
+
+    /**
+     * Crea una copia independiente del tablero.
+     *
+     * @return La copia
+     */
+    public SpectatorBoard copy() {
+        SpectatorBoard copy = new SpectatorBoard();
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    /**
+     * Verifica si dos tableros muestran lo mismo, sin contar la secuencia.
+     *
+     * @param other El otro tablero
+     * @return true si las casillas y los contadores coinciden
+     */
+    public boolean sameState(SpectatorBoard other) {
+        return gridSize == other.gridSize && moves == other.moves && matchedPairs == other.matchedPairs
+            && hintsUsed == other.hintsUsed && Arrays.equals(cells, other.cells);
+    }
+
+    /**
+     * Obtiene la secuencia del último lote aplicado.
+     *
+     * @return La secuencia, o 0 si no se aplicó ninguno
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Obtiene el tamaño del tablero.
+     *
+     * @return El tamaño del tablero, o 0 si todavía no empezó ninguna partida
+     */
+    public int getGridSize() {
+        return gridSize;
+    }
+
+    /**
+     * Obtiene el número de cartas del tablero.
+     *
+     * @return El número de cartas
+     */
+    public int getCardCount() {
+        return cells.length;
+    }
+
+    /**
+     * Obtiene el identificador de pareja de una carta visible o emparejada.
+     *
+     * @param index La posición de la carta
+     * @return El identificador de pareja, o {@link #HIDDEN} si la carta está boca abajo
+     */
+    public int getRevealedId(int index) {
+        int cell = cells[index];
+        return cell == HIDDEN ? HIDDEN : cell & ~MATCHED_FLAG;
+    }
+
+    /**
+     * Verifica si una carta está emparejada.
+     *
+     * @param index La posición de la carta
+     * @return true si la carta está emparejada
+     */
+    public boolean isMatched(int index) {
+        return cells[index] != HIDDEN && (cells[index] & MATCHED_FLAG) != 0;
+    }
+
+    /**
+     * Obtiene el número de movimientos.
+     *
+     * @return El número de movimientos
+     */
+    public int getMoves() {
+        return moves;
+    }
+
+    /**
+     * Obtiene el número de parejas encontradas.
+     *
+     * @return El número de parejas encontradas
+     */
+    public int getMatchedPairsCount() {
+        return matchedPairs;
+    }
+
+    /**
+     * Obtiene el número de pistas usadas.
+     *
+     * @return El número de pistas usadas
+     */
+    public int getHintsUsed() {
+        return hintsUsed;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.minigamerecu.spectator;
+
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registro de las partidas en vivo que se pueden mirar (Singleton).
+ * Cada partida se identifica con un nombre; la partida de la interfaz gráfica se publica como
+ * {@link #LOCAL_GAME}.
+ */
+public class SpectatorHub {
+
+    /** Nombre de la partida que se juega en la interfaz gráfica. */
+    public static final String LOCAL_GAME = "local";
+
+    private static volatile SpectatorHub instance;
+
+    private final ConcurrentMap<String, GameBroadcaster> games = new ConcurrentHashMap<>();
+
+    private SpectatorHub() {
+    }
+
+    /**
+     * Obtiene la instancia única del SpectatorHub (patrón Singleton).
+     *
+     * @return La instancia única del SpectatorHub
+     */
+    public static SpectatorHub getInstance() {
+        if (instance == null) {
+            synchronized (SpectatorHub.class) {
+                if (instance == null) {
+                    instance = new SpectatorHub();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Obtiene el publicador de una partida, creándolo si no existe.
+     *
+     * @param gameId El nombre de la partida
+     * @return El publicador de la partida
+     */
+    public GameBroadcaster open(String gameId) {
+        return games.computeIfAbsent(gameId, id -> new GameBroadcaster(GameBroadcaster.DEFAULT_CAPACITY));
+    }
+
+    /**
+     * Crea un espectador de una partida en vivo.
+     *
+     * @param gameId El nombre de la partida
+     * @return El espectador, que empieza en el estado actual de la partida
+     * @throws IllegalArgumentException Si la partida no existe
+     */
+    public Spectator subscribe(String gameId) {
+        GameBroadcaster broadcaster = games.get(gameId);
+        if (broadcaster == null) {
+            throw new IllegalArgumentException("Partida inexistente: " + gameId);
+        }
+        return broadcaster.subscribe();
+    }
+
+    /**
+     * Deja de publicar una partida. Los espectadores existentes conservan el último estado.
+     *
+     * @param gameId El nombre de la partida
+     */
+    public void close(String gameId) {
+        games.remove(gameId);
+    }
+
+    /**
+     * Obtiene los nombres de las partidas en vivo.
+     *
+     * @return Los nombres, ordenados
+     */
+    public Set<String> getLiveGames() {
+        return new TreeSet<>(games.keySet());
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.minigamerecu.spectator;
+
+import com.example.minigamerecu.engine.HeadlessGame;
+import com.example.minigamerecu.loadtest.LoadTestReport;
+import com.example.minigamerecu.manager.GameManager;
+import com.example.minigamerecu.metrics.LatencyHistogram;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Prueba de carga del modo espectador.
+ * Un hilo juega partidas headless y publica sus cambios una vez por tick mientras varios hilos
+ * lectores reparten entre sí miles de espectadores. Una fracción de los espectadores es lenta y
+ * solo lee cada {@code slowMillis}, más de lo que cubre el anillo, así que debe saltar al tablero
+ * completo. Al final todos los espectadores leen una vez más y se comprueba que ven exactamente
+ * la partida publicada.
+ * <p>
+ * Uso: {@code java -cp target/classes com.example.minigamerecu.spectator.SpectatorLoadTest
+ * spectators=10000 seconds=10 tickMillis=16 slowFraction=0.1 slowMillis=2000 out=spectator.json}.
+ */
+public class SpectatorLoadTest {
+
+    private static final int MATCHED = 1 << 16;
+
+    /**
+     * Punto de entrada de la prueba de carga.
+     * Los argumentos se indican como pares {@code clave=valor}.
+     *
+     * @param args Argumentos de la línea de comandos
+     * @throws IOException Si hay un error al escribir el informe
+     * @throws InterruptedException Si se interrumpe la espera de los hilos
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> options = LoadTestReport.parseOptions(args);
+
+        int spectatorCount = Integer.parseInt(options.getOrDefault("spectators", "1000"));
+        long seconds = Long.parseLong(options.getOrDefault("seconds", "5"));
+        long tickNanos = TimeUnit.MILLISECONDS.toNanos(Long.parseLong(options.getOrDefault("tickMillis", "16")));
+        double slowFraction = Double.parseDouble(options.getOrDefault("slowFraction", "0.1"));
+        long slowNanos = TimeUnit.MILLISECONDS.toNanos(Long.parseLong(options.getOrDefault("slowMillis", "2000")));
+        int readers = Integer.parseInt(options.getOrDefault("readers",
+            String.valueOf(Runtime.getRuntime().availableProcessors())));
+        int capacity = Integer.parseInt(options.getOrDefault("capacity", String.valueOf(GameBroadcaster.DEFAULT_CAPACITY)));
+
+        GameBroadcaster broadcaster = new GameBroadcaster(capacity);
+        Spectator[] spectators = new Spectator[spectatorCount];
+        for (int i = 0; i < spectatorCount; i++) {
+            spectators[i] = broadcaster.subscribe();
+        }
+        int slowCount = (int) Math.round(spectatorCount * slowFraction);
+
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<Thread> threads = new ArrayList<>();
+        for (int r = 0; r < readers; r++) {
+            int reader = r;
+            Thread thread = new Thread(() -> read(spectators, reader, readers, slowCount, slowNanos, end),
+                "spectator-reader-" + r);
+            thread.start();
+            threads.add(thread);
+        }
+
+        LatencyHistogram flushLatency = new LatencyHistogram();
+        long[] written = play(broadcaster, tickNanos, end, flushLatency);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        SpectatorBoard expected = broadcaster.subscribe().getBoard();
+        long batches = 0;
+        long skips = 0;
+        long diverged = 0;
+        for (Spectator spectator : spectators) {
+            spectator.poll();
+            batches += spectator.getBatches();
+            skips += spectator.getSkips();
+            if (!spectator.getBoard().sameState(expected) || spectator.getBoard().getSequence() != expected.getSequence()) {
+                diverged++;
+            }
+        }
+
+        LoadTestReport report = new LoadTestReport()
+            .put("spectators", spectatorCount)
+            .put("slowSpectators", slowCount)
+            .put("readers", readers)
+            .put("capacity", broadcaster.getCapacity())
+            .put("seconds", seconds)
+            .put("published", broadcaster.getPublished())
+            .put("cellDeltas", written[0])
+            .put("games", written[1])
+            .put("flushP50Nanos", flushLatency.getPercentile(50))
+            .put("flushP99Nanos", flushLatency.getPercentile(99))
+            .put("flushMaxNanos", flushLatency.getMax())
+            .put("batchesApplied", batches)
+            .put("skips", skips)
+            .put("diverged", diverged);
+        Path out = Path.of(options.getOrDefault("out", "target/spectator/spectator.json"));
+        report.publish(out);
+    }
+
+    /**
+     * Juega partidas headless hasta el final de la prueba, publicando un lote por tick.
+     *
+     * @param broadcaster El publicador
+     * @param tickNanos La duración de un tick
+     * @param end El instante de fin de la prueba
+     * @param flushLatency El histograma del tiempo de cada publicación
+     * @return Los cambios de casillas anotados y las partidas jugadas
+     */
+    private static long[] play(GameBroadcaster broadcaster, long tickNanos, long end, LatencyHistogram flushLatency) {
+        SplittableRandom random = new SplittableRandom(1);
+        GameManager.Difficulty[] difficulties = GameManager.Difficulty.values();
+        long deltas = 0;
+        long games = 0;
+        HeadlessGame game = null;
+        int[] shown = new int[0];
+        long nextTick = System.nanoTime();
+        while (System.nanoTime() < end) {
+            if (game == null || game.isFinished()) {
+                game = new HeadlessGame(difficulties[random.nextInt(difficulties.length)], random.nextLong());
+                shown = new int[game.getCardCount()];
+                Arrays.fill(shown, SpectatorBoard.HIDDEN);
+                broadcaster.newGame(game.getDifficulty().getGridSize());
+                games++;
+            }
+            for (int flips = 1 + random.nextInt(2); flips > 0 && !game.isFinished(); flips--) {
+                game.flip(random.nextInt(game.getCardCount()));
+                deltas += publishChanges(broadcaster, game, shown);
+            }
+            long start = System.nanoTime();
+            broadcaster.flush();
+            flushLatency.record(System.nanoTime() - start);
+            nextTick += tickNanos;
+            LockSupport.parkNanos(nextTick - System.nanoTime());
+        }
+        return new long[] {deltas, games};
+    }
+
+    private static int publishChanges(GameBroadcaster broadcaster, HeadlessGame game, int[] shown) {
+        int count = 0;
+        for (int i = 0; i < shown.length; i++) {
+            int revealed = game.getRevealedId(i);
+            int state = game.isMatched(i) ? revealed | MATCHED : revealed;
+            if (state == shown[i]) {
+                continue;
+            }
+            shown[i] = state;
+            if (game.isMatched(i)) {
+                broadcaster.cellMatched(i, revealed);
+            } else if (revealed == SpectatorBoard.HIDDEN) {
+                broadcaster.cellHidden(i);
+            } else {
+                broadcaster.cellFlipped(i, revealed);
+            }
+            count++;
+        }
+        broadcaster.counters(game.getMoves(), game.getMatchedPairsCount(), game.getHintsUsed());
+        return count;
+    }
+
+    private static void read(Spectator[] spectators, int reader, int readers, int slowCount, long slowNanos, long end) {
+        long nextSlowPoll = System.nanoTime() + slowNanos;
+        while (System.nanoTime() < end) {
+            boolean pollSlow = System.nanoTime() >= nextSlowPoll;
+            if (pollSlow) {
+                nextSlowPoll += slowNanos;
+            }
+            for (int i = reader; i < spectators.length; i += readers) {
+                if (i >= slowCount || pollSlow) {
+                    spectators[i].poll();
+                }
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.minigamerecu.startup;
+
+import com.example.minigamerecu.loadtest.LoadTestReport;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de arranque en frío de la aplicación gráfica.
+ * Lanza {@code runs} veces la aplicación en una JVM nueva, sin archivo CDS propio y con él, y
+ * mide el primer frame pintado y el momento en que la pantalla de juego queda precargada
+ * (interactivo). Cada ejecución se cierra sola al llegar a interactivo y deja su informe con
+ * {@code minigame.startup.report}. Si el archivo CDS no existe, antes hace una ejecución de
+ * entrenamiento con {@code -XX:ArchiveClassesAtExit}.
+ * <p>
+ * Uso: {@code java -cp <classpath> com.example.minigamerecu.startup.StartupBenchmark runs=5
+ * archive=target/minigame.jsa maxFirstFrameMs=1500 maxInteractiveMs=2500}. Con presupuestos
+ * indicados, termina con código 1 si la mediana con CDS los supera, para detectar regresiones en
+ * CI (que necesita una pantalla, por ejemplo {@code xvfb-run}).
+ */
+public class StartupBenchmark {
+
+    private static final String MAIN_CLASS = "com.example.minigamerecu.HelloApplication";
+    private static final StartupMilestone[] MEASURED = {StartupMilestone.FIRST_FRAME, StartupMilestone.INTERACTIVE};
+
+    private final List<String> baseCommand;
+    private final long timeoutSeconds;
+
+    /**
+     * Constructor de la clase StartupBenchmark.
+     *
+     * @param baseCommand El comando de la JVM hasta antes de la clase principal
+     * @param timeoutSeconds El tiempo máximo de cada ejecución
+     */
+    public StartupBenchmark(List<String> baseCommand, long timeoutSeconds) {
+        this.baseCommand = List.copyOf(baseCommand);
+        this.timeoutSeconds = timeoutSeconds;
+    }
+
+    /**
+     * Arma el comando para lanzar la aplicación con el mismo classpath que esta JVM.
+     * Los módulos de JavaFX (los jars con clasificador de plataforma) se pasan además por
+     * module path, como pide el lanzador para las aplicaciones JavaFX.
+     *
+     * @return El comando de la JVM hasta antes de la clase principal
+     */
+    public static List<String> currentClasspathCommand() {
+        String classpath = System.getProperty("java.class.path");
+        List<String> modules = new ArrayList<>();
+        for (String entry : classpath.split(File.pathSeparator)) {
+            if (Path.of(entry).getFileName().toString().matches("javafx-[a-z]+-[0-9.]+-[a-z0-9-]+\\.jar")) {
+                modules.add(entry);
+            }
+        }
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (!modules.isEmpty()) {
+            command.add("--module-path");
+            command.add(String.join(File.pathSeparator, modules));
+            command.add("--add-modules");
+            command.add("javafx.controls,javafx.fxml");
+        }
+        command.add("-cp");
+        command.add(classpath);
+        return command;
+    }
+
+    /**
+     * Hace una ejecución de entrenamiento que guarda al salir las clases cargadas en un archivo CDS.
+     *
+     * @param archive El archivo CDS de destino (se sobrescribe)
+     * @throws IOException Si hay un error al lanzar la aplicación o al crear el directorio
+     * @throws InterruptedException Si se interrumpe la espera
+     */
+    public void train(Path archive) throws IOException, InterruptedException {
+        Path parent = archive.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        run(List.of("-XX:ArchiveClassesAtExit=" + archive));
+        if (!Files.exists(archive)) {
+            throw new IllegalStateException("La ejecución de entrenamiento no generó " + archive);
+        }
+    }
+
+    /**
+     * Lanza la aplicación una vez y lee su informe de arranque.
+     *
+     * @param jvmOptions Opciones extra de la JVM
+     * @return Los milisegundos hasta cada momento de {@link #MEASURED}, en ese orden
+     * @throws IOException Si hay un error al lanzar la aplicación o al leer el informe
+     * @throws InterruptedException Si se interrumpe la espera
+     */
+    public long[] run(List<String> jvmOptions) throws IOException, InterruptedException {
+        Path report = Files.createTempFile("startup", ".json");
+        try {
+            List<String> command = new ArrayList<>(baseCommand);
+            command.addAll(jvmOptions);
+            command.add("-Dminigame.startup.report=" + report);
+            command.add("-Dminigame.startup.exit=true");
+            command.add("-Dminigame.checkpoint.file=");
+            command.add(MAIN_CLASS);
+            Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+            if (!process.waitFor(timeoutSeconds, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                throw new IllegalStateException("La aplicación no llegó a interactivo en " + timeoutSeconds + " s");
+            }
+            if (process.exitValue() != 0) {
+                throw new IllegalStateException("La aplicación terminó con código " + process.exitValue());
+            }
+            String json = Files.readString(report, StandardCharsets.UTF_8);
+            long[] millis = new long[MEASURED.length];
+            for (int i = 0; i < MEASURED.length; i++) {
+                millis[i] = readLong(json, StartupProbe.KEY_PREFIX + MEASURED[i].getKey());
+            }
+            return millis;
+        } finally {
+            Files.deleteIfExists(report);
+        }
+    }
+
+    /**
+     * Lanza la aplicación varias veces y agrega al informe la mediana y el máximo de cada momento.
+     *
+     * @param name El nombre de la variante, usado como prefijo de las claves
+     * @param jvmOptions Opciones extra de la JVM
+     * @param runs El número de ejecuciones
+     * @param report El informe de destino
+     * @return Las medianas de cada momento de {@link #MEASURED}, en ese orden
+     * @throws IOException Si hay un error al lanzar la aplicación o al leer el informe
+     * @throws InterruptedException Si se interrumpe la espera
+     */
+    public long[] measure(String name, List<String> jvmOptions, int runs, LoadTestReport report)
+            throws IOException, InterruptedException {
+        long[][] samples = new long[MEASURED.length][runs];
+        for (int run = 0; run < runs; run++) {
+            long[] millis = run(jvmOptions);
+            for (int i = 0; i < MEASURED.length; i++) {
+                samples[i][run] = millis[i];
+            }
+        }
+        long[] medians = new long[MEASURED.length];
+        for (int i = 0; i < MEASURED.length; i++) {
+            Arrays.sort(samples[i]);
+            medians[i] = samples[i][runs / 2];
+            report.put(name + "." + MEASURED[i].getKey() + ".median", medians[i])
+                .put(name + "." + MEASURED[i].getKey() + ".max", samples[i][runs - 1]);
+        }
+        return medians;
+    }
+
+    private static long readLong(String json, String key) {
+        String quoted = "\"" + key + "\":";
+        int start = json.indexOf(quoted);
+        if (start < 0) {
+            throw new IllegalStateException("El informe de arranque no tiene " + key);
+        }
+        start += quoted.length();
+        int end = start;
+        while (end < json.length() && json.charAt(end) != ',' && json.charAt(end) != '\n') {
+            end++;
+        }
+        return Long.parseLong(json.substring(start, end).trim());
+    }
+
+    /**
+     * Punto de entrada del benchmark de arranque.
+     * Los argumentos se indican como pares {@code clave=valor}.
+     *
+     * @param args Argumentos de la línea de comandos
+     * @throws IOException Si hay un error al lanzar la aplicación o al escribir el informe
+     * @throws InterruptedException Si se interrumpe la espera
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> options = LoadTestReport.parseOptions(args);
+
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        if (runs < 1) {
+            throw new IllegalArgumentException("Se necesita al menos una ejecución: " + runs);
+        }
+        Path archive = Path.of(options.getOrDefault("archive", "target/minigame.jsa"));
+        long maxFirstFrameMs = Long.parseLong(options.getOrDefault("maxFirstFrameMs", "0"));
+        long maxInteractiveMs = Long.parseLong(options.getOrDefault("maxInteractiveMs", "0"));
+        StartupBenchmark benchmark = new StartupBenchmark(currentClasspathCommand(),
+            Long.parseLong(options.getOrDefault("timeoutSeconds", "60")));
+
+        if (Boolean.parseBoolean(options.get("retrain")) || !Files.exists(archive)) {
+            benchmark.train(archive);
+        }
+        LoadTestReport report = new LoadTestReport()
+            .put("runs", runs)
+            .put("archive", archive.toString())
+            .put("java", System.getProperty("java.version"));
+        benchmark.measure("default", List.of(), runs, report);
+        long[] cds = benchmark.measure("cds", List.of("-XX:SharedArchiveFile=" + archive), runs, report);
+
+        Path out = Path.of(options.getOrDefault("out", "target/startup/startup.json"));
+        report.publish(out);
+
+        boolean regressed = false;
+        if (maxFirstFrameMs > 0 && cds[0] > maxFirstFrameMs) {
+            System.err.println("Primer frame en " + cds[0] + " ms, por encima de " + maxFirstFrameMs + " ms");
+            regressed = true;
+        }
+        if (maxInteractiveMs > 0 && cds[1] > maxInteractiveMs) {
+            System.err.println("Interactivo en " + cds[1] + " ms, por encima de " + maxInteractiveMs + " ms");
+            regressed = true;
+        }
+        if (regressed) {
+            System.exit(1);
+        }
+    }
+}
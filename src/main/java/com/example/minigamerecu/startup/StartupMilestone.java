@@ -0,0 +1,31 @@
+package com.example.minigamerecu.startup;
+
+/**
+ * Momentos del arranque de la aplicación medidos por el {@link StartupProbe}.
+ */
+public enum StartupMilestone {
+    MAIN("mainMs"),
+    FX_START("fxStartMs"),
+    FIRST_FRAME("firstFrameMs"),
+    INTERACTIVE("interactiveMs");
+
+    private final String key;
+
+    /**
+     * Constructor del enum StartupMilestone.
+     *
+     * @param key Nombre del momento en los informes de arranque
+     */
+    StartupMilestone(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Obtiene el nombre del momento usado en los informes de arranque.
+     *
+     * @return El nombre del momento
+     */
+    public String getKey() {
+        return key;
+    }
+}
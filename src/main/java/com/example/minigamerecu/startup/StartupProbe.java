@@ -0,0 +1,103 @@
+package com.example.minigamerecu.startup;
+
+import com.example.minigamerecu.loadtest.LoadTestReport;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * Registro de los momentos del arranque (Singleton).
+ * Guarda la hora de la primera vez que se alcanza cada {@link StartupMilestone} y la informa en
+ * milisegundos desde que empezó el proceso, así que incluye el arranque de la JVM y la carga de
+ * clases. Marcar un momento solo lee el reloj, para no alterar lo que se mide.
+ */
+public class StartupProbe {
+
+    /** Prefijo de las claves en el informe. */
+    public static final String KEY_PREFIX = "startup.";
+
+    private static volatile StartupProbe instance;
+
+    private final long[] marks = new long[StartupMilestone.values().length];
+
+    private StartupProbe() {
+    }
+
+    /**
+     * Obtiene la instancia única del StartupProbe (patrón Singleton).
+     *
+     * @return La instancia única del StartupProbe
+     */
+    public static StartupProbe getInstance() {
+        if (instance == null) {
+            synchronized (StartupProbe.class) {
+                if (instance == null) {
+                    instance = new StartupProbe();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Registra que se alcanzó un momento del arranque. Las llamadas repetidas se ignoran.
+     *
+     * @param milestone El momento alcanzado
+     * @return true si es la primera vez que se alcanza
+     */
+    public synchronized boolean mark(StartupMilestone milestone) {
+        if (marks[milestone.ordinal()] != 0) {
+            return false;
+        }
+        marks[milestone.ordinal()] = System.currentTimeMillis();
+        return true;
+    }
+
+    /**
+     * Obtiene cuándo se alcanzó un momento, contado desde el inicio del proceso.
+     *
+     * @param milestone El momento
+     * @return Los milisegundos desde el inicio del proceso, o -1 si no se alcanzó
+     */
+    public synchronized long getMillis(StartupMilestone milestone) {
+        long mark = marks[milestone.ordinal()];
+        if (mark == 0) {
+            return -1;
+        }
+        return mark - processStartMillis();
+    }
+
+    /**
+     * Agrega los momentos alcanzados al informe, con claves {@code startup.momentoMs}.
+     *
+     * @param report El informe de destino
+     * @return El mismo informe, para encadenar llamadas
+     */
+    public LoadTestReport writeTo(LoadTestReport report) {
+        for (StartupMilestone milestone : StartupMilestone.values()) {
+            long millis = getMillis(milestone);
+            if (millis >= 0) {
+                report.put(KEY_PREFIX + milestone.getKey(), millis);
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Escribe el informe de arranque en un archivo.
+     *
+     * @param file La ruta del archivo de salida
+     * @throws IOException Si hay un error al escribir el archivo
+     */
+    public void write(Path file) throws IOException {
+        writeTo(new LoadTestReport()).write(file);
+    }
+
+    private static long processStartMillis() {
+        return ProcessHandle.current().info().startInstant()
+            .map(Instant::toEpochMilli)
+            .orElseGet(() -> ManagementFactory.getRuntimeMXBean().getStartTime());
+    }
+}
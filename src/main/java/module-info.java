@@ -1,12 +1,29 @@
 module com.example.minigamerecu {
     requires javafx.controls;
     requires javafx.fxml;
+    requires java.management;
+    requires jdk.management;
+    requires jdk.jfr;
 
     opens com.example.minigamerecu to javafx.fxml;
     opens com.example.minigamerecu.controller to javafx.fxml;
     opens com.example.minigamerecu.model to javafx.fxml;
     
     exports com.example.minigamerecu;
+    exports com.example.minigamerecu.adaptive;
+    exports com.example.minigamerecu.analytics;
+    exports com.example.minigamerecu.assets;
+    exports com.example.minigamerecu.cardpack;
+    exports com.example.minigamerecu.cli;
+    exports com.example.minigamerecu.engine;
+    exports com.example.minigamerecu.jfr;
+    exports com.example.minigamerecu.loadtest;
     exports com.example.minigamerecu.manager;
+    exports com.example.minigamerecu.metrics;
     exports com.example.minigamerecu.model;
+    exports com.example.minigamerecu.race;
+    exports com.example.minigamerecu.replay;
+    exports com.example.minigamerecu.server;
+    exports com.example.minigamerecu.spectator;
+    exports com.example.minigamerecu.startup;
 }
\ No newline at end of file